@@ -0,0 +1,95 @@
+package secretstuffs.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second of a burst of request-like tasks that mostly wait on blocking I/O (JDBC, SMTP),
+ * on Tomcat's default pool of 200 platform threads versus one virtual thread per task. The pinned
+ * variant waits inside {@code synchronized}, which keeps a virtual thread on its carrier and shows
+ * what the pinning monitor is there to catch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingIoThroughputBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int REQUESTS = 2_000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"unpinned", "pinned"})
+    private String blocking;
+
+    @Param({"5"})
+    private long ioMillis;
+
+    private ExecutorService executor;
+    private Object[] locks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        locks = new Object[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void burst(Blackhole blackhole) throws Exception {
+        boolean pinned = "pinned".equals(blocking);
+        List<Future<Long>> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            Object lock = locks[i];
+            requests.add(executor.submit(() -> pinned ? blockWhileHolding(lock) : block()));
+        }
+        for (Future<Long> request : requests) {
+            blackhole.consume(request.get());
+        }
+    }
+
+    private long blockWhileHolding(Object lock) throws InterruptedException {
+        synchronized (lock) {
+            return block();
+        }
+    }
+
+    private long block() throws InterruptedException {
+        Thread.sleep(ioMillis);
+        return System.nanoTime();
+    }
+}
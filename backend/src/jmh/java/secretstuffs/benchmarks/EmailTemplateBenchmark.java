@@ -0,0 +1,50 @@
+package secretstuffs.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import secretstuffs.application.services.EmailService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a mail template from the classpath and substituting its link, as done for every
+ * verification and password reset mail. No mail is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String LINK = "https://secretstuffs.example/verify?token=0123456789abcdef";
+
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService(null);
+    }
+
+    @Benchmark
+    public String verificationEmail() throws IOException {
+        return emailService.loadEmailTemplate("Templates/verification-email.html")
+                .replace("{verificationLink}", LINK);
+    }
+
+    @Benchmark
+    public String forgotPasswordEmail() throws IOException {
+        return emailService.loadEmailTemplate("Templates/forgot-password-email.html")
+                .replace("{resetLink}", LINK);
+    }
+}
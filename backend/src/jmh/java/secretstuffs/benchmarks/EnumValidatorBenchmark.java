@@ -0,0 +1,49 @@
+package secretstuffs.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
+import secretstuffs.domain.validation.EnumValidator;
+import secretstuffs.domain.validation.EnumValidatorImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of the condition field of an item post request, initialized from the real annotation.
+ * The values cover the first constant, the last one, a lower-case match and a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumValidatorBenchmark {
+
+    @Param({"NEW", "DAMAGED", "like_new", "BROKEN"})
+    private String value;
+
+    private EnumValidatorImpl validator;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        EnumValidator annotation = CreateItemPostRequestDTO.class.getDeclaredField("condition")
+                .getAnnotation(EnumValidator.class);
+        validator = new EnumValidatorImpl();
+        validator.initialize(annotation);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(value, null);
+    }
+}
@@ -0,0 +1,52 @@
+package secretstuffs.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import secretstuffs.application.helpers.JwtHelper;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and parsing of the HS512 tokens issued on login. The secret has the length of the
+ * configured dev and prod secrets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "bench_" + "f".repeat(128);
+
+    private JwtHelper jwtHelper;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtHelper = new JwtHelper(SECRET, "");
+        token = generateAccessToken();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtHelper.generateAccessToken(
+                Map.of(JwtHelper.CLAIM_USER_ID, 1L), "john@example.com", Instant.now().plusSeconds(900));
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtHelper.verify(token);
+    }
+}
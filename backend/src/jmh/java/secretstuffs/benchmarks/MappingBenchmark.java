@@ -0,0 +1,76 @@
+package secretstuffs.benchmarks;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import secretstuffs.application.mappers.AuthMapper;
+import secretstuffs.application.mappers.AuthMapperImpl;
+import secretstuffs.application.mappers.ItemPostMapper;
+import secretstuffs.application.mappers.ItemPostMapperImpl;
+import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
+import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
+import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
+import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated mappers with the reflective ModelMapper they replaced. The ModelMapper
+ * instance has the defaults of the former {@code ModelMapperConfig} bean plus an explicit image URL
+ * mapping, so both sides build the same commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private AuthMapper authMapper;
+    private ItemPostMapper itemPostMapper;
+    private RegisterUserRequestDTO registerRequest;
+    private CreateItemPostRequestDTO createItemPostRequest;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(CreateItemPostRequestDTO.class, CreateItemPostCommand.class)
+                .addMapping(CreateItemPostRequestDTO::getItemPostImageUrl, CreateItemPostCommand::setItemPostUrl);
+        authMapper = new AuthMapperImpl();
+        itemPostMapper = new ItemPostMapperImpl();
+        registerRequest = new RegisterUserRequestDTO("John", "Doe", "john@example.com", "password123",
+                "http://image.url");
+        createItemPostRequest = new CreateItemPostRequestDTO("john@example.com", "Chair", "Halifax",
+                "Barely used", "http://image.url", "GOOD", "FURNITURE");
+    }
+
+    @Benchmark
+    public RegisterUserCommand registerModelMapper() {
+        return modelMapper.map(registerRequest, RegisterUserCommand.class);
+    }
+
+    @Benchmark
+    public RegisterUserCommand registerMapStruct() {
+        return authMapper.toCommand(registerRequest);
+    }
+
+    @Benchmark
+    public CreateItemPostCommand createItemPostModelMapper() {
+        return modelMapper.map(createItemPostRequest, CreateItemPostCommand.class);
+    }
+
+    @Benchmark
+    public CreateItemPostCommand createItemPostMapStruct() {
+        return itemPostMapper.toCommand(createItemPostRequest);
+    }
+}
@@ -0,0 +1,47 @@
+package secretstuffs.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import secretstuffs.application.helpers.AuthHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt verification done on every login. It is deliberately slow, so a drop here usually means
+ * the cost factor changed rather than the code got faster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    private AuthHelper authHelper;
+    private String encryptedPassword;
+
+    @Setup
+    public void setUp() {
+        authHelper = new AuthHelper();
+        encryptedPassword = authHelper.encryptPassword("password123");
+    }
+
+    @Benchmark
+    public boolean passwordMatches() {
+        return authHelper.passwordMatches("password123", encryptedPassword);
+    }
+
+    @Benchmark
+    public boolean passwordMismatches() {
+        return authHelper.passwordMatches("password124", encryptedPassword);
+    }
+}
@@ -0,0 +1,59 @@
+package secretstuffs.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import secretstuffs.domain.enums.CategoryEnum;
+import secretstuffs.domain.enums.ConditionEnum;
+import secretstuffs.domain.models.responses.ApiResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialization of the item post listing response with an object mapper built the way Spring MVC
+ * builds its own, for listings of a few sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "20", "500"})
+    private int posts;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseDTO<List<FetchItemPostResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<FetchItemPostResponseDTO> data = IntStream.range(0, posts)
+                .mapToObj(i -> new FetchItemPostResponseDTO((long) i, "user" + i + "@example.com", "Item " + i,
+                        "123 Main Street, Halifax", "A gently used item in good shape", ConditionEnum.GOOD,
+                        "https://images.example/items/" + i + ".jpg", CategoryEnum.FURNITURE))
+                .toList();
+        response = new ApiResponseDTO<>("Posts fetched successfully", 200, data);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
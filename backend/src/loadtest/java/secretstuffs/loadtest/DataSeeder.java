@@ -0,0 +1,136 @@
+package secretstuffs.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills an empty schema with users, item posts, donation requests and chats through batched JDBC
+ * inserts. The data is random but reproducible: the same volumes always produce the same rows.
+ * Every user is active and has the password {@link #PASSWORD}.
+ */
+class DataSeeder {
+
+    static final String PASSWORD = "LoadTest123!";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] CATEGORIES = {"FURNITURE", "ELECTRONICS", "BOOKS", "VEHICLE"};
+    private static final String[] CONDITIONS = {"NEW", "LIKE_NEW", "GOOD", "FAIR", "POOR", "DAMAGED"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String encryptedPassword;
+    private final Random random = new Random(42);
+
+    DataSeeder(JdbcTemplate jdbcTemplate, String encryptedPassword) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encryptedPassword = encryptedPassword;
+    }
+
+    static String email(int index) {
+        return "loadtest-user-" + index + "@example.com";
+    }
+
+    SeededData seed(LoadTestSettings settings) {
+        long[] userIds = seedUsers(settings.users());
+        long[] itemPostIds = seedItemPosts(settings.itemPosts(), settings.users());
+        long[] donationIds = seedDonations(settings.donations(), userIds, itemPostIds);
+        seedChats(settings.chatMessages(), settings.users());
+        return new SeededData(userIds, itemPostIds, donationIds);
+    }
+
+    private long[] seedUsers(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertInBatches(count, "INSERT INTO users (first_name, last_name, email, password, profile_image_url, "
+                + "active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, true, ?, ?)", i -> new Object[]{
+                "First" + i, "Last" + i, email(i), encryptedPassword, null, now, now});
+        return ids("users");
+    }
+
+    private long[] seedItemPosts(int count, int users) {
+        insertInBatches(count, "INSERT INTO item_posts (email, title, address, description, category, "
+                + "item_post_image_url, condition, status, version) VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', 0)",
+                i -> new Object[]{
+                        email(random.nextInt(users)),
+                        "Item " + i,
+                        (100 + random.nextInt(9_900)) + " Spring Garden Road, Halifax",
+                        "A gently used item, picked up locally. Item number " + i + ".",
+                        CATEGORIES[random.nextInt(CATEGORIES.length)],
+                        "https://images.example/items/" + i + ".jpg",
+                        CONDITIONS[random.nextInt(CONDITIONS.length)]});
+        return ids("item_posts");
+    }
+
+    private long[] seedDonations(int count, long[] userIds, long[] itemPostIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Duplicate pairs are skipped by the unique key, so slightly fewer rows than requested may exist
+        insertInBatches(count, "INSERT INTO donations (user_id, item_post_id, status, version, created_at, "
+                + "updated_at) VALUES (?, ?, ?, 0, ?, ?) ON CONFLICT (user_id, item_post_id) DO NOTHING",
+                i -> new Object[]{
+                        userIds[random.nextInt(userIds.length)],
+                        itemPostIds[random.nextInt(itemPostIds.length)],
+                        random.nextInt(5) == 0 ? "REJECTED" : "PENDING",
+                        now, now});
+        return ids("donations");
+    }
+
+    private void seedChats(int messages, int users) {
+        int pairs = Math.max(1, Math.min(messages / 10, users / 2));
+        String[][] participants = new String[pairs][];
+        for (int i = 0; i < pairs; i++) {
+            participants[i] = new String[]{email(2 * i), email((2 * i + 1) % users)};
+        }
+        // ChatRoomService stores one room per direction
+        insertInBatches(pairs * 2, "INSERT INTO chat_room (chat_id, sender_id, recipient_id) VALUES (?, ?, ?)",
+                i -> {
+                    String[] pair = participants[i / 2];
+                    String sender = pair[i % 2];
+                    String recipient = pair[1 - i % 2];
+                    return new Object[]{pair[0] + "_" + pair[1], sender, recipient};
+                });
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        insertInBatches(messages, "INSERT INTO chat_message (id, chat_id, sender_id, recipient_id, content, "
+                + "timestamp) VALUES (?, ?, ?, ?, ?, ?)", i -> {
+            String[] pair = participants[random.nextInt(pairs)];
+            int direction = random.nextInt(2);
+            return new Object[]{
+                    UUID.randomUUID().toString(),
+                    pair[0] + "_" + pair[1],
+                    pair[direction],
+                    pair[1 - direction],
+                    "Is this still available? Message " + i,
+                    Timestamp.valueOf(start.plusSeconds(random.nextInt(30 * 24 * 3600)))};
+        });
+    }
+
+    private void insertInBatches(int count, String sql, RowFactory rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(rows.row(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private long[] ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private interface RowFactory {
+        Object[] row(int index);
+    }
+
+    record SeededData(long[] userIds, long[] itemPostIds, long[] donationIds) {
+    }
+}
@@ -0,0 +1,195 @@
+package secretstuffs.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the mixed workload with a fixed number of clients, each sending its next request as soon as
+ * the previous one completed. Latencies are recorded in microseconds per operation once the warmup
+ * is over; responses other than 2xx are counted, transport failures are counted as errors. Each
+ * client keeps the refresh token of its last login or refresh, and logs in instead of refreshing
+ * until it has one.
+ */
+class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\":\"([^\"]+)\"");
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final DataSeeder.SeededData data;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> nonSuccess = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadGenerator(URI baseUri, LoadTestSettings settings, DataSeeder.SeededData data) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.data = data;
+
+        List<Operation> selected = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : settings.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                selected.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = selected.toArray(Operation[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            nonSuccess.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs warmup and measurement and blocks until every client stopped.
+     *
+     * @return the result of the measured part, per operation
+     */
+    Map<Operation, LoadTestReport.OperationResult> run() throws InterruptedException {
+        long now = System.nanoTime();
+        long measureFrom = now + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Thread client = new Thread(() -> drive(measureFrom, stopAt), "load-client-" + i);
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        Map<Operation, LoadTestReport.OperationResult> results = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            results.put(operation, new LoadTestReport.OperationResult(histogram,
+                    nonSuccess.get(operation).sum(), errors.get(operation).sum()));
+        }
+        return results;
+    }
+
+    private void drive(long measureFrom, long stopAt) {
+        String refreshToken = null;
+        while (System.nanoTime() < stopAt) {
+            Operation operation = pick();
+            if (operation == Operation.REFRESH && refreshToken == null) {
+                operation = Operation.LOGIN;
+            }
+            HttpRequest request = request(operation, refreshToken);
+            long start = System.nanoTime();
+            boolean failed = false;
+            int status = 0;
+            try {
+                if (operation == Operation.LOGIN || operation == Operation.REFRESH) {
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    status = response.statusCode();
+                    Matcher token = REFRESH_TOKEN.matcher(response.body());
+                    refreshToken = token.find() ? token.group(1) : null;
+                } else {
+                    status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                }
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long end = System.nanoTime();
+            if (start < measureFrom) {
+                continue;
+            }
+            if (failed) {
+                errors.get(operation).increment();
+                continue;
+            }
+            recorders.get(operation).recordValue(
+                    Math.min(TimeUnit.NANOSECONDS.toMicros(end - start), HIGHEST_TRACKABLE_MICROS));
+            if (status < 200 || status >= 300) {
+                nonSuccess.get(operation).increment();
+            }
+        }
+    }
+
+    private Operation pick() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, String refreshToken) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LOGIN -> post("/api/auth/login", """
+                    {"email":"%s","password":"%s"}""".formatted(
+                    DataSeeder.email(random.nextInt(settings.users())), DataSeeder.PASSWORD), null);
+            case REFRESH -> post("/api/auth/refresh", """
+                    {"refreshToken":"%s"}""".formatted(refreshToken), null);
+            case ALL_POSTS -> get("/api/items/all-posts");
+            case ITEM_BY_ID -> get("/api/items/" + any(data.itemPostIds()));
+            case DONATION_BY_ID -> get("/api/donations/" + any(data.donationIds()));
+            case DONATIONS_BY_USER -> get("/api/donations/user/" + any(data.userIds()));
+            case DONATIONS_BY_ITEM -> get("/api/donations/item/" + any(data.itemPostIds()));
+            case REQUEST_DONATION -> post("/api/donations/", """
+                    {"userId":%d,"itemPostId":%d}""".formatted(any(data.userIds()), any(data.itemPostIds())),
+                    UUID.randomUUID().toString());
+        };
+    }
+
+    private static long any(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json, String idempotencyKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,110 @@
+package secretstuffs.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints the result table and writes one HdrHistogram percentile distribution per operation
+ * ({@code <operation>.hgrm}, in milliseconds, readable by the HdrHistogram plotter), one for all
+ * requests together ({@code all.hgrm}) and a {@code summary.json} with throughput and percentiles.
+ */
+class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    record OperationResult(Histogram histogram, long nonSuccess, long errors) {
+    }
+
+    private final LoadTestSettings settings;
+    private final Map<Operation, OperationResult> results;
+
+    LoadTestReport(LoadTestSettings settings, Map<Operation, OperationResult> results) {
+        this.settings = settings;
+        this.results = results;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-18s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n", "operation", "requests", "req/s",
+                "non-2xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((operation, result) -> printRow(out, operation.key(), result.histogram(),
+                result.nonSuccess(), result.errors()));
+        printRow(out, "all", combined(), results.values().stream().mapToLong(OperationResult::nonSuccess).sum(),
+                results.values().stream().mapToLong(OperationResult::errors).sum());
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("concurrency", settings.concurrency());
+        summary.put("durationSeconds", settings.durationSeconds());
+        summary.put("users", settings.users());
+        summary.put("itemPosts", settings.itemPosts());
+        summary.put("donations", settings.donations());
+        summary.put("chatMessages", settings.chatMessages());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        results.forEach((operation, result) -> {
+            writeHistogram(directory.resolve(operation.key() + ".hgrm"), result.histogram());
+            operations.put(operation.key(), stats(result.histogram(), result.nonSuccess(), result.errors()));
+        });
+        Histogram all = combined();
+        writeHistogram(directory.resolve("all.hgrm"), all);
+        operations.put("all", stats(all, results.values().stream().mapToLong(OperationResult::nonSuccess).sum(),
+                results.values().stream().mapToLong(OperationResult::errors).sum()));
+        summary.put("operations", operations);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long nonSuccess, long errors) {
+        out.printf("%-18s %10d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(), throughput(histogram), nonSuccess, errors,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private Map<String, Object> stats(Histogram histogram, long nonSuccess, long errors) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", histogram.getTotalCount());
+        stats.put("throughputPerSecond", throughput(histogram));
+        stats.put("nonSuccess", nonSuccess);
+        stats.put("errors", errors);
+        stats.put("meanMs", histogram.getMean() / MICROS_PER_MILLI);
+        stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        stats.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+        stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        stats.put("maxMs", millis(histogram.getMaxValue()));
+        return stats;
+    }
+
+    private Histogram combined() {
+        Histogram all = new Histogram(3);
+        results.values().forEach(result -> all.add(result.histogram()));
+        return all;
+    }
+
+    private double throughput(Histogram histogram) {
+        return (double) histogram.getTotalCount() / settings.durationSeconds();
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write " + file, e);
+        }
+    }
+}
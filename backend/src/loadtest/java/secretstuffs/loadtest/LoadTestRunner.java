@@ -0,0 +1,89 @@
+package secretstuffs.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import secretstuffs.ApiApplication;
+import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.services.RegisteredEmailFilter;
+import secretstuffs.application.services.UserStatsService;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts an embedded Postgres (unless {@code --jdbc-url} points at an empty
+ * database), boots the application against it on a random port, seeds it, drives the mixed workload
+ * and reports throughput and latency histograms. See {@link LoadTestSettings#USAGE} for the options.
+ * <p>
+ * The login rate limit is lifted for the run, since all clients share one address. Postgres refuses
+ * to start as root, so run the embedded database as a regular user.
+ */
+public class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+
+        try (EmbeddedPostgres postgres = settings.jdbcUrl() == null ? EmbeddedPostgres.start() : null) {
+            String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : settings.jdbcUrl();
+            try (ConfigurableApplicationContext context = SpringApplication.run(ApiApplication.class,
+                    applicationArgs(settings, jdbcUrl))) {
+                DataSeeder.SeededData data = seed(context, settings);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                logger.info("Running {} clients for {}s after {}s of warmup", settings.concurrency(),
+                        settings.durationSeconds(), settings.warmupSeconds());
+                Map<Operation, LoadTestReport.OperationResult> results =
+                        new LoadGenerator(URI.create("http://localhost:" + port), settings, data).run();
+
+                LoadTestReport report = new LoadTestReport(settings, results);
+                report.print(System.out);
+                report.write(settings.output());
+                logger.info("Histograms and summary written to {}", settings.output().toAbsolutePath());
+            }
+        }
+    }
+
+    private static String[] applicationArgs(LoadTestSettings settings, String jdbcUrl) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", settings.jdbcUsername());
+        properties.put("spring.datasource.password", settings.jdbcPassword());
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("debug", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.secretstuffs.loadtest", "INFO");
+        properties.put("rate-limit.login.capacity", "1000000000");
+        // Explicit arguments replace the defaults above; Spring would join repeated ones into a list
+        for (String arg : settings.applicationArgs()) {
+            int separator = arg.indexOf('=');
+            properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static DataSeeder.SeededData seed(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        long started = System.currentTimeMillis();
+        String encryptedPassword = context.getBean(AuthHelper.class).encryptPassword(DataSeeder.PASSWORD);
+        DataSeeder seeder = new DataSeeder(context.getBean(JdbcTemplate.class), encryptedPassword);
+        DataSeeder.SeededData data = seeder.seed(settings);
+        context.getBean(UserStatsService.class).reconcile();
+        context.getBean(RegisteredEmailFilter.class).rebuild();
+        logger.info("Seeded {} users, {} item posts, {} donations and {} chat messages in {} ms",
+                data.userIds().length, data.itemPostIds().length, data.donationIds().length,
+                settings.chatMessages(), System.currentTimeMillis() - started);
+        return data;
+    }
+}
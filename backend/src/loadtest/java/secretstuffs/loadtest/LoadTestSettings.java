@@ -0,0 +1,113 @@
+package secretstuffs.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as {@code --name=value} arguments. Arguments the harness does
+ * not know are passed on to the application, e.g. {@code --spring.datasource.hikari.maximum-pool-size=20}.
+ */
+record LoadTestSettings(
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        int users,
+        int itemPosts,
+        int donations,
+        int chatMessages,
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        Map<Operation, Integer> mix,
+        Path output,
+        List<String> applicationArgs
+) {
+
+    static final String USAGE = """
+            Options (all optional):
+              --jdbc-url=URL            use this database instead of an embedded Postgres; it must be empty
+              --jdbc-username=NAME      --jdbc-password=SECRET
+              --users=5000              --item-posts=10000
+              --donations=20000         --chat-messages=50000
+              --concurrency=32          number of concurrent clients, each sending one request at a time
+              --warmup=15               seconds of load before measuring starts
+              --duration=60             seconds of measured load
+              --mix=itemById:40,login:10,...  share of each operation; unlisted operations get 0
+                                        (login, refresh, allPosts, itemById, donationById,
+                                         donationsByUser, donationsByItem, requestDonation)
+              --output=DIR              where histograms and summary.json are written
+            Any other --name=value argument is passed to the application.""";
+
+    private static final List<String> KNOWN_OPTIONS = List.of("jdbc-url", "jdbc-username", "jdbc-password",
+            "users", "item-posts", "donations", "chat-messages", "concurrency", "warmup", "duration", "mix",
+            "output");
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg + "\n" + USAGE);
+            }
+            String name = arg.substring(2, separator);
+            if (KNOWN_OPTIONS.contains(name)) {
+                options.put(name, arg.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        return new LoadTestSettings(
+                options.get("jdbc-url"),
+                options.getOrDefault("jdbc-username", "postgres"),
+                options.getOrDefault("jdbc-password", "postgres"),
+                positive(options, "users", 5_000),
+                positive(options, "item-posts", 10_000),
+                positive(options, "donations", 20_000),
+                positive(options, "chat-messages", 50_000),
+                positive(options, "concurrency", 32),
+                Integer.parseInt(options.getOrDefault("warmup", "15")),
+                positive(options, "duration", 60),
+                parseMix(options.get("mix")),
+                Path.of(options.getOrDefault("output", "target/loadtest")),
+                List.copyOf(applicationArgs)
+        );
+    }
+
+    private static int positive(Map<String, String> options, String name, int defaultValue) {
+        int value = Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix == null) {
+            for (Operation operation : Operation.values()) {
+                weights.put(operation, operation.defaultWeight());
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix but got " + entry);
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return weights;
+    }
+}
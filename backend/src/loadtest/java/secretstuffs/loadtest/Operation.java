@@ -0,0 +1,41 @@
+package secretstuffs.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests of the mixed workload, each with its default share of the traffic in percent.
+ * {@code refresh} is off by default so that results stay comparable with earlier runs.
+ */
+enum Operation {
+    LOGIN("login", 10),
+    REFRESH("refresh", 0),
+    ALL_POSTS("allPosts", 5),
+    ITEM_BY_ID("itemById", 40),
+    DONATION_BY_ID("donationById", 15),
+    DONATIONS_BY_USER("donationsByUser", 10),
+    DONATIONS_BY_ITEM("donationsByItem", 10),
+    REQUEST_DONATION("requestDonation", 10);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + key));
+    }
+}
@@ -0,0 +1,231 @@
+package secretstuffs.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Measures time to first request of the packaged backend: from launching the JVM until
+ * {@code GET /api/items/all-posts} answers 200. The jar is started in the {@code prod} profile,
+ * pointed at an embedded Postgres (or {@code --jdbc-url}), in four ways:
+ * <ul>
+ *     <li>{@code jar}: {@code java -jar} on the fat jar, as the image used to run it;</li>
+ *     <li>{@code cds}: the extracted jar with a CDS archive;</li>
+ *     <li>{@code aot}: the extracted jar with {@code -Dspring.aot.enabled=true};</li>
+ *     <li>{@code aot-cds}: both, as the Dockerfile runs it.</li>
+ * </ul>
+ * The jar must be built with the {@code aot} profile. The CDS archive is recorded by the same
+ * training run as in the Dockerfile, without a database. One unmeasured start migrates the schema
+ * first, so every measured start finds the same database.
+ */
+public class StartupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final String USAGE = """
+            Options (all optional):
+              --jar=PATH                jar built with -Paot, by default the only jar in target/
+              --runs=5                  measured starts per variant
+              --timeout=120             seconds to wait for the first request
+              --jdbc-url=URL            use this database instead of an embedded Postgres
+              --jdbc-username=NAME      --jdbc-password=SECRET
+              --output=DIR              where the start logs and startup.json are written""";
+
+    private static final List<String> TRAINING_OPTIONS = List.of(
+            "-XX:ArchiveClassesAtExit=app.jsa",
+            "-Dspring.context.exit=onRefresh",
+            "-Dspring.profiles.active=prod",
+            "-Dspring.flyway.enabled=false",
+            "-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false");
+
+    private final Map<String, String> options;
+    private final Path output;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.output = Path.of(options.getOrDefault("output", "target/startup"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        Path jar = jar();
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Files.createDirectories(output);
+        Path extracted = output.resolve("app").toAbsolutePath();
+        exec(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--force",
+                "--destination", extracted.toString()), output, "extract");
+        Path application = extracted.resolve(jar.getFileName());
+        List<String> training = new ArrayList<>(List.of(java()));
+        training.addAll(TRAINING_OPTIONS);
+        training.addAll(List.of("-jar", application.toString()));
+        exec(training, extracted, "training");
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jar", List.of("-jar", jar.toString()));
+        variants.put("cds", List.of("-XX:SharedArchiveFile=app.jsa", "-jar", application.toString()));
+        variants.put("aot", List.of("-Dspring.aot.enabled=true", "-jar", application.toString()));
+        variants.put("aot-cds", List.of("-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true", "-jar",
+                application.toString()));
+
+        try (EmbeddedPostgres postgres = options.containsKey("jdbc-url") ? null : EmbeddedPostgres.start()) {
+            String jdbcUrl = postgres != null
+                    ? postgres.getJdbcUrl("postgres", "postgres")
+                    : options.get("jdbc-url");
+            timeToFirstRequest("migrate", variants.get("jar"), extracted, jdbcUrl);
+
+            Map<String, long[]> results = new LinkedHashMap<>();
+            for (int run = 1; run <= runs; run++) {
+                for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                    long millis = timeToFirstRequest(variant.getKey() + "-" + run, variant.getValue(), extracted,
+                            jdbcUrl);
+                    results.computeIfAbsent(variant.getKey(), key -> new long[runs])[run - 1] = millis;
+                    logger.info("{} run {}: first request after {} ms", variant.getKey(), run, millis);
+                }
+            }
+            print(System.out, results);
+            write(results);
+            logger.info("Start logs and startup.json written to {}", output.toAbsolutePath());
+        }
+    }
+
+    private long timeToFirstRequest(String name, List<String> launch, Path directory, String jdbcUrl)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(java()));
+        command.addAll(launch);
+        command.addAll(List.of(
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + options.getOrDefault("jdbc-username", "postgres"),
+                "--spring.datasource.password=" + options.getOrDefault("jdbc-password", "postgres"),
+                "--server.port=" + port,
+                "--management.server.port=" + freePort()));
+        Path log = output.resolve(name + ".log").toAbsolutePath();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/items/all-posts"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeoutSeconds()).toNanos();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - started).toMillis();
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(name + " did not answer within " + timeoutSeconds() + "s, see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private void exec(List<String> command, Path directory, String name) throws IOException, InterruptedException {
+        Path log = output.resolve(name + ".log").toAbsolutePath();
+        Files.createDirectories(directory);
+        int exitCode = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start()
+                .waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(name + " exited with " + exitCode + ", see " + log);
+        }
+    }
+
+    private static void print(PrintStream out, Map<String, long[]> results) {
+        out.printf("%n%-10s %6s %9s %9s %9s%n", "variant", "runs", "min ms", "median ms", "max ms");
+        results.forEach((variant, millis) -> {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            out.printf("%-10s %6d %9d %9d %9d%n", variant, sorted.length, sorted[0], sorted[sorted.length / 2],
+                    sorted[sorted.length - 1]);
+        });
+    }
+
+    private void write(Map<String, long[]> results) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        results.forEach((variant, millis) -> summary.put(variant, Map.of("timeToFirstRequestMs", millis)));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.resolve("startup.json").toFile(), summary);
+    }
+
+    private Path jar() throws IOException {
+        if (options.containsKey("jar")) {
+            return Path.of(options.get("jar")).toAbsolutePath();
+        }
+        try (Stream<Path> jars = Files.list(Path.of("target"))) {
+            List<Path> candidates = jars.filter(path -> path.toString().endsWith(".jar")).toList();
+            if (candidates.size() != 1) {
+                throw new IllegalArgumentException("Expected one jar in target/, pass --jar\n" + USAGE);
+            }
+            return candidates.get(0).toAbsolutePath();
+        }
+    }
+
+    private int timeoutSeconds() {
+        return Integer.parseInt(options.getOrDefault("timeout", "120"));
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg + "\n" + USAGE);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
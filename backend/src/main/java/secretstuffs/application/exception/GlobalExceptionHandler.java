@@ -4,8 +4,10 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -13,6 +15,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.RateLimitException;
 import secretstuffs.domain.models.responses.ErrorResponseDTO;
 
 import java.time.LocalDateTime;
@@ -59,6 +62,39 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(RateLimitException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRateLimitException(RateLimitException ex, HttpServletRequest request) {
+        String requestURI = request.getRequestURI();
+        String errorCode = ex.getErrorCode();
+        String errorMessage = ex.getErrorMessage();
+        logger.warn("Rate limit exceeded: URI={}, ErrorCode={}, Message={}", requestURI, errorCode, errorMessage);
+
+        ResponseEntity<ErrorResponseDTO> response = buildErrorResponse(
+                errorMessage,
+                errorCode,
+                ex.getStatusCode(),
+                null
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        String requestURI = request.getRequestURI();
+        String errorMessage = "The resource was modified by another request, please retry";
+        String errorCode = "CONCURRENT_MODIFICATION";
+        logger.warn("Optimistic locking failure: URI={}, ErrorCode={}, Entity={}", requestURI, errorCode, ex.getPersistentClassName());
+
+        return buildErrorResponse(
+                errorMessage,
+                errorCode,
+                HttpStatus.CONFLICT,
+                null
+        );
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleEntityNotFound(EntityNotFoundException ex, HttpServletRequest request) {
         String requestURI = request.getRequestURI();
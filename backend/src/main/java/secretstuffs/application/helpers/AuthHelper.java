@@ -1,5 +1,6 @@
 package secretstuffs.application.helpers;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -12,10 +13,12 @@ public class AuthHelper {
         this.encoder = new BCryptPasswordEncoder();
     }
 
+    @Timed("auth.password.encrypt")
     public String encryptPassword(String password) {
         return encoder.encode(password);
     }
 
+    @Timed("auth.password.verify")
     public boolean passwordMatches(String rawPassword, String encryptedPassword) {
         return encoder.matches(rawPassword, encryptedPassword);
     }
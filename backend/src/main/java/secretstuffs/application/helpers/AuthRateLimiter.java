@@ -0,0 +1,64 @@
+package secretstuffs.application.helpers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import secretstuffs.domain.dtos.exception.RateLimitException;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the unauthenticated auth endpoints per client IP and per target email.
+ * Checks run in the controller before any database, BCrypt or SMTP work is done.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public enum Endpoint {
+        LOGIN,
+        FORGOT_PASSWORD,
+        RESEND_VERIFICATION
+    }
+
+    private final Map<Endpoint, TokenBucketRateLimiter> ipLimiters = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, TokenBucketRateLimiter> emailLimiters = new EnumMap<>(Endpoint.class);
+
+    public AuthRateLimiter(
+            @Value("${rate-limit.login.capacity}") long loginCapacity,
+            @Value("${rate-limit.login.window-seconds}") long loginWindowSeconds,
+            @Value("${rate-limit.forgot-password.capacity}") long forgotPasswordCapacity,
+            @Value("${rate-limit.forgot-password.window-seconds}") long forgotPasswordWindowSeconds,
+            @Value("${rate-limit.resend-verification.capacity}") long resendCapacity,
+            @Value("${rate-limit.resend-verification.window-seconds}") long resendWindowSeconds,
+            @Value("${rate-limit.max-keys}") int maxKeys
+    ) {
+        register(Endpoint.LOGIN, loginCapacity, loginWindowSeconds, maxKeys);
+        register(Endpoint.FORGOT_PASSWORD, forgotPasswordCapacity, forgotPasswordWindowSeconds, maxKeys);
+        register(Endpoint.RESEND_VERIFICATION, resendCapacity, resendWindowSeconds, maxKeys);
+    }
+
+    /**
+     * Consumes one token from the IP bucket and one from the email bucket of the endpoint.
+     *
+     * @param endpoint the endpoint being called
+     * @param clientIp the caller's address
+     * @param email    the account the request targets, may be null
+     * @throws RateLimitException if either bucket is empty
+     */
+    public void check(Endpoint endpoint, String clientIp, String email) {
+        long retryAfterMillis = ipLimiters.get(endpoint).tryAcquire(clientIp);
+        if (retryAfterMillis == 0 && email != null) {
+            retryAfterMillis = emailLimiters.get(endpoint).tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (retryAfterMillis > 0) {
+            throw RateLimitException.tooManyRequests(retryAfterMillis);
+        }
+    }
+
+    private void register(Endpoint endpoint, long capacity, long windowSeconds, int maxKeys) {
+        long windowMillis = windowSeconds * 1000;
+        ipLimiters.put(endpoint, new TokenBucketRateLimiter(capacity, windowMillis, maxKeys));
+        emailLimiters.put(endpoint, new TokenBucketRateLimiter(capacity, windowMillis, maxKeys));
+    }
+}
@@ -0,0 +1,26 @@
+package secretstuffs.application.helpers;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * The caller of a request, taken from the claims of its bearer token without a database read.
+ * HTTP requests carry it in the {@link #REQUEST_ATTRIBUTE} attribute, STOMP sessions as their user.
+ *
+ * @param email     the token subject
+ * @param id        the user id
+ * @param active    whether the account was active when the token was issued
+ * @param sessionId the login session the token was refreshed in, null for tokens issued without one
+ * @param issuedAt  when the token was issued
+ * @param expiresAt when the token expires
+ */
+public record AuthenticatedUser(String email, Long id, boolean active, String sessionId, Instant issuedAt,
+                                Instant expiresAt) implements Principal {
+
+    public static final String REQUEST_ATTRIBUTE = "secretstuffs.authenticatedUser";
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
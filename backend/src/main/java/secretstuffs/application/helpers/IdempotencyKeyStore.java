@@ -0,0 +1,158 @@
+package secretstuffs.application.helpers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import secretstuffs.domain.dtos.exception.IdempotencyException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key} header so that client
+ * retries replay the first response instead of running the operation again. A retry that arrives
+ * while the first call is still running waits for it and shares its result, for at most
+ * {@code idempotency.wait-timeout-ms}. Keys belong to the caller that sent them, so two users
+ * picking the same key never see each other's responses. Keys are held in memory for
+ * {@code idempotency.ttl-seconds}, so the guarantee is per instance.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private final long ttlMillis;
+    private final int maxKeys;
+    private final long waitTimeoutMillis;
+    private final LongSupplier clock;
+    private final Map<EntryKey, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyKeyStore(
+            @Value("${idempotency.ttl-seconds}") long ttlSeconds,
+            @Value("${idempotency.max-keys}") int maxKeys,
+            @Value("${idempotency.wait-timeout-ms}") long waitTimeoutMillis
+    ) {
+        this(ttlSeconds, maxKeys, waitTimeoutMillis, System::currentTimeMillis);
+    }
+
+    IdempotencyKeyStore(long ttlSeconds, int maxKeys, long waitTimeoutMillis, LongSupplier clock) {
+        if (ttlSeconds <= 0 || maxKeys <= 0 || waitTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Idempotency TTL, key limit and wait timeout must be positive");
+        }
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxKeys = maxKeys;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the action once per scope, caller and key. Failed actions are forgotten so the client can
+     * retry them.
+     *
+     * @param scope   the operation the key belongs to
+     * @param caller  the authenticated caller's email, or null for anonymous requests, which share
+     *                one key space
+     * @param key     the client supplied key, or null to run the action unconditionally
+     * @param request the request payload; a reused key must come with an equal payload
+     * @param action  the operation to run
+     * @return the result of the first successful call for this key
+     * @throws IdempotencyException 422 if the key was already used with a different payload, 409 if
+     *                              the first call with the key did not finish within the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String caller, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        EntryKey entryKey = new EntryKey(scope, caller, key);
+
+        while (true) {
+            long now = clock.getAsLong();
+            Entry created = new Entry(request, new CompletableFuture<>(), now);
+            Entry existing = entries.putIfAbsent(entryKey, created);
+            if (existing == null) {
+                evictIfFull(now);
+                return run(entryKey, created, action);
+            }
+            if (existing.isExpired(now, ttlMillis)) {
+                entries.remove(entryKey, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.request, request)) {
+                throw IdempotencyException.keyReused(key);
+            }
+            return (T) await(existing, key);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private <T> T run(EntryKey entryKey, Entry entry, Supplier<T> action) {
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(entryKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // A timed-out retry leaves the entry alone: the first call may still succeed, and a later retry replays it
+    private Object await(Entry entry, String key) {
+        try {
+            return entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw IdempotencyException.stillInProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyException.stillInProgress(key);
+        }
+    }
+
+    /**
+     * Drops expired entries once the store grows past {@code maxKeys}; if it is still over the limit,
+     * completed entries are dropped in iteration order until it fits.
+     */
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxKeys) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now, ttlMillis));
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxKeys && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record EntryKey(String scope, String caller, String key) {
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long createdAtMillis) {
+
+        boolean isExpired(long now, long ttlMillis) {
+            return result.isDone() && now - createdAtMillis >= ttlMillis;
+        }
+    }
+}
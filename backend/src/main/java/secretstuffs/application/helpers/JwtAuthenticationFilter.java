@@ -0,0 +1,79 @@
+package secretstuffs.application.helpers;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.UserException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the caller of each HTTP request from its {@code Authorization: Bearer} token and stores
+ * it under {@link AuthenticatedUser#REQUEST_ATTRIBUTE}. A request with an invalid token is rejected
+ * with 401; one without a token continues anonymously unless its path is listed in
+ * {@code auth.protected-paths} or {@code auth.admin-paths}. Admin paths also reject, with 403,
+ * callers whose email is not listed in {@code auth.admin-emails}, so with none listed everyone.
+ * CORS preflights never carry a token and are let through. Errors are rendered by the global
+ * exception handler.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final RequestPathMatcher protectedPaths;
+    private final RequestPathMatcher adminPaths;
+    private final Set<String> adminEmails;
+
+    public JwtAuthenticationFilter(
+            VerifiedTokenCache verifiedTokenCache,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            @Value("${auth.protected-paths}") List<String> protectedPaths,
+            @Value("${auth.admin-paths}") List<String> adminPaths,
+            @Value("${auth.admin-emails}") List<String> adminEmails
+    ) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.exceptionResolver = exceptionResolver;
+        this.protectedPaths = new RequestPathMatcher(protectedPaths);
+        this.adminPaths = new RequestPathMatcher(adminPaths);
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = JwtHelper.bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+        try {
+            if (token != null) {
+                AuthenticatedUser caller = verifiedTokenCache.authenticate(token);
+                if (adminPaths.matches(request) && !adminEmails.contains(caller.email().toLowerCase(Locale.ROOT))) {
+                    throw UserException.adminRequired();
+                }
+                request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, caller);
+            } else if (!CorsUtils.isPreFlightRequest(request)
+                    && (protectedPaths.matches(request) || adminPaths.matches(request))) {
+                throw UserException.unauthenticated();
+            }
+        } catch (BusinessException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
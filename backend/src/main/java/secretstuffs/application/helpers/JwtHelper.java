@@ -1,27 +1,220 @@
 package secretstuffs.application.helpers;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.function.Function;
 
+/**
+ * Signs and verifies JWTs. Tokens are signed with the active key of a key ring and carry its id in
+ * the {@code kid} header; verification picks the key by that id, so tokens signed with any key
+ * still in the ring stay valid. Without {@code jwt.keys-file} the ring holds only {@code jwt.secret}
+ * under {@value #DEFAULT_KEY_ID}. Otherwise the file replaces the ring and is read again whenever it
+ * changes, so keys can be rotated without a restart:
+ * <pre>
+ * active=2026-10
+ * key.default=&lt;the old jwt.secret&gt;
+ * key.2026-10=&lt;at least 64 random bytes&gt;
+ * </pre>
+ * Tokens without a {@code kid}, issued before key ids were added, are verified with the
+ * {@value #DEFAULT_KEY_ID} key.
+ * <p>
+ * Every token is signed with the same ring, so each carries the audience of its purpose: access
+ * tokens {@value #AUDIENCE_ACCESS}, email verification links {@value #AUDIENCE_EMAIL_VERIFICATION}.
+ * Each kind is only accepted by its own verify method.
+ */
 @Component
 public class JwtHelper {
 
-    private static final long TOKEN_VALIDITY_MILLISECONDS = 1000L * 60 * 60 * 10; // 10 hours
+    private static final Logger logger = LoggerFactory.getLogger(JwtHelper.class);
 
-    private final Key signingKey;
+    public static final String CLAIM_USER_ID = "id";
+    public static final String CLAIM_ACTIVE = "active";
+    public static final String CLAIM_SESSION_ID = "sid";
+    // iat only has seconds; revocations are compared with the issue time in milliseconds
+    public static final String CLAIM_ISSUED_AT_MILLIS = "iat_ms";
+    public static final String DEFAULT_KEY_ID = "default";
+    public static final String AUDIENCE_ACCESS = "access";
+    public static final String AUDIENCE_EMAIL_VERIFICATION = "email-verification";
 
-    public JwtHelper(@Value("${jwt.secret}") String secretKey) {
-        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACTIVE_KEY_PROPERTY = "active";
+    private static final String KEY_PROPERTY_PREFIX = "key.";
+
+    private final Path keysFile;
+    private volatile KeyRing keyRing;
+    private volatile FileTime keysFileModified;
+    // Parsers are immutable and thread-safe, so one is shared by all requests; it reads the current ring
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtHelper(@Value("${jwt.secret}") String secretKey, @Value("${jwt.keys-file}") String keysFile) {
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        this.keyRing = new KeyRing(DEFAULT_KEY_ID, Map.of(DEFAULT_KEY_ID, Keys.hmacShaKeyFor(secretKey.getBytes())), 0);
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new KeyRingResolver()).build();
+        if (this.keysFile != null) {
+            try {
+                load();
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Could not load the signing keys from " + keysFile, e);
+            }
+        }
+    }
+
+    JwtHelper(String secretKey) {
+        this(secretKey, "");
+    }
+
+    /**
+     * Reads {@code jwt.keys-file} again if it changed since the last read. A file that cannot be
+     * read or holds an invalid ring is logged and ignored, and the current keys stay in use.
+     */
+    @Scheduled(
+            initialDelayString = "${jwt.keys-file.check-interval-ms}",
+            fixedDelayString = "${jwt.keys-file.check-interval-ms}"
+    )
+    public void reloadKeys() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(keysFile).equals(keysFileModified)) {
+                load();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not reload the signing keys from {}, keeping the current ones", keysFile, e);
+        }
+    }
+
+    /**
+     * Counts the times a key was removed from the ring or replaced. Callers caching verified tokens
+     * drop them when it changes, since those may have been signed with a key that is gone.
+     *
+     * @return the number of times keys were retired since startup
+     */
+    public long keyRetirements() {
+        return keyRing.retirements();
+    }
+
+    // Only called from the constructor and the scheduler thread, so reloads never overlap
+    private void load() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(keysFile);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Key> keys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PROPERTY_PREFIX)) {
+                Key key = Keys.hmacShaKeyFor(properties.getProperty(name).trim().getBytes(StandardCharsets.UTF_8));
+                if (SignatureAlgorithm.forSigningKey(key) != SignatureAlgorithm.HS512) {
+                    throw new IllegalArgumentException(name + " is shorter than the 64 bytes HS512 needs");
+                }
+                keys.put(name.substring(KEY_PROPERTY_PREFIX.length()), key);
+            }
+        }
+        String activeKid = properties.getProperty(ACTIVE_KEY_PROPERTY, "").trim();
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("The active key '" + activeKid + "' is not defined");
+        }
+
+        // The first read replaces the jwt.secret ring before any token was issued, so it retires nothing
+        KeyRing current = keyRing;
+        boolean retired = keysFileModified != null && current.keys().entrySet().stream()
+                .anyMatch(entry -> !entry.getValue().equals(keys.get(entry.getKey())));
+        keyRing = new KeyRing(activeKid, Map.copyOf(keys), current.retirements() + (retired ? 1 : 0));
+        keysFileModified = modified;
+        logger.info("Loaded signing keys {} from {}, signing with '{}'", keys.keySet(), keysFile, activeKid);
+    }
+
+    /**
+     * Returns the token of an {@code Authorization: Bearer <token>} header value.
+     *
+     * @param authorizationHeader the header value, may be null
+     * @return the token, or null if the header is missing or not a bearer token
+     */
+    public static String bearerToken(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = authorizationHeader.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    /**
+     * Verifies the signature and expiry of an access token and returns the caller it was issued to.
+     *
+     * @param token the JWT token
+     * @return the principal described by the token's claims
+     * @throws IllegalArgumentException if the token is malformed, forged or expired, or is not an
+     *                                  access token issued to a user id
+     */
+    @Timed("auth.jwt.verify")
+    public AuthenticatedUser verify(String token) {
+        Claims claims = extractAllClaims(token);
+        if (!AUDIENCE_ACCESS.equals(claims.getAudience()) || claims.get(CLAIM_USER_ID) == null) {
+            throw new IllegalArgumentException("Not an access token");
+        }
+        return new AuthenticatedUser(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class)),
+                claims.get(CLAIM_SESSION_ID, String.class),
+                issuedAt(claims),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    /**
+     * Verifies the signature and expiry of an email verification token.
+     *
+     * @param token the token of a verification link
+     * @return the email the link was sent to
+     * @throws IllegalArgumentException if the token is malformed, forged or expired, or is not an
+     *                                  email verification token
+     */
+    @Timed("auth.jwt.verify")
+    public String verifyEmailVerificationToken(String token) {
+        Claims claims = extractAllClaims(token);
+        if (!AUDIENCE_EMAIL_VERIFICATION.equals(claims.getAudience())) {
+            throw new IllegalArgumentException("Not an email verification token");
+        }
+        return claims.getSubject();
+    }
+
+    // Tokens issued before the millisecond claim was added fall back to the second-precision iat
+    private static Instant issuedAt(Claims claims) {
+        Long millis = claims.get(CLAIM_ISSUED_AT_MILLIS, Long.class);
+        if (millis != null) {
+            return Instant.ofEpochMilli(millis);
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
     }
 
     /**
@@ -30,6 +223,7 @@ public class JwtHelper {
      * @param token the JWT token
      * @return the subject extracted from the token
      */
+    @Timed("auth.jwt.verify")
     public String extractSubject(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -52,6 +246,7 @@ public class JwtHelper {
      * @param <T>            the type of the claim
      * @return the extracted claim
      */
+    @Timed("auth.jwt.verify")
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -65,11 +260,7 @@ public class JwtHelper {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid JWT token", e);
         }
@@ -90,40 +281,31 @@ public class JwtHelper {
     }
 
     /**
-     * Validates the token by checking its expiration and extracting the subject.
-     *
-     * @param token    the JWT token
-     * @param username the username to match with the token's subject
-     * @return true if the token is valid, false otherwise
-     */
-    public boolean validateToken(String token, String username) {
-        try {
-            String extractedSubject = extractSubject(token);
-            return extractedSubject.equals(username) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    /**
-     * Generates a token for the given subject with no additional claims.
+     * Generates an access token, the only kind of token {@link #verify} accepts.
      *
-     * @param subject the subject for which the token is generated
+     * @param claims    the caller's claims, including {@link #CLAIM_USER_ID}
+     * @param subject   the caller's email
+     * @param expiresAt when the token expires
      * @return the generated JWT token
      */
-    public String generateToken(String subject) {
-        return generateTokenWithClaims(Map.of(), subject);
+    @Timed("auth.jwt.sign")
+    public String generateAccessToken(Map<String, Object> claims, String subject, Instant expiresAt) {
+        Map<String, Object> accessClaims = new HashMap<>(claims);
+        accessClaims.put(Claims.AUDIENCE, AUDIENCE_ACCESS);
+        return buildToken(accessClaims, subject, getCurrentDate(), Date.from(expiresAt));
     }
 
     /**
-     * Generates a token for the given subject with additional claims.
+     * Generates the token of an email verification link, which {@link #verify} does not accept.
      *
-     * @param claims  the additional claims to include in the token
-     * @param subject the subject for which the token is generated
+     * @param email     the email the link is sent to
+     * @param expiresAt when the link expires
      * @return the generated JWT token
      */
-    public String generateTokenWithClaims(Map<String, Object> claims, String subject) {
-        return buildToken(claims, subject, getCurrentDate(), getExpirationDate());
+    @Timed("auth.jwt.sign")
+    public String generateEmailVerificationToken(String email, Instant expiresAt) {
+        Map<String, Object> claims = Map.of(Claims.AUDIENCE, AUDIENCE_EMAIL_VERIFICATION);
+        return buildToken(claims, email, getCurrentDate(), Date.from(expiresAt));
     }
 
     /**
@@ -140,8 +322,11 @@ public class JwtHelper {
         jwtBuilder.setClaims(claims);
         jwtBuilder.setSubject(subject);
         jwtBuilder.setIssuedAt(issuedAt);
+        jwtBuilder.claim(CLAIM_ISSUED_AT_MILLIS, issuedAt.getTime());
         jwtBuilder.setExpiration(expiration);
-        jwtBuilder.signWith(signingKey, SignatureAlgorithm.HS512);
+        KeyRing ring = keyRing;
+        jwtBuilder.setHeaderParam(JwsHeader.KEY_ID, ring.activeKid());
+        jwtBuilder.signWith(ring.keys().get(ring.activeKid()), SignatureAlgorithm.HS512);
 
         return jwtBuilder.compact();
     }
@@ -156,35 +341,21 @@ public class JwtHelper {
     }
 
     /**
-     * Helper method to calculate the expiration date based on the token validity.
-     *
-     * @return the expiration date
+     * An immutable set of keys by id, replaced as a whole on reload.
      */
-    private Date getExpirationDate() {
-        return new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MILLISECONDS);
+    private record KeyRing(String activeKid, Map<String, Key> keys, long retirements) {
     }
 
-    /**
-     * Returns whether the token is valid based on its expiration.
-     *
-     * @param token the JWT token
-     * @return true if the token is valid, false otherwise
-     */
-    public boolean isTokenValid(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
+    private final class KeyRingResolver extends SigningKeyResolverAdapter {
 
-    /**
-     * Extracts the subject only if the token is valid.
-     *
-     * @param token the JWT token
-     * @return the subject, or null if the token is invalid
-     */
-    public String getValidSubject(String token) {
-        return isTokenValid(token) ? extractSubject(token) : null;
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId() != null ? header.getKeyId() : DEFAULT_KEY_ID;
+            Key key = keyRing.keys().get(kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown signing key '" + kid + "'");
+            }
+            return key;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package secretstuffs.application.helpers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import secretstuffs.domain.dtos.exception.BusinessException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one load. The first caller for a scope and key runs the
+ * loader on its own thread; callers arriving while it runs wait for it and get the same result or
+ * the same exception. Nothing is kept once the load finishes, so a later caller loads again and sees
+ * fresh data. Waiting callers give up after {@code request-coalescing.wait-timeout-ms} with a 503
+ * rather than running their own query, which keeps the database at one query per key under load.
+ * Every caller gets the same instance, so loaders must return immutable values, not JPA entities.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final long waitTimeoutMillis;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(@Value("${request-coalescing.wait-timeout-ms}") long waitTimeoutMillis) {
+        if (waitTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Coalesced load wait timeout must be positive");
+        }
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * Runs the loader, or joins the load already running for the same scope and key.
+     *
+     * @param scope  the kind of load, keeping keys of different lookups apart
+     * @param key    identifies the loaded value within the scope
+     * @param loader the load to run if none is in flight
+     * @return the loaded value
+     * @throws BusinessException 503 if the load in flight did not finish within the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String scope, Object key, Supplier<T> loader) {
+        String flightKey = scope + ":" + key;
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, created);
+        if (existing == null) {
+            return run(flightKey, created, loader);
+        }
+        return (T) await(existing, scope);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private <T> T run(String flightKey, CompletableFuture<Object> flight, Supplier<T> loader) {
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight, String scope) {
+        try {
+            return flight.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw loadTimedOut(scope);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw loadTimedOut(scope);
+        }
+    }
+
+    private static BusinessException loadTimedOut(String scope) {
+        String message = "Loading the requested " + scope + " is taking too long. Please try again.";
+        return new BusinessException("LOAD_TIMEOUT", message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
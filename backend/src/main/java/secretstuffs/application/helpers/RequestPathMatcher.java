@@ -0,0 +1,39 @@
+package secretstuffs.application.helpers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Matches requests against path patterns the way Spring MVC maps them to handlers: segment by
+ * segment on the decoded path within the application, ignoring {@code ;} matrix parameters.
+ * Matching the raw request URI instead would let {@code /api/users/%69mport} or
+ * {@code /api/users/import;x=1} reach the handler of {@code /api/users/import} without matching it.
+ */
+public class RequestPathMatcher {
+
+    private final List<PathPattern> patterns;
+
+    /**
+     * @param patterns {@link PathPattern} syntax, e.g. {@code /api/users/delete/**}; blank entries are ignored
+     */
+    public RequestPathMatcher(List<String> patterns) {
+        this.patterns = patterns.stream()
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        PathContainer path = ServletRequestPathUtils.parseAndCache(request).pathWithinApplication();
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+}
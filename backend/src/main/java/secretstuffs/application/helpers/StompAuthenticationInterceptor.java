@@ -0,0 +1,38 @@
+package secretstuffs.application.helpers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization: Bearer} header of their CONNECT frame,
+ * since browsers cannot send headers on the WebSocket handshake. The caller becomes the session's
+ * user, which {@code /user/queue/...} subscriptions and {@code convertAndSendToUser} resolve against;
+ * an invalid token fails the CONNECT with an ERROR frame.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public StompAuthenticationInterceptor(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String token = JwtHelper.bearerToken(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION));
+            if (token != null) {
+                accessor.setUser(verifiedTokenCache.authenticate(token));
+            }
+        }
+        return message;
+    }
+}
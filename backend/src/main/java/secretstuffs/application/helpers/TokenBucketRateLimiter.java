@@ -0,0 +1,119 @@
+package secretstuffs.application.helpers;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket limiter keyed by an arbitrary string (client IP, email, ...).
+ * Buckets live in a fixed number of concurrent shards; each shard is bounded and evicts
+ * idle buckets once it grows past its share of {@code maxKeys}.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int SHARD_COUNT = 16;
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final int maxKeysPerShard;
+    private final LongSupplier clock;
+    private final Map<String, AtomicReference<Bucket>>[] shards;
+
+    public TokenBucketRateLimiter(long capacity, long windowMillis, int maxKeys) {
+        this(capacity, windowMillis, maxKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketRateLimiter(long capacity, long windowMillis, int maxKeys, LongSupplier clock) {
+        if (capacity <= 0 || windowMillis <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Rate limiter capacity, window and key limit must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, windowMillis * 1_000_000L / capacity);
+        this.maxKeysPerShard = Math.max(1, maxKeys / SHARD_COUNT);
+        this.clock = clock;
+        this.shards = new Map[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Takes one token from the bucket for the given key.
+     *
+     * @param key the caller identity
+     * @return 0 if the call is allowed, otherwise the number of milliseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        Map<String, AtomicReference<Bucket>> shard = shardFor(key);
+        AtomicReference<Bucket> ref = shard.get(key);
+        if (ref == null) {
+            evictIfFull(shard, now);
+            ref = shard.computeIfAbsent(key, k -> new AtomicReference<>(new Bucket(capacity, now)));
+        }
+
+        while (true) {
+            Bucket current = ref.get();
+            Bucket refilled = current.refill(now, capacity, nanosPerToken);
+            if (refilled.tokens <= 0) {
+                long waitNanos = nanosPerToken - (now - refilled.lastRefillNanos);
+                return Math.max(1, waitNanos / 1_000_000L);
+            }
+            Bucket taken = new Bucket(refilled.tokens - 1, refilled.lastRefillNanos);
+            if (ref.compareAndSet(current, taken)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<String, AtomicReference<Bucket>> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private Map<String, AtomicReference<Bucket>> shardFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return shards[hash & (SHARD_COUNT - 1)];
+    }
+
+    /**
+     * Drops buckets that have been idle long enough to be full again; they carry no state worth keeping.
+     * If the shard is still over its limit (many distinct keys in one window), the remaining
+     * entries are dropped in iteration order until it fits.
+     */
+    private void evictIfFull(Map<String, AtomicReference<Bucket>> shard, long now) {
+        if (shard.size() < maxKeysPerShard) {
+            return;
+        }
+        long fullRefillNanos = capacity * nanosPerToken;
+        shard.values().removeIf(ref -> now - ref.get().lastRefillNanos >= fullRefillNanos);
+
+        Iterator<String> keys = shard.keySet().iterator();
+        while (shard.size() >= maxKeysPerShard && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Bucket(long tokens, long lastRefillNanos) {
+
+        Bucket refill(long now, long capacity, long nanosPerToken) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed < nanosPerToken) {
+                return this;
+            }
+            long newTokens = elapsed / nanosPerToken;
+            if (tokens + newTokens >= capacity) {
+                return new Bucket(capacity, now);
+            }
+            return new Bucket(tokens + newTokens, lastRefillNanos + newTokens * nanosPerToken);
+        }
+    }
+}
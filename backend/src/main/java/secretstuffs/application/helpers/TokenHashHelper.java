@@ -0,0 +1,29 @@
+package secretstuffs.application.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashes opaque tokens before they are stored or looked up, so the database only ever
+ * holds fixed-size 32-byte digests instead of the raw values sent to users.
+ */
+public final class TokenHashHelper {
+
+    private TokenHashHelper() {
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given token.
+     *
+     * @param token the raw token
+     * @return the 32-byte digest
+     */
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package secretstuffs.application.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads users for a bulk import one line at a time, so files of any size are parsed in constant memory.
+ * CSV input needs a header row naming the columns {@code firstName}, {@code lastName}, {@code email},
+ * {@code password} and optionally {@code profileImageURL}; quoted fields may not span lines.
+ * NDJSON input holds one register request object per line.
+ */
+public class UserImportReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("ndjson")) {
+                return NDJSON;
+            }
+            return CSV;
+        }
+    }
+
+    /**
+     * One parsed line. Exactly one of {@code user} and {@code error} is set.
+     */
+    public record Row(int line, RegisterUserRequestDTO user, String error) {
+    }
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private int lineNumber;
+
+    public UserImportReader(Reader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next non-blank row, or null at the end of the input
+     * @throws IllegalArgumentException if the CSV header is missing a required column
+     */
+    public Row next() throws IOException {
+        if (format == Format.CSV && columns == null) {
+            readHeader();
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return format == Format.CSV ? parseCsvRow(line) : parseJsonRow(line);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty");
+        }
+        columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column " + column);
+            }
+        }
+    }
+
+    private Row parseCsvRow(String line) {
+        List<String> fields;
+        try {
+            fields = splitCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, null, e.getMessage());
+        }
+        RegisterUserRequestDTO user = new RegisterUserRequestDTO();
+        user.setFirstName(field(fields, "firstname"));
+        user.setLastName(field(fields, "lastname"));
+        user.setEmail(field(fields, "email"));
+        user.setPassword(field(fields, "password"));
+        user.setProfileImageURL(field(fields, "profileimageurl"));
+        return new Row(lineNumber, user, null);
+    }
+
+    private Row parseJsonRow(String line) {
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, RegisterUserRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
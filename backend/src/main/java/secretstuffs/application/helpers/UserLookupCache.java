@@ -0,0 +1,129 @@
+package secretstuffs.application.helpers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import secretstuffs.domain.entities.User;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of user lookups keyed by email and by id. Entries are immutable
+ * snapshots without the password hash, so they can be shared between requests; anything that
+ * changes a user has to load the entity itself and call {@link #evict(User)}.
+ */
+@Component
+public class UserLookupCache {
+
+    public record CachedUser(
+            Long id,
+            String email,
+            String firstName,
+            String lastName,
+            String profileImageURL,
+            boolean active
+    ) {
+        public static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getProfileImageURL(), user.isActive());
+        }
+    }
+
+    private final Cache<String, CachedUser> byEmail;
+    private final Cache<Long, CachedUser> byId;
+
+    public UserLookupCache(
+            @Value("${user-cache.max-size}") long maxSize,
+            @Value("${user-cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the cached user for the email, loading and caching it on a miss. Absent users are not cached.
+     *
+     * @param email  the user's email
+     * @param loader loads the user from the database
+     * @return the user, or empty if the loader found none
+     */
+    public Optional<CachedUser> getByEmail(String email, Supplier<Optional<User>> loader) {
+        CachedUser cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loader.get().map(this::put);
+    }
+
+    public Optional<CachedUser> getById(Long id, Supplier<Optional<User>> loader) {
+        CachedUser cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loader.get().map(this::put);
+    }
+
+    /**
+     * Drops the user from both indexes now and again once the surrounding transaction commits,
+     * so a concurrent reader cannot re-cache the pre-commit row.
+     *
+     * @param user the user being changed or deleted
+     */
+    public void evict(User user) {
+        evictNow(user.getEmail(), user.getId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            String email = user.getEmail();
+            Long id = user.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(email, id);
+                }
+            });
+        }
+    }
+
+    public long size() {
+        byEmail.cleanUp();
+        return byEmail.estimatedSize();
+    }
+
+    private CachedUser put(User user) {
+        CachedUser cachedUser = CachedUser.of(user);
+        if (cachedUser.email() != null) {
+            byEmail.put(cachedUser.email(), cachedUser);
+        }
+        if (cachedUser.id() != null) {
+            byId.put(cachedUser.id(), cachedUser);
+        }
+        return cachedUser;
+    }
+
+    private void evictNow(String email, Long id) {
+        if (email != null) {
+            CachedUser cached = byEmail.getIfPresent(email);
+            byEmail.invalidate(email);
+            if (cached != null && cached.id() != null) {
+                byId.invalidate(cached.id());
+            }
+        }
+        if (id != null) {
+            CachedUser cached = byId.getIfPresent(id);
+            byId.invalidate(id);
+            if (cached != null) {
+                byEmail.invalidate(cached.email());
+            }
+        }
+    }
+}
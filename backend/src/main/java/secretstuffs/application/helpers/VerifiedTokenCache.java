@@ -0,0 +1,88 @@
+package secretstuffs.application.helpers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import secretstuffs.application.services.TokenRevocationList;
+import secretstuffs.domain.dtos.exception.UserException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of verified bearer tokens, so a client sending the same token on every request pays
+ * for the HMAC check and claim parsing once. Each entry expires together with its token, and all
+ * entries are dropped when a signing key is retired. Revocation is checked on every call, cached or not.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtHelper jwtHelper;
+    private final TokenRevocationList tokenRevocationList;
+    private final Cache<String, AuthenticatedUser> verified;
+    private volatile long keyRetirements;
+
+    public VerifiedTokenCache(
+            JwtHelper jwtHelper,
+            TokenRevocationList tokenRevocationList,
+            @Value("${jwt.verified-cache.max-size}") long maxSize
+    ) {
+        this.jwtHelper = jwtHelper;
+        this.tokenRevocationList = tokenRevocationList;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
+    }
+
+    /**
+     * @param token the bearer token
+     * @return the caller the token was issued to
+     * @throws UserException 401 if the token is malformed, forged, expired or revoked, or was issued
+     *                       before the account was verified
+     */
+    public AuthenticatedUser authenticate(String token) {
+        long retirements = jwtHelper.keyRetirements();
+        if (retirements != keyRetirements) {
+            verified.invalidateAll();
+            keyRetirements = retirements;
+        }
+        AuthenticatedUser user = verified.get(token, this::verify);
+        if (tokenRevocationList.isRevoked(user)) {
+            throw UserException.unauthenticated();
+        }
+        // Registration hands out a token before the email is verified; logging in gives an active one
+        if (!user.active()) {
+            throw UserException.userNotVerified();
+        }
+        return user;
+    }
+
+    private AuthenticatedUser verify(String token) {
+        try {
+            return jwtHelper.verify(token);
+        } catch (IllegalArgumentException e) {
+            throw UserException.unauthenticated();
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(String token, AuthenticatedUser user, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), user.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package secretstuffs.application.helpers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically by blocking inside a
+ * {@code synchronized} block or a native call, for longer than {@code virtual-threads.pinning-monitor.threshold-ms}.
+ * Pinned time feeds the {@code jvm.threads.virtual.pinned} timer. The first time a call site pins it is
+ * logged at WARN with its stack, later hits are counted and logged at DEBUG. Runs only while virtual
+ * threads are enabled, on the JFR event stream of this JVM.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_TRACKED_CALL_SITES = 1_000;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Map<String, AtomicLong> pinsByCallSite = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            @Value("${virtual-threads.pinning-monitor.enabled}") boolean monitorEnabled,
+            @Value("${virtual-threads.pinning-monitor.threshold-ms}") long thresholdMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = virtualThreads && monitorEnabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier beyond the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @return how often each call site pinned, keyed by the top frames of its stack
+     */
+    public Map<String, Long> pinsByCallSite() {
+        return pinsByCallSite.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        String stack = describe(event.getStackTrace());
+        AtomicLong hits = pinsByCallSite.get(stack);
+        if (hits == null && pinsByCallSite.size() < MAX_TRACKED_CALL_SITES) {
+            hits = pinsByCallSite.computeIfAbsent(stack, key -> new AtomicLong());
+        }
+        long count = hits == null ? 0 : hits.incrementAndGet();
+        if (count == 1) {
+            logger.warn("Virtual thread {} pinned its carrier for {} ms at\n{}", threadName(event),
+                    event.getDuration().toMillis(), stack);
+        } else {
+            logger.debug("Virtual thread {} pinned its carrier for {} ms at {}", threadName(event),
+                    event.getDuration().toMillis(), firstLine(stack));
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\tat <no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+
+    private static String threadName(RecordedEvent event) {
+        return event.getThread() == null ? "?" : event.getThread().getJavaName();
+    }
+
+    private static String firstLine(String stack) {
+        int newline = stack.indexOf('\n');
+        return (newline < 0 ? stack : stack.substring(0, newline)).trim();
+    }
+}
@@ -0,0 +1,52 @@
+package secretstuffs.application.helpers;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the STOMP session statistics Spring keeps anyway: open sessions per transport as gauges
+ * and sessions closed for an abnormal reason as counters. Queue depth and active threads of the
+ * inbound, outbound and broker channels come from the executor metrics Spring Boot binds for every
+ * task executor bean.
+ */
+public class WebSocketSessionMetrics implements MeterBinder {
+
+    private final SubProtocolWebSocketHandler.Stats stats;
+
+    public WebSocketSessionMetrics(SubProtocolWebSocketHandler handler) {
+        this.stats = handler.getStats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        openSessions(registry, "websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+        openSessions(registry, "http_streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+        openSessions(registry, "http_polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+
+        closedSessions(registry, "limit_exceeded", SubProtocolWebSocketHandler.Stats::getLimitExceededSessions);
+        closedSessions(registry, "no_messages_received",
+                SubProtocolWebSocketHandler.Stats::getNoMessagesReceivedSessions);
+        closedSessions(registry, "transport_error", SubProtocolWebSocketHandler.Stats::getTransportErrorSessions);
+    }
+
+    private void openSessions(MeterRegistry registry, String transport,
+                              ToDoubleFunction<SubProtocolWebSocketHandler.Stats> value) {
+        Gauge.builder("websocket.sessions", stats, value)
+                .description("Open STOMP sessions")
+                .tag("transport", transport)
+                .register(registry);
+    }
+
+    private void closedSessions(MeterRegistry registry, String reason,
+                                ToDoubleFunction<SubProtocolWebSocketHandler.Stats> value) {
+        FunctionCounter.builder("websocket.sessions.closed", stats, value)
+                .description("STOMP sessions closed abnormally")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
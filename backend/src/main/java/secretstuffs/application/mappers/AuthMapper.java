@@ -0,0 +1,31 @@
+package secretstuffs.application.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import secretstuffs.domain.dtos.commands.auth.LoginUserCommand;
+import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.models.requests.auth.LoginUserRequestDTO;
+import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
+
+/**
+ * Maps login and registration requests to their commands, and a registration to a new {@link User}.
+ * The implementation is generated at compile time.
+ */
+@Mapper(componentModel = "spring")
+public interface AuthMapper {
+
+    LoginUserCommand toCommand(LoginUserRequestDTO dto);
+
+    RegisterUserCommand toCommand(RegisterUserRequestDTO dto);
+
+    /**
+     * @return an inactive user holding the already encrypted password, never the raw one
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", source = "encryptedPassword")
+    @Mapping(target = "active", constant = "false")
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    User toEntity(RegisterUserCommand command, String encryptedPassword);
+}
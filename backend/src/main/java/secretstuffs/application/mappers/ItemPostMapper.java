@@ -0,0 +1,29 @@
+package secretstuffs.application.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
+import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
+import secretstuffs.domain.entities.ItemPost;
+import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
+import secretstuffs.domain.models.requests.itempost.UpdateItemPostRequestDTO;
+
+/**
+ * Maps item post requests to their commands and a create command to a new {@link ItemPost}.
+ * Condition and category arrive as strings already checked by {@code @EnumValidator} and are
+ * converted by enum name. The implementation is generated at compile time.
+ */
+@Mapper(componentModel = "spring")
+public interface ItemPostMapper {
+
+    @Mapping(target = "itemPostUrl", source = "itemPostImageUrl")
+    CreateItemPostCommand toCommand(CreateItemPostRequestDTO dto);
+
+    UpdateItemPostCommand toCommand(UpdateItemPostRequestDTO dto, Long id);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "itemPostImageUrl", source = "itemPostUrl")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ItemPost toEntity(CreateItemPostCommand command);
+}
@@ -0,0 +1,14 @@
+package secretstuffs.application.mappers;
+
+import org.mapstruct.Mapper;
+import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
+import secretstuffs.domain.models.requests.user.UpdateUserRequestDTO;
+
+/**
+ * Maps user requests to their commands. The implementation is generated at compile time.
+ */
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    UpdateUserDetailsCommand toCommand(UpdateUserRequestDTO dto, String email);
+}
@@ -1,10 +1,17 @@
 package secretstuffs.application.services;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import secretstuffs.application.helpers.JwtHelper;
 import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.TokenHashHelper;
+import secretstuffs.application.helpers.UserLookupCache;
+import secretstuffs.application.helpers.UserLookupCache.CachedUser;
+import secretstuffs.application.mappers.AuthMapper;
 import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
 import secretstuffs.domain.dtos.exception.UserException;
 import secretstuffs.domain.entities.User;
@@ -15,8 +22,11 @@ import secretstuffs.domain.models.responses.ApiResponseDTO;
 import secretstuffs.infrastructure.repositories.UserRepository;
 import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -27,46 +37,85 @@ public class AuthService {
     private final JwtHelper jwtHelper;
     private final EmailService emailService;
     private final VerificationTokenRepository verificationTokenRepository;
-    private static final long TOKEN_EXPIRATION_TIME_MS = 3600L * 1000;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AuthMapper authMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final UserLookupCache userLookupCache;
+    private final Duration accessTokenTtl;
 
     public AuthService(
             UserRepository userRepository,
             AuthHelper authHelper,
             JwtHelper jwtHelper,
             EmailService emailService,
-            VerificationTokenRepository verificationTokenRepository
+            VerificationTokenRepository verificationTokenRepository,
+            RegisteredEmailFilter registeredEmailFilter,
+            AuthMapper authMapper,
+            RefreshTokenService refreshTokenService,
+            UserLookupCache userLookupCache,
+            @Value("${auth.access-token.ttl-seconds}") long accessTokenTtlSeconds
     ) {
         this.userRepository = userRepository;
         this.authHelper = authHelper;
         this.jwtHelper = jwtHelper;
         this.emailService = emailService;
         this.verificationTokenRepository = verificationTokenRepository;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.authMapper = authMapper;
+        this.refreshTokenService = refreshTokenService;
+        this.userLookupCache = userLookupCache;
+        this.accessTokenTtl = Duration.ofSeconds(accessTokenTtlSeconds);
     }
 
     public LoginUserResponseDTO authenticateUser(String email, String password) {
         User user = findUserByEmail(email);
         validateUserIsActive(user);
         validatePassword(password, user.getPassword());
-        return buildLoginResponse(user);
+        return buildLoginResponse(CachedUser.of(user), refreshTokenService.startSession(user.getId()));
     }
 
+    /**
+     * Exchanges a refresh token for a new access token and refresh token of the same session.
+     *
+     * @throws UserException 401 if the refresh token is not valid or the account was deactivated
+     */
+    public LoginUserResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Session session = refreshTokenService.rotate(refreshToken);
+        CachedUser user = userLookupCache.getById(session.userId(), () -> userRepository.loadById(session.userId()))
+                .filter(CachedUser::active)
+                .orElse(null);
+        if (user == null) {
+            refreshTokenService.endSession(session.refreshToken());
+            throw UserException.invalidRefreshToken();
+        }
+        return buildLoginResponse(user, session);
+    }
+
+    /**
+     * Ends the session of the refresh token and revokes its access tokens. Unknown tokens are ignored.
+     */
+    public void logout(String refreshToken) {
+        refreshTokenService.endSession(refreshToken);
+    }
+
+    @Transactional
     public RegisterUserResponseDTO registerUser(RegisterUserCommand command) {
         ensureEmailIsUnique(command.getEmail());
         String encryptedPassword = authHelper.encryptPassword(command.getPassword());
         User user = createUser(command, encryptedPassword);
+        // Still inside the transaction on purpose: a rollback leaves only a harmless false positive
+        registeredEmailFilter.add(user.getEmail());
         return buildRegisterResponse(user);
     }
 
     private User createUser(RegisterUserCommand command, String encryptedPassword) {
-        User.UserBuilder user = User.builder();
-        user.firstName(command.getFirstName());
-        user.lastName(command.getLastName());
-        user.email(command.getEmail());
-        user.password(encryptedPassword);
-        user.profileImageURL(command.getProfileImageURL());
-        user.active(false);
-
-        return userRepository.save(user.build());
+        User user = authMapper.toEntity(command, encryptedPassword);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // The filter is per instance, so a concurrent or remote registration can still hit the unique key
+            throw UserException.emailAlreadyTaken();
+        }
     }
 
     private User findUserByEmail(String email) {
@@ -87,53 +136,69 @@ public class AuthService {
     }
 
     private void ensureEmailIsUnique(String email) {
-        if (userRepository.findByEmail(email).isPresent()) {
+        if (registeredEmailFilter.mightExist(email) && userRepository.existsByEmail(email)) {
             throw UserException.emailAlreadyTaken();
         }
     }
 
-    private LoginUserResponseDTO buildLoginResponse(User user) {
-        String token = jwtHelper.generateToken(user.getEmail());
-        long expiresAt = calculateExpirationTime();
+    private LoginUserResponseDTO buildLoginResponse(CachedUser user, RefreshTokenService.Session session) {
+        Instant expiresAt = accessTokenExpiry();
+        String token = issueToken(user, session.sessionId(), expiresAt);
         return LoginUserResponseDTO.builder()
                 .token(token)
-                .expiresAt(expiresAt)
-                .email(user.getEmail())
-                .id(user.getId())
+                .refreshToken(session.refreshToken())
+                .expiresAt(expiresAt.toEpochMilli())
+                .email(user.email())
+                .id(user.id())
                 .build();
     }
 
+    // The claims let requests be authenticated and checked for revocation without loading the user
+    private String issueToken(CachedUser user, String sessionId, Instant expiresAt) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtHelper.CLAIM_USER_ID, user.id());
+        claims.put(JwtHelper.CLAIM_ACTIVE, user.active());
+        if (sessionId != null) {
+            claims.put(JwtHelper.CLAIM_SESSION_ID, sessionId);
+        }
+        return jwtHelper.generateAccessToken(claims, user.email(), expiresAt);
+    }
+
+    // No session yet: the account must be verified before it can log in and refresh
     private RegisterUserResponseDTO buildRegisterResponse(User user) {
-        String token = jwtHelper.generateToken(user.getEmail());
-        long expiresAt = calculateExpirationTime();
+        Instant expiresAt = accessTokenExpiry();
+        String token = issueToken(CachedUser.of(user), null, expiresAt);
         RegisterUserResponseDTO.RegisterUserResponseDTOBuilder builder = RegisterUserResponseDTO.builder();
         builder.email(user.getEmail());
         builder.profileImageURL(user.getProfileImageURL());
         builder.active(user.isActive());
         builder.token(token);
-        builder.expiresAt(expiresAt);
+        builder.expiresAt(expiresAt.toEpochMilli());
         return builder.build();
     }
 
-    private long calculateExpirationTime() {
-        return Instant.now().toEpochMilli() + TOKEN_EXPIRATION_TIME_MS;
+    private Instant accessTokenExpiry() {
+        return Instant.now().plus(accessTokenTtl);
     }
 
     public ApiResponseDTO<String> forgotPassword(String email) {
+        String rawToken = UUID.randomUUID().toString();
         VerificationToken token = new VerificationToken();
-        token.setToken(UUID.randomUUID().toString());
+        token.setTokenHash(TokenHashHelper.sha256(rawToken));
         token.setUserEmail(email);
         token.setExpiryDate(LocalDateTime.now().plusHours(1));
-        verificationTokenRepository.save(token);
+        // Only the latest reset link stays valid, so each email holds at most one token row
+        verificationTokenRepository.replaceAllByUserEmail(token);
         ServletUriComponentsBuilder servletBuilder = ServletUriComponentsBuilder.fromCurrentContextPath();
         servletBuilder.path("/reset-password/");
-        servletBuilder.path(token.getToken());
+        servletBuilder.path(rawToken);
         emailService.sendForgotPasswordEmail(email, servletBuilder.toUriString());
         return new ApiResponseDTO<>("Password reset email sent!", HttpStatus.OK.value(), "Success");
     }
 
+    @Transactional
     public ApiResponseDTO<String> resetPassword(String token, String newPassword) {
-        VerificationToken verificationToken = verificationTokenRepository.findByToken(token)
+        VerificationToken verificationToken = verificationTokenRepository.findByTokenHash(TokenHashHelper.sha256(token))
                 .orElseThrow(UserException::invalidToken);
         if (verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
             throw UserException.expiredToken();
@@ -142,6 +207,8 @@ public class AuthService {
         user.setPassword(authHelper.encryptPassword(newPassword));
         userRepository.save(user);
         verificationTokenRepository.delete(verificationToken);
+        // Whoever knew the old password may still hold a session
+        refreshTokenService.endAllSessions(user.getId());
         return new ApiResponseDTO<>("Password successfully reset.", HttpStatus.OK.value(), "Success");
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package secretstuffs.application.services;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.ChatMessage;
 import secretstuffs.infrastructure.repositories.ChatMessageRepository;
 
@@ -15,6 +16,7 @@ public class ChatMessageService {
     private final ChatMessageRepository repository;
     private final ChatRoomService chatRoomService;
 
+    @Transactional
     public ChatMessage save(ChatMessage chatMessage) {
         var chatId = chatRoomService
                 .getChatRoomId(chatMessage.getSenderId(), chatMessage.getRecipientId(), true)
@@ -25,8 +27,9 @@ public class ChatMessageService {
         return chatMessage;
     }
 
+    @Transactional(readOnly = true)
     public List<ChatMessage> findChatMessages(String senderId, String recipientId) {
         var chatId = chatRoomService.getChatRoomId(senderId, recipientId, false);
-        return chatId.map(repository::findByChatId).orElse(new ArrayList<>());
+        return chatId.map(repository::findByChatIdOrderByTimestamp).orElse(new ArrayList<>());
     }
 }
@@ -0,0 +1,73 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import secretstuffs.domain.dtos.commands.donation.DonationNotification;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pushes donation status changes to the affected requesters over the STOMP broker once the
+ * transaction that made them has committed. Clients connect with their bearer token and subscribe to
+ * {@code /user/queue/donations}, which only ever carries their own updates.
+ */
+@Service
+public class DonationNotificationService {
+
+    static final String DESTINATION = "/queue/donations";
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationNotificationService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public DonationNotificationService(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Sends one notification per affected user. Changes are coalesced by user so a user whose donation
+     * changed more than once in the transaction only receives its final status.
+     *
+     * @param event the committed changes
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        Map<String, DonationNotification> notifications = new LinkedHashMap<>();
+        for (DonationStatusChange change : event.changes()) {
+            if (change.userEmail() == null) {
+                continue;
+            }
+            notifications.merge(change.userEmail(), toNotification(event, change), (first, latest) -> {
+                latest.setPreviousStatus(first.getPreviousStatus());
+                return latest;
+            });
+        }
+
+        notifications.forEach((email, notification) -> {
+            try {
+                messagingTemplate.convertAndSendToUser(email, DESTINATION, notification);
+            } catch (MessagingException e) {
+                logger.warn("Failed to push donation {} update to {}: {}", notification.getDonationId(), email, e.getMessage());
+            }
+        });
+        logger.info("Pushed {} donation notifications for item post {}", notifications.size(), event.itemPostId());
+    }
+
+    private DonationNotification toNotification(DonationStatusChangedEvent event, DonationStatusChange change) {
+        return DonationNotification.builder()
+                .donationId(change.donationId())
+                .itemPostId(event.itemPostId())
+                .previousStatus(change.previousStatus())
+                .status(change.newStatus())
+                .itemPostClosed(event.itemPostClosed())
+                .build();
+    }
+}
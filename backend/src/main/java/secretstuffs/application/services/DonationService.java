@@ -1,66 +1,203 @@
 package secretstuffs.application.services;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.DonationException;
 import secretstuffs.domain.entities.Donation;
+import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+import secretstuffs.domain.models.responses.donation.DonationSummaryDTO;
 import secretstuffs.infrastructure.repositories.DonationRepository;
+import secretstuffs.infrastructure.repositories.ItemPostRepository;
 
 @Service
 public class DonationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DonationService.class);
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DonationRepository donationRepository;
+    private final ItemPostRepository itemPostRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserStatsService userStatsService;
 
-    public DonationService(DonationRepository donationRepository) {
+    public DonationService(
+            DonationRepository donationRepository,
+            ItemPostRepository itemPostRepository,
+            ApplicationEventPublisher eventPublisher,
+            UserStatsService userStatsService
+    ) {
         this.donationRepository = donationRepository;
+        this.itemPostRepository = itemPostRepository;
+        this.eventPublisher = eventPublisher;
+        this.userStatsService = userStatsService;
     }
 
-    public Optional<Donation> getDonationById(Long id) {
-        return donationRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<DonationSummaryDTO> getDonationById(Long id) {
+        return donationRepository.findSummaryById(id);
     }
 
-    public Donation save(Donation donation) {
-        validateDonation(donation);
-        checkForDuplicateDonation(donation);
-        return donationRepository.save(donation);
+    /**
+     * Creates a pending donation request in one statement. Existence of the user and item post is
+     * enforced by the foreign keys and duplicates by the unique (user_id, item_post_id) constraint,
+     * so no lookups run before the insert.
+     *
+     * @param userId     the requesting user
+     * @param itemPostId the requested item post
+     * @return the id of the new donation
+     * @throws DonationException 404 if the user or item post does not exist, 409 if the request already exists
+     */
+    public Long create(Long userId, Long itemPostId) {
+        if (userId == null || itemPostId == null) {
+            throw new IllegalArgumentException("Donation must have a valid user and item post ID");
+        }
+        Long donationId;
+        try {
+            donationId = donationRepository.insertIfAbsent(userId, itemPostId, LocalDateTime.now())
+                    .orElseThrow(() -> DonationException.alreadyExists(userId, itemPostId));
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())) {
+                throw DonationException.userOrItemPostNotFound();
+            }
+            throw e;
+        }
+        userStatsService.donationRequested(userId);
+        return donationId;
     }
 
-    public Donation donate(Long userId, Long itemPostId) {
-        Donation donation = donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId).orElse(null);
-        if (donation == null) {
-            throw new IllegalArgumentException("Donation not found");
+    /**
+     * Accepts the donation of the item post to the given user. All other pending donations for
+     * the item are rejected with one bulk update and the item post is deactivated.
+     * No lock is taken up front: the item post is closed first with a versioned update, so when
+     * two acceptances race for the same item the loser fails its optimistic check and the
+     * request is answered with a conflict.
+     *
+     * @param userId      the user the item is donated to
+     * @param itemPostId  the donated item post
+     * @param callerEmail the caller, who must own the item post
+     * @return the accepted donation
+     * @throws DonationException 403 if the caller does not own the item post
+     */
+    @Transactional
+    public Donation donate(Long userId, Long itemPostId, String callerEmail) {
+        ItemPost itemPost = findOwnedItemPost(itemPostId, callerEmail);
+        Donation donation = findDonation(userId, itemPostId);
+        if (itemPost.getStatus() != ItemPostStatusEnum.ACTIVE) {
+            throw DonationException.itemPostNotActive(itemPostId);
         }
-        donation.setStatus(DonationEnum.ACCEPTED);
-        return donationRepository.save(donation);
+
+        List<DonationStatusChange> changes = new ArrayList<>();
+        changes.add(transition(donation, DonationEnum.ACCEPTED));
+        itemPost.setStatus(ItemPostStatusEnum.INACTIVE);
+        itemPostRepository.saveAndFlush(itemPost);
+        changes.addAll(rejectSiblings(itemPostId, donation.getId()));
+
+        Donation accepted = donationRepository.save(donation);
+        logger.info("Donation {} accepted for item post {}, {} sibling donations rejected",
+                donation.getId(), itemPostId, changes.size() - 1);
+        eventPublisher.publishEvent(new DonationStatusChangedEvent(itemPostId, itemPost.getEmail(), true, changes));
+        return accepted;
     }
 
-    public List<Donation> getDonationsByUserId(Long userId) {
-        return donationRepository.findByUser_Id(userId);
+    /**
+     * Rejects a single pending donation. The item post stays open for other requests.
+     * A concurrent acceptance that rejected this donation bumps its version, so this update fails.
+     *
+     * @param userId      the user whose request is rejected
+     * @param itemPostId  the item post the request was made for
+     * @param callerEmail the caller, who must own the item post
+     * @return the rejected donation
+     * @throws DonationException 403 if the caller does not own the item post
+     */
+    @Transactional
+    public Donation reject(Long userId, Long itemPostId, String callerEmail) {
+        ItemPost itemPost = findOwnedItemPost(itemPostId, callerEmail);
+        Donation donation = findDonation(userId, itemPostId);
+
+        DonationStatusChange change = transition(donation, DonationEnum.REJECTED);
+        Donation rejected = donationRepository.save(donation);
+        eventPublisher.publishEvent(
+                new DonationStatusChangedEvent(itemPostId, itemPost.getEmail(), false, List.of(change)));
+        return rejected;
     }
 
-    public List<Donation> getDonationsByItemPostId(Long itemPostId) {
-        return donationRepository.findByItemPost_Id(itemPostId);
+    @Transactional(readOnly = true)
+    public List<DonationSummaryDTO> getDonationsByUserId(Long userId, int page, int size) {
+        return donationRepository.findSummariesByUserId(userId, pageRequest(page, size));
     }
 
-    private void validateDonation(Donation donation) {
-        if (donation == null) {
-            throw new IllegalArgumentException("Donation cannot be null");
-        }
-        if (donation.getUser() == null || donation.getUser().getId() == null) {
-            throw new IllegalArgumentException("Donation must have a valid user with an ID");
+    @Transactional(readOnly = true)
+    public List<DonationSummaryDTO> getDonationsByItemPostId(Long itemPostId, int page, int size) {
+        return donationRepository.findSummariesByItemPostId(itemPostId, pageRequest(page, size));
+    }
+
+    private PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    private ItemPost findOwnedItemPost(Long itemPostId, String callerEmail) {
+        ItemPost itemPost = itemPostRepository.findById(itemPostId)
+                .orElseThrow(() -> new BusinessException("ERR_404", "Item post not found", HttpStatus.NOT_FOUND));
+        if (callerEmail == null || !callerEmail.equalsIgnoreCase(itemPost.getEmail())) {
+            throw DonationException.notItemPostOwner(itemPostId);
         }
-        if (donation.getItemPost() == null || donation.getItemPost().getId() == null) {
-            throw new IllegalArgumentException("Donation must have a valid item post with an ID");
+        return itemPost;
+    }
+
+    private Donation findDonation(Long userId, Long itemPostId) {
+        return donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId)
+                .orElseThrow(() -> new IllegalArgumentException("Donation not found"));
+    }
+
+    private DonationStatusChange transition(Donation donation, DonationEnum target) {
+        DonationEnum current = donation.getStatus();
+        if (!current.canTransitionTo(target)) {
+            throw DonationException.invalidStatusTransition(current, target);
         }
+        donation.setStatus(target);
+        return new DonationStatusChange(
+                donation.getId(),
+                donation.getUser().getId(),
+                donation.getUser().getEmail(),
+                current,
+                target
+        );
     }
 
-    private void checkForDuplicateDonation(Donation donation) {
-        Long userId = donation.getUser().getId();
-        Long itemPostId = donation.getItemPost().getId();
-        boolean exists = donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId).isPresent();
-        if (exists) {
-            throw new IllegalArgumentException("A donation already exists for this user and item post");
+    private List<DonationStatusChange> rejectSiblings(Long itemPostId, Long acceptedDonationId) {
+        List<DonationRepository.DonationUserView> siblings = donationRepository.findByItemPostAndStatusExcluding(
+                itemPostId, DonationEnum.PENDING, acceptedDonationId);
+        if (siblings.isEmpty()) {
+            return List.of();
         }
+        donationRepository.updateStatusByItemPostExcluding(
+                itemPostId, DonationEnum.PENDING, DonationEnum.REJECTED, acceptedDonationId, LocalDateTime.now());
+        return siblings.stream()
+                .map(sibling -> new DonationStatusChange(
+                        sibling.getId(),
+                        sibling.getUserId(),
+                        sibling.getUserEmail(),
+                        DonationEnum.PENDING,
+                        DonationEnum.REJECTED))
+                .toList();
     }
-}
\ No newline at end of file
+}
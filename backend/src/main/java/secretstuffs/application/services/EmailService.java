@@ -1,5 +1,6 @@
 package secretstuffs.application.services;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
 
+    @Timed(value = "email.send", extraTags = {"template", "verification"})
     public void sendVerificationEmail(String recipientEmail, String verificationLink) {
         try {
             String stringifiedTemplate = loadEmailTemplate("Templates/verification-email.html");
@@ -30,6 +32,7 @@ public class EmailService {
         }
     }
 
+    @Timed(value = "email.send", extraTags = {"template", "forgot_password"})
     public void sendForgotPasswordEmail(String recipientEmail, String resetLink) {
         try {
             String emailContent = loadEmailTemplate("Templates/forgot-password-email.html")
@@ -3,11 +3,15 @@ package secretstuffs.application.services;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.application.helpers.RequestCoalescer;
+import secretstuffs.application.mappers.ItemPostMapper;
 import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
 import secretstuffs.domain.dtos.exception.BusinessException;
 import secretstuffs.domain.models.responses.itemPost.CreateItemPostResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 import secretstuffs.infrastructure.repositories.ItemPostRepository;
 import secretstuffs.infrastructure.repositories.UserRepository;
 import secretstuffs.domain.entities.ItemPost;
@@ -22,33 +26,50 @@ public class ItemPostService {
 
     private final ItemPostRepository itemPostRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final ItemPostMapper itemPostMapper;
+    private final RequestCoalescer requestCoalescer;
 
     public ItemPostService(
             ItemPostRepository itemPostRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            UserStatsService userStatsService,
+            ItemPostMapper itemPostMapper,
+            RequestCoalescer requestCoalescer
     ) {
         this.itemPostRepository = itemPostRepository;
         this.userRepository = userRepository;
+        this.userStatsService = userStatsService;
+        this.itemPostMapper = itemPostMapper;
+        this.requestCoalescer = requestCoalescer;
     }
 
-    public ItemPost getItemById(Long id) throws BusinessException {
+    @Transactional(readOnly = true)
+    public ItemPostDetailsDTO getItemById(Long id) throws BusinessException {
         if(id < 0) {
             throw new BusinessException("ERR_400", String.format("Invalid item id: %d", id), HttpStatus.BAD_REQUEST);
         }
-        Optional<ItemPost> response = this.itemPostRepository.findById(id);
-        if(response.isEmpty()) {
-            throw new BusinessException("ERR_404", String.format("Item with ID: %d not found", id), HttpStatus.NOT_FOUND);
-        }
-        return response.get();
+        // Concurrent requests for the same post share one query and its result, including a 404. They
+        // share an immutable DTO mapped by the loader, never the entity, which is managed by the loader's session
+        return requestCoalescer.load("item", id, () -> {
+            Optional<ItemPost> response = this.itemPostRepository.findById(id);
+            if(response.isEmpty()) {
+                throw new BusinessException("ERR_404", String.format("Item with ID: %d not found", id), HttpStatus.NOT_FOUND);
+            }
+            return ItemPostDetailsDTO.from(response.get());
+        });
     }
 
+    @Transactional
     public CreateItemPostResponseDTO createItem(CreateItemPostCommand command) {
         validateUserExists(command.getEmail());
-        ItemPost newItemPost = toEntity(command);
+        ItemPost newItemPost = itemPostMapper.toEntity(command);
         itemPostRepository.save(newItemPost);
+        userStatsService.postCreated(newItemPost.getEmail());
         return buildCreateItemPostResponse(newItemPost);
     }
 
+    @Transactional(readOnly = true)
     public List<FetchItemPostResponseDTO> getAllPostsByEmail(String email) {
         List<ItemPost> posts = itemPostRepository.findAllByEmail(email);
         Stream<ItemPost> stream = posts.stream();
@@ -56,6 +77,7 @@ public class ItemPostService {
         return responseStream.toList();
     }
 
+    @Transactional(readOnly = true)
     public List<FetchItemPostResponseDTO> getAllPosts() {
         List<ItemPost> posts = itemPostRepository.findAll();
         return posts.stream()
@@ -63,6 +85,7 @@ public class ItemPostService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<FetchItemPostResponseDTO> getAllActivePosts() {
         List<ItemPost> posts = itemPostRepository.findAllByStatus(ItemPostStatusEnum.ACTIVE);
         return posts.stream()
@@ -70,13 +93,17 @@ public class ItemPostService {
                 .toList();
     }
 
+    @Transactional
     public void deleteItemPost(Long id) {
-        validateItemPostExists(id);
-        itemPostRepository.deleteById(id);
+        ItemPost itemPost = itemPostRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item post not found with id: " + id));
+        itemPostRepository.delete(itemPost);
+        userStatsService.postDeleted(itemPost.getEmail(), itemPost.getStatus());
     }
 
+    // Not short-circuited by RegisteredEmailFilter: it is per instance, so it can miss a user registered elsewhere
     private void validateUserExists(String email) {
-        if (userRepository.findByEmail(email).isEmpty()) {
+        if (!userRepository.existsByEmail(email)) {
             throw new BusinessException(
                     "USER_NOT_FOUND",
                     "User with email " + email + " not found",
@@ -91,18 +118,6 @@ public class ItemPostService {
         }
     }
 
-    private ItemPost toEntity(CreateItemPostCommand command) {
-         ItemPost.ItemPostBuilder itemPostBuilder = ItemPost.builder();
-        itemPostBuilder.email(command.getEmail());
-        itemPostBuilder.title(command.getTitle());
-        itemPostBuilder.description(command.getDescription());
-        itemPostBuilder.address(command.getAddress());
-        itemPostBuilder.itemPostImageUrl(command.getItemPostUrl());
-        itemPostBuilder.condition(command.getCondition());
-        itemPostBuilder.category(command.getCategory());
-        return itemPostBuilder.build();
-    }
-
     private CreateItemPostResponseDTO buildCreateItemPostResponse(ItemPost post) {
         CreateItemPostResponseDTO.CreateItemPostResponseDTOBuilder builder = CreateItemPostResponseDTO.builder();
         builder.email(post.getEmail());
@@ -128,6 +143,7 @@ public class ItemPostService {
         return builder.build();
     }
 
+    @Transactional
     public UpdateItemPostCommand updateItemPost(UpdateItemPostCommand command) throws BusinessException {
         validateItemPostExists(command.getId());
         Optional<ItemPost> optionalExistingItemPost = itemPostRepository.findById(command.getId());
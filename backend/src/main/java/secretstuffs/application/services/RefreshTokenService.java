@@ -0,0 +1,154 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.application.helpers.TokenHashHelper;
+import secretstuffs.domain.dtos.exception.UserException;
+import secretstuffs.domain.entities.RefreshToken;
+import secretstuffs.infrastructure.repositories.RefreshTokenRepository;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens. A login starts a session; each refresh exchanges the presented token
+ * for a new one of the same session, and the old one is kept, marked rotated, until it expires.
+ * Presenting a rotated token again means it was copied, or replayed by a client, so the whole
+ * session is ended and its access tokens are revoked. Only SHA-256 digests of the tokens are stored.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final Duration ttl;
+    private final int batchSize;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationList tokenRevocationList,
+            @Value("${auth.refresh-token.ttl-seconds}") long ttlSeconds,
+            @Value("${auth.refresh-token.sweep.batch-size}") int batchSize
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * A session and the refresh token the client presents next.
+     */
+    public record Session(String sessionId, Long userId, String refreshToken) {
+    }
+
+    @Transactional
+    public Session startSession(Long userId) {
+        String sessionId = UUID.randomUUID().toString();
+        return new Session(sessionId, userId, issue(userId, sessionId));
+    }
+
+    /**
+     * Exchanges a refresh token for a new one of the same session.
+     *
+     * @param refreshToken the token the client holds
+     * @return the session with its new refresh token
+     * @throws UserException 401 if the token is unknown, expired or was already exchanged
+     */
+    @Transactional(noRollbackFor = UserException.class)
+    public Session rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenHashHelper.sha256(refreshToken))
+                .orElseThrow(UserException::invalidRefreshToken);
+        if (current.isExpired()) {
+            throw UserException.invalidRefreshToken();
+        }
+        if (current.getRotatedAt() != null
+                || refreshTokenRepository.markRotated(current.getId(), LocalDateTime.now()) == 0) {
+            logger.warn("Refresh token of session {} was presented twice, ending the session", current.getSessionId());
+            revokeSession(current.getSessionId());
+            throw UserException.invalidRefreshToken();
+        }
+        return new Session(current.getSessionId(), current.getUserId(),
+                issue(current.getUserId(), current.getSessionId()));
+    }
+
+    /**
+     * Ends the session of the given refresh token, if it is known. Used on logout.
+     */
+    @Transactional
+    public void endSession(String refreshToken) {
+        Optional<RefreshToken> current = refreshTokenRepository.findByTokenHash(TokenHashHelper.sha256(refreshToken));
+        current.ifPresent(token -> revokeSession(token.getSessionId()));
+    }
+
+    /**
+     * Ends every session of the user and revokes the access tokens issued to them so far.
+     */
+    @Transactional
+    public void endAllSessions(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+        tokenRevocationList.revokeUser(userId);
+    }
+
+    /**
+     * Deletes the user's refresh tokens without revoking anything, before the user row goes.
+     *
+     * @return the number of tokens deleted
+     */
+    public int deleteAllTokens(Long userId) {
+        return refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    /**
+     * Deletes expired refresh tokens until a batch comes back short.
+     *
+     * @return the number of tokens deleted
+     */
+    @Scheduled(
+            initialDelayString = "${auth.refresh-token.sweep.interval-ms}",
+            fixedDelayString = "${auth.refresh-token.sweep.interval-ms}"
+    )
+    public int sweepExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int totalDeleted = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            totalDeleted += deleted;
+        } while (deleted >= batchSize);
+        if (totalDeleted > 0) {
+            logger.info("Removed {} expired refresh tokens", totalDeleted);
+        }
+        return totalDeleted;
+    }
+
+    private void revokeSession(String sessionId) {
+        refreshTokenRepository.deleteAllBySessionId(sessionId);
+        tokenRevocationList.revokeSession(sessionId);
+    }
+
+    private String issue(Long userId, String sessionId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(TokenHashHelper.sha256(token))
+                .userId(userId)
+                .sessionId(sessionId)
+                .expiryDate(LocalDateTime.now().plus(ttl))
+                .build());
+        return token;
+    }
+}
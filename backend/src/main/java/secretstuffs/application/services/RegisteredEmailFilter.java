@@ -0,0 +1,106 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.application.helpers.BloomFilter;
+import secretstuffs.infrastructure.repositories.UserRepository;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered emails, so that existence checks for unknown emails can be
+ * answered without a query. It is seeded once the application is ready, updated on registration and
+ * rebuilt every {@code email-filter.rebuild-interval-ms}; deleted users stay in the filter until the
+ * next rebuild, which only costs an extra query. Until the first build completes, or when disabled,
+ * every email is reported as possibly registered. The filter is per instance.
+ */
+@Service
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    // A lock rather than synchronized: the scan blocks on JDBC and would pin a virtual carrier thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            @Value("${email-filter.enabled}") boolean enabled,
+            @Value("${email-filter.expected-insertions}") long expectedInsertions,
+            @Value("${email-filter.false-positive-rate}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * @param email the email to check
+     * @return false only if no user with this email existed at the last rebuild or registered since
+     */
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return email == null || current == null || current.mightContain(email);
+    }
+
+    /**
+     * Records a newly registered email. Call it before the user row commits, not after: an email
+     * left behind by a rolled back registration only costs an extra query until the next rebuild,
+     * while adding it late would let a concurrent check skip the query for a registered email.
+     */
+    public void add(String email) {
+        BloomFilter current = filter;
+        BloomFilter next = building;
+        if (current != null) {
+            current.put(email);
+        }
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    /**
+     * Builds a new filter from the users table and swaps it in. Emails registered while the scan
+     * runs are added to both the old and the new filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${email-filter.rebuild-interval-ms}",
+            fixedDelayString = "${email-filter.rebuild-interval-ms}"
+    )
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            BloomFilter next = new BloomFilter(
+                    Math.max(expectedInsertions, userRepository.count() * 2), falsePositiveRate);
+            building = next;
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(next::put);
+            }
+            filter = next;
+        } catch (RuntimeException e) {
+            logger.warn("Could not rebuild the registered email filter, keeping the previous one", e);
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.application.helpers.BloomFilter;
+import secretstuffs.domain.entities.TokenRevocation;
+import secretstuffs.infrastructure.repositories.TokenRevocationRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sessions and users whose access tokens were revoked before they expire, so that requests can be
+ * checked without a query. Revocations are written to {@code token_revocation} and every instance
+ * polls new rows every {@code auth.revocation.poll-interval-ms}; the revoking instance applies them
+ * right away. A Bloom filter answers most lookups, and only its positives consult the exact set.
+ * An entry is dropped once every access token issued before it has expired.
+ */
+@Service
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final String SESSION_PREFIX = "session:";
+    private static final String USER_PREFIX = "user:";
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Duration retention;
+    private final Duration pollInterval;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    // Subject to revocation time, truncated to milliseconds like the iat_ms claim it is compared with
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile LocalDateTime lastPoll;
+    // A lock rather than synchronized: polling blocks on JDBC and would pin a virtual carrier thread
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    public TokenRevocationList(
+            TokenRevocationRepository tokenRevocationRepository,
+            @Value("${auth.access-token.ttl-seconds}") long accessTokenTtlSeconds,
+            @Value("${auth.revocation.poll-interval-ms}") long pollIntervalMs,
+            @Value("${auth.revocation.expected-entries}") long expectedEntries,
+            @Value("${auth.revocation.false-positive-rate}") double falsePositiveRate
+    ) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.retention = Duration.ofSeconds(accessTokenTtlSeconds);
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * A token issued in the same millisecond as a revocation counts as revoked.
+     *
+     * @param user the caller of a request
+     * @return true if the caller's account, or the session the token belongs to, was revoked after
+     *         the token was issued
+     */
+    public boolean isRevoked(AuthenticatedUser user) {
+        return revokedBefore(USER_PREFIX + user.id(), user.issuedAt())
+                || (user.sessionId() != null && revokedBefore(SESSION_PREFIX + user.sessionId(), user.issuedAt()));
+    }
+
+    /**
+     * Revokes the access tokens of one login session.
+     */
+    public void revokeSession(String sessionId) {
+        revoke(SESSION_PREFIX + sessionId);
+    }
+
+    /**
+     * Revokes every access token issued to the user until now. Tokens issued later are not affected.
+     */
+    public void revokeUser(Long userId) {
+        revoke(USER_PREFIX + userId);
+    }
+
+    private void revoke(String subject) {
+        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationRepository.save(TokenRevocation.builder().subject(subject).revokedAt(now).build());
+        add(subject, now);
+    }
+
+    /**
+     * Loads revocations written since the last poll, including those of other instances, and
+     * forgets expired ones. Each poll reads one extra interval back, so rows committed late are not
+     * missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${auth.revocation.poll-interval-ms}",
+            fixedDelayString = "${auth.revocation.poll-interval-ms}"
+    )
+    public void poll() {
+        pollLock.lock();
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            LocalDateTime since = lastPoll != null ? lastPoll.minus(pollInterval) : started.minus(retention);
+            for (TokenRevocation revocation : tokenRevocationRepository.findByRevokedAtAfter(since)) {
+                add(revocation.getSubject(), revocation.getRevokedAt());
+            }
+            lastPoll = started;
+            Instant cutoff = Instant.now().minus(retention);
+            if (revoked.values().removeIf(revokedAt -> revokedAt.isBefore(cutoff))) {
+                rebuildFilter();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not poll token revocations, retrying in {}", pollInterval, e);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes revocation rows that no longer affect any valid token.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.refresh-token.sweep.interval-ms}",
+            fixedDelayString = "${auth.refresh-token.sweep.interval-ms}"
+    )
+    public int purgeExpired() {
+        int deleted = tokenRevocationRepository.deleteRevokedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Removed {} expired token revocations", deleted);
+        }
+        return deleted;
+    }
+
+    private boolean revokedBefore(String subject, Instant issuedAt) {
+        if (!filter.mightContain(subject)) {
+            return false;
+        }
+        Instant revokedAt = revoked.get(subject);
+        return revokedAt != null && (issuedAt == null || !issuedAt.isAfter(revokedAt));
+    }
+
+    private void add(String subject, LocalDateTime revokedAt) {
+        Instant instant = revokedAt.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.MILLIS);
+        revoked.merge(subject, instant, (current, added) -> current.isAfter(added) ? current : added);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(subject);
+        }
+        filter.put(subject);
+    }
+
+    private void rebuildFilter() {
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2L), falsePositiveRate);
+        building = next;
+        revoked.keySet().forEach(next::put);
+        filter = next;
+        building = null;
+    }
+}
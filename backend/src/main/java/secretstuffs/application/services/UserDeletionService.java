@@ -0,0 +1,257 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import secretstuffs.application.helpers.UserLookupCache;
+import secretstuffs.domain.dtos.exception.UserException;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.JobStatusEnum;
+import secretstuffs.domain.models.responses.user.UserDeletionStatusResponseDTO;
+import secretstuffs.infrastructure.repositories.ChatMessageRepository;
+import secretstuffs.infrastructure.repositories.ChatRoomRepository;
+import secretstuffs.infrastructure.repositories.DonationRepository;
+import secretstuffs.infrastructure.repositories.ItemPostRepository;
+import secretstuffs.infrastructure.repositories.UserRepository;
+import secretstuffs.infrastructure.repositories.UserStatsRepository;
+import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes a user together with everything that refers to them: their donation requests, requests
+ * made for their item posts, the item posts, chats they took part in, reset and refresh tokens and
+ * dashboard counters. The account is deactivated and its sessions revoked right away; the rows are
+ * then removed on the deletion executor in batches of {@code user-deletion.batch-size}, each batch in
+ * its own short transaction, so heavy users do not hold locks for long. Counters of other users touched by removed donations
+ * are corrected by the nightly user_stats reconciliation.
+ * <p>
+ * Jobs are tracked in memory only. A deletion cut short by a restart or a failed step leaves a
+ * deactivated account with part of its data and must be requested again; every step deletes
+ * whatever is still there, so running the cascade again picks up where the last run stopped.
+ */
+@Service
+public class UserDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionService.class);
+
+    private final UserRepository userRepository;
+    private final DonationRepository donationRepository;
+    private final ItemPostRepository itemPostRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final UserLookupCache userLookupCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TaskExecutor deletionExecutor;
+    private final int batchSize;
+    private final int maxRetainedJobs;
+    private final Map<String, DeletionJob> jobs = new LinkedHashMap<>();
+
+    public UserDeletionService(
+            UserRepository userRepository,
+            DonationRepository donationRepository,
+            ItemPostRepository itemPostRepository,
+            ChatMessageRepository chatMessageRepository,
+            ChatRoomRepository chatRoomRepository,
+            VerificationTokenRepository verificationTokenRepository,
+            UserStatsRepository userStatsRepository,
+            UserLookupCache userLookupCache,
+            RefreshTokenService refreshTokenService,
+            @Qualifier("userDeletionExecutor") TaskExecutor deletionExecutor,
+            @Value("${user-deletion.batch-size}") int batchSize,
+            @Value("${user-deletion.max-retained-jobs}") int maxRetainedJobs
+    ) {
+        this.userRepository = userRepository;
+        this.donationRepository = donationRepository;
+        this.itemPostRepository = itemPostRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.verificationTokenRepository = verificationTokenRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.userLookupCache = userLookupCache;
+        this.refreshTokenService = refreshTokenService;
+        this.deletionExecutor = deletionExecutor;
+        this.batchSize = batchSize;
+        this.maxRetainedJobs = maxRetainedJobs;
+    }
+
+    /**
+     * Deactivates the user and queues the removal of their data. Asking again while a deletion of
+     * the same user is pending returns the pending job.
+     *
+     * @param email the user to delete
+     * @return the status of the deletion job
+     * @throws UserException 404 if the user does not exist, 503 if the deletion queue is full
+     */
+    public UserDeletionStatusResponseDTO requestDeletion(String email) {
+        // Checking for a pending job and registering ours in one step lets only one request per user through
+        DeletionJob job;
+        synchronized (jobs) {
+            Optional<DeletionJob> pending = jobs.values().stream()
+                    .filter(existing -> existing.email.equals(email) && !existing.isFinished())
+                    .findFirst();
+            if (pending.isPresent()) {
+                return pending.get().snapshot();
+            }
+            job = register(email);
+        }
+
+        try {
+            Long userId = deactivate(email);
+            deletionExecutor.execute(() -> runDeletion(job, userId));
+        } catch (TaskRejectedException e) {
+            forget(job);
+            throw UserException.deletionQueueFull();
+        } catch (RuntimeException e) {
+            forget(job);
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    public Optional<UserDeletionStatusResponseDTO> getStatus(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(DeletionJob::snapshot);
+        }
+    }
+
+    private Long deactivate(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> UserException.userNotFound(email));
+        if (user.isActive()) {
+            user.setActive(false);
+            userRepository.save(user);
+        }
+        userLookupCache.evict(user);
+        refreshTokenService.endAllSessions(user.getId());
+        return user.getId();
+    }
+
+    private void runDeletion(DeletionJob job, Long userId) {
+        job.start();
+        String email = job.email;
+        try {
+            deleteInBatches(job, "donationsRequested", () -> donationRepository.deleteBatchByUserId(userId, batchSize));
+            deleteInBatches(job, "donationsReceived",
+                    () -> donationRepository.deleteBatchByItemPostOwner(email, batchSize));
+            deleteInBatches(job, "itemPosts", () -> itemPostRepository.deleteBatchByEmail(email, batchSize));
+            deleteInBatches(job, "chatMessages",
+                    () -> chatMessageRepository.deleteBatchByParticipant(email, batchSize));
+            deleteInBatches(job, "chatRooms", () -> chatRoomRepository.deleteBatchByParticipant(email, batchSize));
+            deleteOnce(job, "verificationTokens", () -> verificationTokenRepository.deleteAllByUserEmail(email));
+            deleteOnce(job, "userStats", () -> userStatsRepository.deleteByEmail(email));
+            deleteOnce(job, "refreshTokens", () -> refreshTokenService.deleteAllTokens(userId));
+            deleteOnce(job, "users", () -> userRepository.deleteUserById(userId));
+            userLookupCache.evict(User.builder().id(userId).email(email).build());
+            job.finish(JobStatusEnum.COMPLETED, null);
+            logger.info("Deleted user {} and {} rows in total", email, job.totalDeleted());
+        } catch (RuntimeException e) {
+            job.finish(JobStatusEnum.FAILED, e.getMessage());
+            logger.error("Deletion of user {} failed during {}", email, job.currentStep, e);
+        }
+    }
+
+    private void deleteInBatches(DeletionJob job, String step, IntSupplier batch) {
+        job.currentStep = step;
+        int deleted;
+        do {
+            deleted = batch.getAsInt();
+            job.record(step, deleted);
+        } while (deleted >= batchSize);
+    }
+
+    private void deleteOnce(DeletionJob job, String step, IntSupplier statement) {
+        job.currentStep = step;
+        job.record(step, statement.getAsInt());
+    }
+
+    // Callers hold the jobs lock
+    private DeletionJob register(String email) {
+        DeletionJob job = new DeletionJob(UUID.randomUUID().toString(), email);
+        jobs.put(job.id, job);
+        Iterator<DeletionJob> iterator = jobs.values().iterator();
+        while (jobs.size() > maxRetainedJobs && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+        return job;
+    }
+
+    private void forget(DeletionJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.id);
+        }
+    }
+
+    private static final class DeletionJob {
+
+        private static final List<String> STEPS = List.of("donationsRequested", "donationsReceived", "itemPosts",
+                "chatMessages", "chatRooms", "verificationTokens", "userStats", "refreshTokens", "users");
+
+        private final String id;
+        private final String email;
+        private final Map<String, Long> deletedRows = new LinkedHashMap<>();
+        private volatile JobStatusEnum status = JobStatusEnum.QUEUED;
+        private volatile String currentStep;
+        private volatile String failureReason;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private DeletionJob(String id, String email) {
+            this.id = id;
+            this.email = email;
+            STEPS.forEach(step -> deletedRows.put(step, 0L));
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = JobStatusEnum.RUNNING;
+        }
+
+        void finish(JobStatusEnum finalStatus, String reason) {
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+            currentStep = null;
+            status = finalStatus;
+        }
+
+        boolean isFinished() {
+            return status == JobStatusEnum.COMPLETED || status == JobStatusEnum.FAILED;
+        }
+
+        synchronized void record(String step, int deleted) {
+            deletedRows.merge(step, (long) deleted, Long::sum);
+        }
+
+        synchronized long totalDeleted() {
+            return deletedRows.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        synchronized UserDeletionStatusResponseDTO snapshot() {
+            return UserDeletionStatusResponseDTO.builder()
+                    .jobId(id)
+                    .email(email)
+                    .status(status)
+                    .currentStep(currentStep)
+                    .deletedRows(new LinkedHashMap<>(deletedRows))
+                    .failureReason(failureReason)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
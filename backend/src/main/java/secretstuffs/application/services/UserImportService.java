@@ -0,0 +1,337 @@
+package secretstuffs.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.UserImportReader;
+import secretstuffs.domain.dtos.exception.UserImportException;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.JobStatusEnum;
+import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
+import secretstuffs.domain.models.responses.user.UserImportStatusResponseDTO;
+import secretstuffs.domain.models.responses.user.UserImportStatusResponseDTO.RowError;
+import secretstuffs.infrastructure.repositories.UserBulkInsertRepository;
+import secretstuffs.infrastructure.repositories.UserRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Imports users in bulk from CSV or NDJSON. The upload is spooled to a temporary file and imported on
+ * the import executor in chunks: each chunk is validated, checked against existing emails with one
+ * query, hashed in parallel on a dedicated fork-join pool and written with one JDBC batch. Imported
+ * users are inactive and get a queued verification email, exactly like self-registered ones.
+ * Job progress and per-row errors are kept in memory for the most recent jobs.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MIN_NAME_LENGTH = 2;
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final UserRepository userRepository;
+    private final UserBulkInsertRepository userBulkInsertRepository;
+    private final AuthHelper authHelper;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final VerificationEmailDispatcher verificationEmailDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor importExecutor;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+    private final int maxRetainedJobs;
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public UserImportService(
+            UserRepository userRepository,
+            UserBulkInsertRepository userBulkInsertRepository,
+            AuthHelper authHelper,
+            RegisteredEmailFilter registeredEmailFilter,
+            VerificationEmailDispatcher verificationEmailDispatcher,
+            ObjectMapper objectMapper,
+            @Qualifier("userImportExecutor") TaskExecutor importExecutor,
+            @Value("${user-import.chunk-size}") int chunkSize,
+            @Value("${user-import.hash-parallelism}") int hashParallelism,
+            @Value("${user-import.max-retained-jobs}") int maxRetainedJobs
+    ) {
+        this.userRepository = userRepository;
+        this.userBulkInsertRepository = userBulkInsertRepository;
+        this.authHelper = authHelper;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.verificationEmailDispatcher = verificationEmailDispatcher;
+        this.objectMapper = objectMapper;
+        this.importExecutor = importExecutor;
+        this.chunkSize = chunkSize;
+        this.maxRetainedJobs = maxRetainedJobs;
+        int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Spools the upload and queues the import.
+     *
+     * @param input   the uploaded file
+     * @param format  CSV or NDJSON
+     * @param baseUrl the application's context URL, used for verification links
+     * @return the status of the queued job
+     * @throws UserImportException 503 if the import queue is full
+     */
+    public UserImportStatusResponseDTO startImport(InputStream input, UserImportReader.Format format, String baseUrl)
+            throws IOException {
+        Path spooled = Files.createTempFile("user-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(input, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        ImportJob job = register();
+        try {
+            importExecutor.execute(() -> runImport(job, spooled, format, baseUrl));
+        } catch (TaskRejectedException e) {
+            forget(job);
+            Files.deleteIfExists(spooled);
+            throw UserImportException.queueFull();
+        }
+        return job.snapshot();
+    }
+
+    public Optional<UserImportStatusResponseDTO> getStatus(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::snapshot);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private void runImport(ImportJob job, Path spooled, UserImportReader.Format format, String baseUrl) {
+        job.start();
+        try (Reader reader = Files.newBufferedReader(spooled, StandardCharsets.UTF_8)) {
+            importRows(job, new UserImportReader(reader, format, objectMapper), baseUrl);
+            job.finish(JobStatusEnum.COMPLETED, null);
+            logger.info("User import {} finished: {} imported, {} failed",
+                    job.id, job.imported.get(), job.failed.get());
+        } catch (IOException | RuntimeException e) {
+            job.finish(JobStatusEnum.FAILED, e.getMessage());
+            logger.error("User import {} failed after {} rows", job.id, job.processed.get(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled import file {}", spooled, e);
+            }
+        }
+    }
+
+    private void importRows(ImportJob job, UserImportReader reader, String baseUrl) throws IOException {
+        Set<String> seenEmails = new HashSet<>();
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        UserImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            job.processed.incrementAndGet();
+            String error = row.error() != null ? row.error() : validate(row.user());
+            if (error == null && !seenEmails.add(row.user().getEmail())) {
+                error = "Duplicate email in import";
+            }
+            if (error != null) {
+                job.fail(row, error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(job, chunk, baseUrl);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(job, chunk, baseUrl);
+        }
+    }
+
+    private void importChunk(ImportJob job, List<UserImportReader.Row> chunk, String baseUrl) {
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.user().getEmail()).toList()));
+        List<UserImportReader.Row> fresh = new ArrayList<>(chunk.size());
+        for (UserImportReader.Row row : chunk) {
+            if (existing.contains(row.user().getEmail())) {
+                job.fail(row, "Email already taken");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<User> users = hashingPool.submit(() -> fresh.parallelStream().map(this::toUser).toList()).join();
+        int[] counts;
+        try {
+            counts = userBulkInsertRepository.insertAll(users);
+        } catch (DataAccessException e) {
+            logger.warn("User import {} could not insert a chunk of {} rows", job.id, fresh.size(), e);
+            fresh.forEach(row -> job.fail(row, "Insert failed: " + e.getMostSpecificCause().getMessage()));
+            return;
+        }
+
+        for (int i = 0; i < fresh.size(); i++) {
+            UserImportReader.Row row = fresh.get(i);
+            if (counts[i] == 0) {
+                job.fail(row, "Email already taken");
+                continue;
+            }
+            String email = row.user().getEmail();
+            registeredEmailFilter.add(email);
+            verificationEmailDispatcher.enqueue(email, baseUrl);
+            job.imported.incrementAndGet();
+        }
+    }
+
+    /**
+     * Applies the same rules as {@link RegisterUserRequestDTO}'s constraints. They are checked by hand
+     * because no Bean Validation provider for the jakarta annotations is on the classpath.
+     */
+    private String validate(RegisterUserRequestDTO user) {
+        List<String> problems = new ArrayList<>();
+        if (user.getFirstName() == null || user.getFirstName().length() < MIN_NAME_LENGTH) {
+            problems.add("First name must be at least 2 characters long");
+        }
+        if (user.getLastName() == null || user.getLastName().length() < MIN_NAME_LENGTH) {
+            problems.add("Last name must be at least 2 characters long");
+        }
+        if (user.getEmail() == null || !EMAIL_PATTERN.matcher(user.getEmail()).matches()) {
+            problems.add("Invalid email format");
+        }
+        if (user.getPassword() == null || user.getPassword().length() < MIN_PASSWORD_LENGTH) {
+            problems.add("Password must be at least 8 characters long");
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private User toUser(UserImportReader.Row row) {
+        RegisterUserRequestDTO dto = row.user();
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .firstName(dto.getFirstName())
+                .lastName(dto.getLastName())
+                .email(dto.getEmail())
+                .password(authHelper.encryptPassword(dto.getPassword()))
+                .profileImageURL(dto.getProfileImageURL())
+                .active(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private ImportJob register() {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > maxRetainedJobs && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private void forget(ImportJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.id);
+        }
+    }
+
+    private static final class ImportJob {
+
+        private final String id;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<RowError> errors = new ArrayList<>();
+        private volatile JobStatusEnum status = JobStatusEnum.QUEUED;
+        private volatile String failureReason;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = JobStatusEnum.RUNNING;
+        }
+
+        void finish(JobStatusEnum finalStatus, String reason) {
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        boolean isFinished() {
+            return status == JobStatusEnum.COMPLETED || status == JobStatusEnum.FAILED;
+        }
+
+        void fail(UserImportReader.Row row, String message) {
+            failed.incrementAndGet();
+            String email = row.user() != null ? row.user().getEmail() : null;
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new RowError(row.line(), email, message));
+                }
+            }
+        }
+
+        UserImportStatusResponseDTO snapshot() {
+            List<RowError> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = List.copyOf(errors);
+            }
+            return UserImportStatusResponseDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .processedRows(processed.get())
+                    .importedRows(imported.get())
+                    .failedRows(failed.get())
+                    .failureReason(failureReason)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errors(reportedErrors)
+                    .build();
+        }
+    }
+}
@@ -1,29 +1,53 @@
 package secretstuffs.application.services;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.RequestCoalescer;
+import secretstuffs.application.helpers.UserLookupCache;
+import secretstuffs.application.helpers.UserLookupCache.CachedUser;
 import secretstuffs.domain.dtos.commands.user.ChangePasswordCommand;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
 import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
 import secretstuffs.domain.entities.User;
 import secretstuffs.domain.models.responses.user.UpdateUserResponseDTO;
 import secretstuffs.domain.models.responses.user.FetchUserProfileResponseDTO;
+import secretstuffs.domain.models.responses.user.UserPageResponseDTO;
 import secretstuffs.domain.dtos.exception.UserException;
 import secretstuffs.infrastructure.repositories.UserRepository;
+import secretstuffs.infrastructure.repositories.UserSpecifications;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    private static final String CSV_HEADER = "id,email,firstName,lastName,active,createdAt\n";
+
     private final UserRepository userRepository;
     private final AuthHelper authHelper;
-
-    public UserService(UserRepository userRepository, AuthHelper authHelper) {
+    private final UserLookupCache userLookupCache;
+    private final RequestCoalescer requestCoalescer;
+    private final RefreshTokenService refreshTokenService;
+
+    public UserService(
+            UserRepository userRepository,
+            AuthHelper authHelper,
+            UserLookupCache userLookupCache,
+            RequestCoalescer requestCoalescer,
+            RefreshTokenService refreshTokenService
+    ) {
         this.userRepository = userRepository;
         this.authHelper = authHelper;
+        this.userLookupCache = userLookupCache;
+        this.requestCoalescer = requestCoalescer;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public User findUserByEmail(String email) {
@@ -37,22 +61,20 @@ public class UserService {
         if (!user.isActive()) {
             user.setActive(true);
             userRepository.save(user);
+            userLookupCache.evict(user);
         } else {
             throw UserException.userAlreadyActive();
         }
     }
 
     public boolean isUserRegistered(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return findCachedUserByEmail(email).isPresent();
     }
 
     public boolean isUserActive(String email) {
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isPresent()) {
-            return user.get().isActive();
-        } else {
-            throw UserException.userNotFound(email);
-        }
+        return findCachedUserByEmail(email)
+                .map(CachedUser::active)
+                .orElseThrow(() -> UserException.userNotFound(email));
     }
 
     @Transactional
@@ -61,23 +83,61 @@ public class UserService {
         user.setProfileImageURL(command.getProfileImageURL());
         user.setFirstName(command.getFirstName());
         user.setLastName(command.getLastName());
-        return buildUpdateUserResponse(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        userLookupCache.evict(user);
+        return buildUpdateUserResponse(savedUser);
     }
 
     public FetchUserProfileResponseDTO getUserProfileByEmail(String email) {
-        return buildUserProfileResponse(findUserByEmail(email));
+        return findCachedUserByEmail(email)
+                .map(this::buildUserProfileResponse)
+                .orElseThrow(() -> UserException.userNotFound(email));
     }
 
-    @Transactional
-    public void deleteUserByEmail(String email) {
-        User user = findUserByEmail(email);
-        userRepository.delete(user);
+    /**
+     * Returns one page of the filtered user listing, ordered by id.
+     *
+     * @param command the filters, the id after which the page starts and the page size
+     * @return the page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponseDTO listUsers(FetchUsersCommand command) {
+        int size = Math.min(Math.max(command.getSize(), 1), MAX_PAGE_SIZE);
+        List<User> users = fetchUsersAfter(command, command.getAfterId(), size + 1);
+        boolean hasNext = users.size() > size;
+        List<User> page = hasNext ? users.subList(0, size) : users;
+
+        UserPageResponseDTO.UserPageResponseDTOBuilder builder = UserPageResponseDTO.builder();
+        builder.users(page.stream().map(this::buildUserProfileResponse).toList());
+        builder.nextCursor(hasNext ? page.get(page.size() - 1).getId() : null);
+        return builder.build();
     }
 
-    public List<FetchUserProfileResponseDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::buildUserProfileResponse)
-                .collect(Collectors.toList());
+    /**
+     * Writes every user matching the filters as CSV, walking the listing in keyset batches so
+     * memory stays flat regardless of the number of users. Deliberately not transactional: each
+     * batch is read in a short transaction of its own, so its users are detached once written
+     * instead of piling up in one persistence context, and no connection is held while the client
+     * reads the response.
+     *
+     * @param command the filters; afterId may be used to resume an export
+     * @param writer  the response writer
+     * @throws IOException if writing fails
+     */
+    public void exportUsers(FetchUsersCommand command, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        Long cursor = command.getAfterId();
+        while (true) {
+            List<User> batch = fetchUsersAfter(command, cursor, EXPORT_BATCH_SIZE);
+            for (User user : batch) {
+                writer.write(toCsvRow(user));
+            }
+            writer.flush();
+            if (batch.size() < EXPORT_BATCH_SIZE) {
+                return;
+            }
+            cursor = batch.get(batch.size() - 1).getId();
+        }
     }
 
     @Transactional
@@ -95,6 +155,44 @@ public class UserService {
         }
         user.setPassword(authHelper.encryptPassword(command.getNewPassword()));
         userRepository.save(user);
+        userLookupCache.evict(user);
+        // Whoever knew the old password may still hold a session
+        refreshTokenService.endAllSessions(user.getId());
+    }
+
+    private List<User> fetchUsersAfter(FetchUsersCommand command, Long afterId, int limit) {
+        return userRepository.findBy(UserSpecifications.matching(command, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    private String toCsvRow(User user) {
+        return String.join(",",
+                String.valueOf(user.getId()),
+                csvField(user.getEmail()),
+                csvField(user.getFirstName()),
+                csvField(user.getLastName()),
+                String.valueOf(user.isActive()),
+                String.valueOf(user.getCreatedAt())) + "\n";
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Must not be called inside a read-only transaction: a miss would then be loaded from the
+     * replica, which may not have replayed the change that evicted the entry yet.
+     */
+    private Optional<CachedUser> findCachedUserByEmail(String email) {
+        // A cache miss for a popular profile is loaded once, however many requests are waiting for it
+        return userLookupCache.getByEmail(email,
+                () -> requestCoalescer.load("user", email, () -> userRepository.findByEmail(email)));
     }
 
     private UpdateUserResponseDTO buildUpdateUserResponse(User user) {
@@ -119,11 +217,15 @@ public class UserService {
         return builder.build();
     }
 
-    public User getUserById(Long userId) {
-        Optional<User> user = userRepository.findById(userId);
-        if (user.isEmpty()) {
-            throw UserException.userNotFound(userId);
-        }
-        return user.get();
+    private FetchUserProfileResponseDTO buildUserProfileResponse(CachedUser user) {
+        FetchUserProfileResponseDTO.FetchUserProfileResponseDTOBuilder builder = FetchUserProfileResponseDTO.builder();
+        builder.id(user.id());
+        builder.email(user.email());
+        builder.firstName(user.firstName());
+        builder.lastName(user.lastName());
+        builder.profileImageURL(user.profileImageURL());
+        builder.active(user.active());
+
+        return builder.build();
     }
 }
@@ -0,0 +1,108 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import secretstuffs.domain.entities.UserStats;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+import secretstuffs.domain.models.responses.user.UserStatsResponseDTO;
+import secretstuffs.infrastructure.repositories.UserStatsRepository;
+
+/**
+ * Maintains the per-user dashboard counters in {@code user_stats}. Writers report what changed and
+ * the counters are adjusted with a single upsert, so reading them is one primary key lookup.
+ * A scheduled reconciliation recomputes every row from the source tables to repair any drift.
+ */
+@Service
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    private final UserStatsRepository userStatsRepository;
+
+    public UserStatsService(UserStatsRepository userStatsRepository) {
+        this.userStatsRepository = userStatsRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public UserStatsResponseDTO getStats(String email) {
+        return userStatsRepository.findById(email)
+                .map(this::toResponse)
+                .orElseGet(() -> UserStatsResponseDTO.builder().email(email).build());
+    }
+
+    public void postCreated(String email) {
+        userStatsRepository.applyDelta(email, 1, 1, 0, 0, 0, 0);
+    }
+
+    public void postDeleted(String email, ItemPostStatusEnum status) {
+        userStatsRepository.applyDelta(email, -1, status == ItemPostStatusEnum.ACTIVE ? -1 : 0, 0, 0, 0, 0);
+    }
+
+    public void donationRequested(Long userId) {
+        userStatsRepository.applyRequestDeltaByUserId(userId, 1, 0, 0);
+    }
+
+    /**
+     * Applies the counter changes of a donation decision inside the transaction that made it,
+     * so the counters commit or roll back together with the donations.
+     *
+     * @param event the status changes of one transaction
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDonationStatusChanged(DonationStatusChangedEvent event) {
+        for (DonationStatusChange change : event.changes()) {
+            userStatsRepository.applyDelta(change.userEmail(), 0, 0, 0,
+                    delta(change, DonationEnum.PENDING),
+                    delta(change, DonationEnum.ACCEPTED),
+                    delta(change, DonationEnum.REJECTED));
+        }
+        if (event.itemPostClosed() && event.itemPostOwnerEmail() != null) {
+            userStatsRepository.applyDelta(event.itemPostOwnerEmail(), 0, -1, 1, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Recomputes all counters from item_posts and donations and drops rows of deleted users.
+     *
+     * @return the number of users reconciled
+     */
+    @Scheduled(cron = "${user-stats.reconcile.cron}")
+    public int reconcile() {
+        int reconciled = userStatsRepository.reconcileAll();
+        int orphans = userStatsRepository.deleteOrphans();
+        logger.info("Reconciled dashboard counters of {} users, removed {} orphaned rows", reconciled, orphans);
+        return reconciled;
+    }
+
+    private long delta(DonationStatusChange change, DonationEnum status) {
+        long delta = 0;
+        if (change.newStatus() == status) {
+            delta++;
+        }
+        if (change.previousStatus() == status) {
+            delta--;
+        }
+        return delta;
+    }
+
+    private UserStatsResponseDTO toResponse(UserStats stats) {
+        return UserStatsResponseDTO.builder()
+                .email(stats.getEmail())
+                .totalPosts(stats.getTotalPosts())
+                .activePosts(stats.getActivePosts())
+                .itemsDonated(stats.getItemsDonated())
+                .donationsRequested(stats.getRequestsPending() + stats.getRequestsAccepted() + stats.getRequestsRejected())
+                .requestsPending(stats.getRequestsPending())
+                .requestsAccepted(stats.getRequestsAccepted())
+                .requestsRejected(stats.getRequestsRejected())
+                .build();
+    }
+}
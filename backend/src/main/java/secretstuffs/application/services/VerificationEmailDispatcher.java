@@ -0,0 +1,61 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Queues verification emails on the email dispatch executor. Links are built from a base URL the
+ * caller captured while still on the request thread, since no request context exists in the background.
+ * Send failures are logged; the user can ask for a new link through resend-verification-email.
+ */
+@Service
+public class VerificationEmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationEmailDispatcher.class);
+
+    private final VerificationTokenService tokenService;
+    private final EmailService emailService;
+    private final TaskExecutor executor;
+
+    public VerificationEmailDispatcher(
+            VerificationTokenService tokenService,
+            EmailService emailService,
+            @Qualifier("emailDispatchExecutor") TaskExecutor executor
+    ) {
+        this.tokenService = tokenService;
+        this.emailService = emailService;
+        this.executor = executor;
+    }
+
+    /**
+     * @param email   the recipient
+     * @param baseUrl the application's context URL, e.g. {@code https://host/app}
+     * @return false if the queue is full and the email was dropped
+     */
+    public boolean enqueue(String email, String baseUrl) {
+        try {
+            executor.execute(() -> send(email, baseUrl));
+            return true;
+        } catch (TaskRejectedException e) {
+            logger.warn("Email queue is full, verification email for {} was not sent", email);
+            return false;
+        }
+    }
+
+    private void send(String email, String baseUrl) {
+        try {
+            String link = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                    .path("/api/auth/verify-email")
+                    .queryParam("token", tokenService.createToken(email))
+                    .toUriString();
+            emailService.sendVerificationEmail(email, link);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to send verification email to {}", email, e);
+        }
+    }
+}
@@ -1,33 +1,45 @@
 package secretstuffs.application.services;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import secretstuffs.application.helpers.JwtHelper;
 
+import java.time.Duration;
+import java.time.Instant;
+
 @Service
-@RequiredArgsConstructor
 public class VerificationTokenService {
 
     private final JwtHelper jwtHelper;
+    private final Duration linkTtl;
+
+    public VerificationTokenService(
+            JwtHelper jwtHelper,
+            @Value("${auth.verification-link.ttl-seconds}") long linkTtlSeconds
+    ) {
+        this.jwtHelper = jwtHelper;
+        this.linkTtl = Duration.ofSeconds(linkTtlSeconds);
+    }
 
     /**
-     * Creates a verification token for the given email.
+     * Creates a verification token for the given email. It expires after
+     * {@code auth.verification-link.ttl-seconds} and is not accepted as an access token.
      *
      * @param email the email to include in the token
      * @return the generated token
      */
     public String createToken(String email) {
-        return jwtHelper.generateToken(email);
+        return jwtHelper.generateEmailVerificationToken(email, Instant.now().plus(linkTtl));
     }
 
     /**
-     * Verifies the token by delegating validation to JwtHelper.
+     * Verifies that the token is an unexpired email verification token.
      *
      * @param token the JWT token
      * @return true if the token is valid, false otherwise
      */
     public boolean verifyToken(String token) {
-        return jwtHelper.isTokenValid(token);
+        return extractEmailFromToken(token) != null;
     }
 
     /**
@@ -37,6 +49,10 @@ public class VerificationTokenService {
      * @return the extracted email if valid, or null if invalid
      */
     public String extractEmailFromToken(String token) {
-        return jwtHelper.getValidSubject(token);
+        try {
+            return jwtHelper.verifyEmailVerificationToken(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
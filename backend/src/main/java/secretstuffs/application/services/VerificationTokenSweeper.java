@@ -0,0 +1,59 @@
+package secretstuffs.application.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically removes expired password-reset tokens so the table only holds active resets.
+ * Deletes run in small batches, each in its own short transaction, to avoid long row locks.
+ */
+@Service
+public class VerificationTokenSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationTokenSweeper.class);
+
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public VerificationTokenSweeper(
+            VerificationTokenRepository verificationTokenRepository,
+            @Value("${verification-token.sweep.batch-size}") int batchSize,
+            @Value("${verification-token.sweep.max-batches}") int maxBatchesPerRun
+    ) {
+        this.verificationTokenRepository = verificationTokenRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Deletes expired tokens until a batch comes back short or the per-run batch limit is hit.
+     *
+     * @return the number of tokens deleted
+     */
+    @Scheduled(
+            initialDelayString = "${verification-token.sweep.interval-ms}",
+            fixedDelayString = "${verification-token.sweep.interval-ms}"
+    )
+    public int sweepExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int totalDeleted = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = verificationTokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            totalDeleted += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (totalDeleted > 0) {
+            logger.info("Removed {} expired verification tokens", totalDeleted);
+        }
+        return totalDeleted;
+    }
+}
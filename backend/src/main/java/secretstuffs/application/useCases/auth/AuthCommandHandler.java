@@ -1,5 +1,6 @@
 package secretstuffs.application.useCases.auth;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import org.slf4j.Logger;
@@ -12,6 +13,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @Component
 @RequiredArgsConstructor
+@Timed("command.handler")
 public class AuthCommandHandler {
 
     private final AuthService authService;
@@ -1,5 +1,6 @@
 package secretstuffs.application.useCases.itemPost;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 import secretstuffs.application.services.ItemPostService;
 import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
@@ -7,13 +8,14 @@ import secretstuffs.domain.dtos.commands.itemPost.DeleteItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.FetchPostsByUserCommand;
 import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
 import secretstuffs.domain.dtos.exception.BusinessException;
-import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.models.responses.itemPost.CreateItemPostResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 
 import java.util.List;
 
 @Component
+@Timed("command.handler")
 public class ItemPostCommandHandler {
 
     private final ItemPostService itemPostService;
@@ -42,7 +44,7 @@ public class ItemPostCommandHandler {
         return itemPostService.updateItemPost(command);
     }
 
-    public ItemPost getItemPost(Long id) {
+    public ItemPostDetailsDTO getItemPost(Long id) {
         return itemPostService.getItemById(id);
     }
 }
@@ -1,40 +1,87 @@
 package secretstuffs.application.useCases.user;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import secretstuffs.application.helpers.UserImportReader;
+import secretstuffs.application.services.UserDeletionService;
+import secretstuffs.application.services.UserImportService;
 import secretstuffs.application.services.UserService;
+import secretstuffs.application.services.UserStatsService;
 import secretstuffs.domain.dtos.commands.user.ChangePasswordCommand;
 import secretstuffs.domain.dtos.commands.user.DeleteUserCommand;
 import secretstuffs.domain.dtos.commands.user.FetchUserDetailsCommand;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
 import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
+import secretstuffs.domain.dtos.exception.UserException;
+import secretstuffs.domain.dtos.exception.UserImportException;
 import secretstuffs.domain.models.responses.user.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 
 @Component
+@Timed("command.handler")
 public class UserCommandHandler {
 
     private final UserService userService;
+    private final UserStatsService userStatsService;
+    private final UserImportService userImportService;
+    private final UserDeletionService userDeletionService;
 
-    public UserCommandHandler(UserService userService) {
+    public UserCommandHandler(
+            UserService userService,
+            UserStatsService userStatsService,
+            UserImportService userImportService,
+            UserDeletionService userDeletionService
+    ) {
         this.userService = userService;
+        this.userStatsService = userStatsService;
+        this.userImportService = userImportService;
+        this.userDeletionService = userDeletionService;
     }
 
     public void changePassword(ChangePasswordCommand command) {
         userService.changePassword(command);
     }
 
-    public void deleteUser(DeleteUserCommand command) {
-        userService.deleteUserByEmail(command.getEmail());
+    public UserDeletionStatusResponseDTO deleteUser(DeleteUserCommand command) {
+        return userDeletionService.requestDeletion(command.getEmail());
     }
 
-    public List<FetchUserProfileResponseDTO> fetchAllUsers() {
-        return userService.getAllUsers();
+    public UserDeletionStatusResponseDTO fetchDeletionStatus(String jobId) {
+        return userDeletionService.getStatus(jobId)
+                .orElseThrow(() -> UserException.deletionJobNotFound(jobId));
+    }
+
+    public UserPageResponseDTO fetchUsers(FetchUsersCommand command) {
+        return userService.listUsers(command);
+    }
+
+    public void exportUsers(FetchUsersCommand command, Writer writer) throws IOException {
+        userService.exportUsers(command, writer);
+    }
+
+    public UserImportStatusResponseDTO importUsers(InputStream input, String contentType) throws IOException {
+        // Verification links need the request's base URL, which the background import cannot look up
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return userImportService.startImport(input, UserImportReader.Format.fromContentType(contentType), baseUrl);
+    }
+
+    public UserImportStatusResponseDTO fetchImportStatus(String jobId) {
+        return userImportService.getStatus(jobId)
+                .orElseThrow(() -> UserImportException.jobNotFound(jobId));
     }
 
     public FetchUserProfileResponseDTO fetchUserDetails(FetchUserDetailsCommand command) {
         return userService.getUserProfileByEmail(command.getEmail());
     }
 
+    public UserStatsResponseDTO fetchUserStats(FetchUserDetailsCommand command) {
+        return userStatsService.getStats(command.getEmail());
+    }
+
     public UpdateUserResponseDTO updateUser(UpdateUserDetailsCommand command) {
         return userService.updateUserByEmail(command);
     }
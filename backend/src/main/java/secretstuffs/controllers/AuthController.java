@@ -1,19 +1,22 @@
 package secretstuffs.controllers;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import secretstuffs.application.helpers.AuthRateLimiter;
+import secretstuffs.application.mappers.AuthMapper;
 import secretstuffs.application.useCases.auth.AuthCommandHandler;
 import secretstuffs.application.services.AuthService;
 import secretstuffs.domain.dtos.commands.auth.LoginUserCommand;
 import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
 import secretstuffs.domain.models.requests.auth.LoginUserRequestDTO;
+import secretstuffs.domain.models.requests.auth.RefreshTokenRequestDTO;
 import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
 import secretstuffs.domain.models.responses.ApiResponseDTO;
 import secretstuffs.domain.models.responses.auth.LoginUserResponseDTO;
@@ -29,22 +32,38 @@ public class AuthController {
     @Value("${system.host.name}")
     private String hostName;
 
-    private final ModelMapper modelMapper;
+    private final AuthMapper authMapper;
     private final AuthService authService;
     private final AuthCommandHandler authCommandHandler;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/login")
     public ResponseEntity<ApiResponseDTO<LoginUserResponseDTO>> loginUser(
-            @Valid @RequestBody LoginUserRequestDTO dto) {
-        LoginUserCommand command = modelMapper.map(dto, LoginUserCommand.class);
+            @Valid @RequestBody LoginUserRequestDTO dto,
+            HttpServletRequest request) {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.LOGIN, request.getRemoteAddr(), dto.getEmail());
+        LoginUserCommand command = authMapper.toCommand(dto);
         LoginUserResponseDTO responseDTO = authCommandHandler.login(command);
         return buildResponse("Login successful", HttpStatus.OK, responseDTO);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDTO<LoginUserResponseDTO>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequestDTO dto) {
+        LoginUserResponseDTO responseDTO = authService.refresh(dto.getRefreshToken());
+        return buildResponse("Token refreshed", HttpStatus.OK, responseDTO);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDTO<String>> logoutUser(@Valid @RequestBody RefreshTokenRequestDTO dto) {
+        authService.logout(dto.getRefreshToken());
+        return buildResponse("Logout successful", HttpStatus.OK, "Success");
+    }
+
     @PostMapping("/register")
     public ResponseEntity<ApiResponseDTO<RegisterUserResponseDTO>> registerUser(
             @Valid @RequestBody RegisterUserRequestDTO dto) {
-        RegisterUserCommand command = modelMapper.map(dto, RegisterUserCommand.class);
+        RegisterUserCommand command = authMapper.toCommand(dto);
         RegisterUserResponseDTO responseDTO = authCommandHandler.register(command);
         return buildResponse(
                 "User created successfully. A verification email has been sent.",
@@ -67,7 +86,10 @@ public class AuthController {
     }
 
     @PostMapping("/resend-verification-email")
-    public ResponseEntity<ApiResponseDTO<String>> resendVerificationEmail(@RequestParam("email") String email) {
+    public ResponseEntity<ApiResponseDTO<String>> resendVerificationEmail(
+            @RequestParam("email") String email,
+            HttpServletRequest request) {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.RESEND_VERIFICATION, request.getRemoteAddr(), email);
         log.info("Resending verification email to: {}", email);
         boolean isResent = authCommandHandler.resendVerificationEmail(email);
         String message = "Failed to resend verification email. Please try again later.";
@@ -83,7 +105,10 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<ApiResponseDTO<String>> forgotPassword(@RequestParam("email") String email) {
+    public ResponseEntity<ApiResponseDTO<String>> forgotPassword(
+            @RequestParam("email") String email,
+            HttpServletRequest request) {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.FORGOT_PASSWORD, request.getRemoteAddr(), email);
         ApiResponseDTO<String> response = authService.forgotPassword(email);
         return ResponseEntity.ok(response);
     }
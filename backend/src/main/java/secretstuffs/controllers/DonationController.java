@@ -3,42 +3,41 @@ package secretstuffs.controllers;
 import java.util.List;
 import java.util.Optional;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.application.helpers.IdempotencyKeyStore;
 import secretstuffs.application.services.DonationService;
-import secretstuffs.application.services.ItemPostService;
-import secretstuffs.application.services.UserService;
-import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.UserException;
 import secretstuffs.domain.entities.Donation;
-import secretstuffs.domain.entities.ItemPost;
-import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.DonationEnum;
 import secretstuffs.domain.models.requests.donation.DonateRequestDTO;
 import secretstuffs.domain.models.responses.ApiResponseDTO;
+import secretstuffs.domain.models.responses.donation.CreateDonationResponseDTO;
+import secretstuffs.domain.models.responses.donation.DonationSummaryDTO;
 
 @RestController
 @RequestMapping("/api/donations")
 public class DonationController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+
     private final DonationService donationService;
-    private final UserService userService;
-    private final ItemPostService itemPostService;
     private final Logger log = LoggerFactory.getLogger(DonationController.class);
-    private final ModelMapper modelMapper;
+    private final IdempotencyKeyStore idempotencyKeyStore;
 
-    public DonationController(DonationService donationService, UserService userService, ItemPostService itemPostService, ModelMapper modelMapper) {
+    public DonationController(DonationService donationService, IdempotencyKeyStore idempotencyKeyStore) {
         this.donationService = donationService;
-        this.userService = userService;
-        this.itemPostService = itemPostService;
-        this.modelMapper = modelMapper;
+        this.idempotencyKeyStore = idempotencyKeyStore;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO<Donation>> getDonation(@PathVariable("id") Long id) {
+    public ResponseEntity<ApiResponseDTO<DonationSummaryDTO>> getDonation(@PathVariable("id") Long id) {
         log.info("Getting donation with id: {}", id);
-        Optional<Donation> donation = donationService.getDonationById(id);
+        Optional<DonationSummaryDTO> donation = donationService.getDonationById(id);
         if (donation.isPresent()) {
             return buildResponse("Donate", HttpStatus.OK, donation.get());
         }
@@ -46,44 +45,77 @@ public class DonationController {
     }
 
     @PostMapping("/")
-    public ResponseEntity<ApiResponseDTO<Donation>> createDonation(@RequestBody DonateRequestDTO dto) {
+    public ResponseEntity<ApiResponseDTO<CreateDonationResponseDTO>> createDonation(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody DonateRequestDTO dto,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
         log.info("Creating donation: {}", dto.getUserId() + " " + dto.getItemPostId());
-
-        // Check if user and item post exist
-        try {
-            User user = userService.getUserById(dto.getUserId());
-            log.info("User: {}", user);
-            ItemPost itemPost = itemPostService.getItemById(dto.getItemPostId());
-            log.info("Item post: {}", itemPost);
-        }
-        catch (BusinessException e) {
-            return buildResponse("User or item post not found", e.getStatusCode(), null);
-        }
-
-        Donation donation = modelMapper.map(dto, Donation.class);
-        Donation createdDonation = donationService.save(donation);
-        return buildResponse("Donation created successfully", HttpStatus.CREATED, createdDonation);
+        String callerEmail = caller != null ? caller.email() : null;
+        return idempotencyKeyStore.execute("donation-create", callerEmail, idempotencyKey, dto, () -> create(dto));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponseDTO<List<Donation>>> getDonationsByUserId(@PathVariable("userId") Long userId) {
+    public ResponseEntity<ApiResponseDTO<List<DonationSummaryDTO>>> getDonationsByUserId(
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("Getting donations for user with id: {}", userId);
-        List<Donation> donations = donationService.getDonationsByUserId(userId);
+        List<DonationSummaryDTO> donations = donationService.getDonationsByUserId(userId, page, size);
         return buildResponse("Donations fetched successfully", HttpStatus.OK, donations);
     }
 
     @GetMapping("/item/{itemPostId}")
-    public ResponseEntity<ApiResponseDTO<List<Donation>>> getDonationsByItemPostId(@PathVariable("itemPostId") Long itemPostId) {
+    public ResponseEntity<ApiResponseDTO<List<DonationSummaryDTO>>> getDonationsByItemPostId(
+            @PathVariable("itemPostId") Long itemPostId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
         log.info("Getting donations for item post with id: {}", itemPostId);
-        List<Donation> donations = donationService.getDonationsByItemPostId(itemPostId);
+        List<DonationSummaryDTO> donations = donationService.getDonationsByItemPostId(itemPostId, page, size);
         return buildResponse("Donations fetched successfully", HttpStatus.OK, donations);
     }
 
     @PostMapping("/donate")
-    public ResponseEntity<ApiResponseDTO<Donation>> donate(@RequestBody DonateRequestDTO dto) {
+    public ResponseEntity<ApiResponseDTO<DonationSummaryDTO>> donate(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody DonateRequestDTO dto,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
         log.info("Donating to item post with id: {}", dto.getItemPostId());
-        Donation donation = donationService.donate(dto.getUserId(), dto.getItemPostId());
-        return buildResponse("Donation updated successfully", HttpStatus.OK, donation);
+        String callerEmail = requireCaller(caller);
+        return idempotencyKeyStore.execute("donation-donate", callerEmail, idempotencyKey, dto, () -> {
+            Donation donation = donationService.donate(dto.getUserId(), dto.getItemPostId(), callerEmail);
+            return buildResponse("Donation updated successfully", HttpStatus.OK, DonationSummaryDTO.from(donation));
+        });
+    }
+
+    @PostMapping("/reject")
+    public ResponseEntity<ApiResponseDTO<DonationSummaryDTO>> reject(
+            @RequestBody DonateRequestDTO dto,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        log.info("Rejecting donation request of user {} for item post with id: {}", dto.getUserId(), dto.getItemPostId());
+        Donation donation = donationService.reject(dto.getUserId(), dto.getItemPostId(), requireCaller(caller));
+        return buildResponse("Donation rejected successfully", HttpStatus.OK, DonationSummaryDTO.from(donation));
+    }
+
+    private ResponseEntity<ApiResponseDTO<CreateDonationResponseDTO>> create(DonateRequestDTO dto) {
+        Long donationId = donationService.create(dto.getUserId(), dto.getItemPostId());
+        CreateDonationResponseDTO response = CreateDonationResponseDTO.builder()
+                .id(donationId)
+                .userId(dto.getUserId())
+                .itemPostId(dto.getItemPostId())
+                .status(DonationEnum.PENDING)
+                .build();
+        return buildResponse("Donation created successfully", HttpStatus.CREATED, response);
+    }
+
+    /**
+     * Only the owner of an item post may decide its donations, so these endpoints need a caller even
+     * if they are left out of {@code auth.protected-paths}.
+     */
+    private String requireCaller(AuthenticatedUser caller) {
+        if (caller == null) {
+            throw UserException.unauthenticated();
+        }
+        return caller.email();
     }
 
     private <T> ResponseEntity<ApiResponseDTO<T>> buildResponse(String message, HttpStatus status, T data) {
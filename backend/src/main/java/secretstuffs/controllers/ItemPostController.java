@@ -1,17 +1,16 @@
 package secretstuffs.controllers;
 
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import secretstuffs.application.mappers.ItemPostMapper;
 import secretstuffs.application.useCases.itemPost.ItemPostCommandHandler;
 import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.DeleteItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.FetchPostsByUserCommand;
 import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
-import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.enums.CategoryEnum;
 import secretstuffs.domain.enums.ConditionEnum;
 import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
@@ -19,6 +18,7 @@ import secretstuffs.domain.models.requests.itempost.UpdateItemPostRequestDTO;
 import secretstuffs.domain.models.responses.ApiResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.CreateItemPostResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,24 +28,24 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/items")
 public class ItemPostController {
 
-    private final ModelMapper modelMapper;
+    private final ItemPostMapper itemPostMapper;
     private final ItemPostCommandHandler itemPostCommandHandler;
 
-    public ItemPostController(ModelMapper modelMapper, ItemPostCommandHandler itemPostCommandHandler) {
-        this.modelMapper = modelMapper;
+    public ItemPostController(ItemPostMapper itemPostMapper, ItemPostCommandHandler itemPostCommandHandler) {
+        this.itemPostMapper = itemPostMapper;
         this.itemPostCommandHandler = itemPostCommandHandler;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO<ItemPost>> getItemById(@PathVariable("id") Long id) {
-        ItemPost response = itemPostCommandHandler.getItemPost(id);
+    public ResponseEntity<ApiResponseDTO<ItemPostDetailsDTO>> getItemById(@PathVariable("id") Long id) {
+        ItemPostDetailsDTO response = itemPostCommandHandler.getItemPost(id);
         return buildResponse("Item Fetched successfully", HttpStatus.OK, response);
     }
 
     @PostMapping("/create")
     public ResponseEntity<ApiResponseDTO<CreateItemPostResponseDTO>> createItemPost(
             @Valid @RequestBody CreateItemPostRequestDTO createItemPostRequestDTO) {
-        CreateItemPostCommand command = modelMapper.map(createItemPostRequestDTO, CreateItemPostCommand.class);
+        CreateItemPostCommand command = itemPostMapper.toCommand(createItemPostRequestDTO);
         CreateItemPostResponseDTO responseDTO = itemPostCommandHandler.createPost(command);
         return buildResponse("Post Successfully Added", HttpStatus.CREATED, responseDTO);
     }
@@ -85,8 +85,7 @@ public class ItemPostController {
     public ResponseEntity<ApiResponseDTO<UpdateItemPostCommand>> updateItemPost(
             @PathVariable Long id,
             @Valid @RequestBody UpdateItemPostRequestDTO updateItemPostRequestDTO) {
-        UpdateItemPostCommand command = modelMapper.map(updateItemPostRequestDTO, UpdateItemPostCommand.class);
-        command.setId(id);
+        UpdateItemPostCommand command = itemPostMapper.toCommand(updateItemPostRequestDTO, id);
         UpdateItemPostCommand updatedCommand = itemPostCommandHandler.updatePost(command);
         return buildResponse("Item post updated successfully", HttpStatus.OK, updatedCommand);
     }
@@ -1,39 +1,53 @@
 package secretstuffs.controllers;
 
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.application.mappers.UserMapper;
 import secretstuffs.application.useCases.user.UserCommandHandler;
 import secretstuffs.domain.dtos.commands.user.ChangePasswordCommand;
 import secretstuffs.domain.dtos.commands.user.DeleteUserCommand;
 import secretstuffs.domain.dtos.commands.user.FetchUserDetailsCommand;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
 import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
+import secretstuffs.domain.dtos.exception.UserException;
 import secretstuffs.domain.models.requests.user.ChangePasswordRequestDTO;
 import secretstuffs.domain.models.requests.user.UpdateUserRequestDTO;
 import secretstuffs.domain.models.responses.ApiResponseDTO;
 import secretstuffs.domain.models.responses.user.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final UserCommandHandler userCommandHandler;
 
-    public UserController(ModelMapper modelMapper, UserCommandHandler userCommandHandler) {
-        this.modelMapper = modelMapper;
+    public UserController(UserMapper userMapper, UserCommandHandler userCommandHandler) {
+        this.userMapper = userMapper;
         this.userCommandHandler = userCommandHandler;
     }
 
     @PutMapping("/update")
     public ResponseEntity<ApiResponseDTO<UpdateUserResponseDTO>> updateUserDetails(
             @RequestParam("email") String email,
-            @Valid @RequestBody UpdateUserRequestDTO dto) {
-        UpdateUserDetailsCommand command = mapToCommand(dto, email);
+            @Valid @RequestBody UpdateUserRequestDTO dto,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        requireSameUser(caller, email);
+        UpdateUserDetailsCommand command = userMapper.toCommand(dto, email);
         UpdateUserResponseDTO responseDTO = userCommandHandler.updateUser(command);
         return buildResponse("User updated successfully", HttpStatus.OK, responseDTO);
     }
@@ -45,16 +59,51 @@ public class UserController {
         return buildResponse("User profile fetched successfully", HttpStatus.OK, responseDTO);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponseDTO<UserImportStatusResponseDTO>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        UserImportStatusResponseDTO responseDTO = userCommandHandler.importUsers(body, contentType);
+        return buildResponse("User import started", HttpStatus.ACCEPTED, responseDTO);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponseDTO<UserImportStatusResponseDTO>> getImportStatus(@PathVariable String jobId) {
+        UserImportStatusResponseDTO responseDTO = userCommandHandler.fetchImportStatus(jobId);
+        return buildResponse("User import status fetched successfully", HttpStatus.OK, responseDTO);
+    }
+
+    @GetMapping("/{email}/stats")
+    public ResponseEntity<ApiResponseDTO<UserStatsResponseDTO>> getUserStats(
+            @PathVariable String email,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        requireSameUser(caller, email);
+        FetchUserDetailsCommand command = new FetchUserDetailsCommand(email);
+        UserStatsResponseDTO responseDTO = userCommandHandler.fetchUserStats(command);
+        return buildResponse("User stats fetched successfully", HttpStatus.OK, responseDTO);
+    }
+
     @DeleteMapping("/delete/{email}")
-    public ResponseEntity<ApiResponseDTO<String>> deleteUserProfile(@PathVariable String email) {
-        userCommandHandler.deleteUser(new DeleteUserCommand(email));
-        return buildResponse("User deleted successfully", HttpStatus.OK, null);
+    public ResponseEntity<ApiResponseDTO<UserDeletionStatusResponseDTO>> deleteUserProfile(
+            @PathVariable String email,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        requireSameUser(caller, email);
+        UserDeletionStatusResponseDTO responseDTO = userCommandHandler.deleteUser(new DeleteUserCommand(email));
+        return buildResponse("User deletion started", HttpStatus.ACCEPTED, responseDTO);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<ApiResponseDTO<UserDeletionStatusResponseDTO>> getDeletionStatus(@PathVariable String jobId) {
+        UserDeletionStatusResponseDTO responseDTO = userCommandHandler.fetchDeletionStatus(jobId);
+        return buildResponse("User deletion status fetched successfully", HttpStatus.OK, responseDTO);
     }
 
     @PutMapping("/change-password")
     public ResponseEntity<ApiResponseDTO<String>> changePassword(
             @RequestParam("email") String email,
-            @Valid @RequestBody ChangePasswordRequestDTO dto) {
+            @Valid @RequestBody ChangePasswordRequestDTO dto,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        requireSameUser(caller, email);
         ChangePasswordCommand command = new ChangePasswordCommand();
         command.setEmail(email);
         command.setOldPassword(dto.getOldPassword());
@@ -67,19 +116,56 @@ public class UserController {
     }
 
     @GetMapping("/")
-    public ResponseEntity<ApiResponseDTO<List<FetchUserProfileResponseDTO>>> listAllUsers() {
-        List<FetchUserProfileResponseDTO> users = userCommandHandler.fetchAllUsers();
+    public ResponseEntity<ApiResponseDTO<UserPageResponseDTO>> listAllUsers(
+            @RequestParam(value = "active", required = false) Boolean active,
+            @RequestParam(value = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(value = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        FetchUsersCommand command = new FetchUsersCommand(active, createdFrom, createdTo, namePrefix, afterId, size);
+        UserPageResponseDTO users = userCommandHandler.fetchUsers(command);
         return buildResponse("List of all users fetched successfully", HttpStatus.OK, users);
     }
 
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "active", required = false) Boolean active,
+            @RequestParam(value = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(value = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(value = "namePrefix", required = false) String namePrefix) {
+        FetchUsersCommand command = new FetchUsersCommand(active, createdFrom, createdTo, namePrefix, null, 0);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            userCommandHandler.exportUsers(command, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    /**
+     * Rejects, with 401, a request without a caller and, with 403, a caller acting on another user's
+     * account. The filter already answers 401 on {@code auth.protected-paths}; this also holds when a
+     * path is left out of that list.
+     */
+    private void requireSameUser(AuthenticatedUser caller, String email) {
+        if (caller == null) {
+            throw UserException.unauthenticated();
+        }
+        if (!caller.email().equalsIgnoreCase(email)) {
+            throw UserException.accessDenied();
+        }
+    }
+
     private <T> ResponseEntity<ApiResponseDTO<T>> buildResponse(String message, HttpStatus status, T data) {
         ApiResponseDTO<T> apiResponse = new ApiResponseDTO<>(message, status.value(), data);
         return ResponseEntity.status(status).body(apiResponse);
     }
-
-    private UpdateUserDetailsCommand mapToCommand(UpdateUserRequestDTO dto, String email) {
-        UpdateUserDetailsCommand command = modelMapper.map(dto, UpdateUserDetailsCommand.class);
-        command.setEmail(email);
-        return command;
-    }
 }
@@ -0,0 +1,62 @@
+package secretstuffs.domain.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executors for work that must not run on request threads. With
+ * {@code spring.threads.virtual.enabled} their workers are virtual threads; pool size and queue
+ * capacity still bound the work, so a full queue is rejected the same way.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(@Value("${spring.threads.virtual.enabled}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Runs bulk user imports one at a time; further imports wait in the queue.
+     */
+    @Bean(name = "userImportExecutor")
+    public ThreadPoolTaskExecutor userImportExecutor(@Value("${user-import.max-queued-jobs}") int maxQueuedJobs) {
+        return executor("user-import-", 1, maxQueuedJobs);
+    }
+
+    /**
+     * Runs cascading user deletions one at a time; further deletions wait in the queue.
+     */
+    @Bean(name = "userDeletionExecutor")
+    public ThreadPoolTaskExecutor userDeletionExecutor(@Value("${user-deletion.max-queued-jobs}") int maxQueuedJobs) {
+        return executor("user-deletion-", 1, maxQueuedJobs);
+    }
+
+    /**
+     * Sends queued emails in the background so that bulk operations do not wait on SMTP.
+     */
+    @Bean(name = "emailDispatchExecutor")
+    public ThreadPoolTaskExecutor emailDispatchExecutor(
+            @Value("${email-dispatch.threads}") int threads,
+            @Value("${email-dispatch.queue-capacity}") int queueCapacity
+    ) {
+        return executor("email-dispatch-", threads, queueCapacity);
+    }
+
+    private ThreadPoolTaskExecutor executor(String threadNamePrefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,82 @@
+package secretstuffs.domain.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Connection pools for the primary database and an optional read replica. Transactions marked
+ * {@code @Transactional(readOnly = true)} borrow from the replica pool once they run their first
+ * statement; everything else, including work outside a transaction, uses the primary. Without
+ * {@code datasource.replica.url} all connections come from the primary pool, so a single local
+ * database keeps working unchanged.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Connects to the replica with the primary's driver, and with its credentials unless
+     * {@code datasource.replica.username} and {@code datasource.replica.password} are set.
+     */
+    @Bean
+    @ConditionalOnProperty("datasource.replica.url")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password
+    ) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+    }
+
+    /**
+     * The proxy is given the pool's auto-commit mode and PostgreSQL's default isolation level up
+     * front, so it does not borrow a connection at startup to look them up.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+            @Value("${datasource.replica.url:}") String replicaUrl
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(primary);
+        dataSource.setDefaultAutoCommit(primary.isAutoCommit());
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        DataSource replicaDataSource = replica.getIfAvailable();
+        if (replicaDataSource != null) {
+            dataSource.setReadOnlyDataSource(replicaDataSource);
+        } else if (!replicaUrl.isEmpty()) {
+            // Only possible with -Dspring.aot.enabled=true, where conditions were evaluated at build time
+            throw new IllegalStateException(
+                    "datasource.replica.url is set, but the AOT build was processed without it");
+        }
+        return dataSource;
+    }
+}
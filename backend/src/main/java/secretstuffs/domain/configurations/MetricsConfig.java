@@ -0,0 +1,34 @@
+package secretstuffs.domain.configurations;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+import secretstuffs.application.helpers.WebSocketSessionMetrics;
+
+/**
+ * Meters not covered by Spring Boot's auto-configuration. Controllers are timed by the built-in
+ * {@code http.server.requests} timer and the Hikari pool and task executors are bound automatically;
+ * this adds {@code @Timed} support for command handlers, email, BCrypt and JWT, and STOMP sessions.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public WebSocketSessionMetrics webSocketSessionMetrics(
+            @Qualifier("subProtocolWebSocketHandler") WebSocketHandler handler) {
+        WebSocketHandler target = handler instanceof WebSocketHandlerDecorator decorator
+                ? decorator.getLastHandler()
+                : handler;
+        return new WebSocketSessionMetrics((SubProtocolWebSocketHandler) target);
+    }
+}
@@ -0,0 +1,33 @@
+package secretstuffs.domain.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Runs {@code @Scheduled} jobs on a pool of {@code scheduling.pool-size} threads, so a long job such
+ * as the email filter rebuild or the user_stats reconciliation does not delay frequent ones such as
+ * the revocation poll. The WebSocket heartbeat scheduler is a TaskScheduler bean too, which makes
+ * Spring Boot skip its own; this one is named {@code taskScheduler} so that Spring picks it for
+ * {@code @Scheduled}. With {@code spring.threads.virtual.enabled} its workers are virtual threads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            @Value("${scheduling.pool-size}") int poolSize
+    ) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        if (virtualThreads) {
+            scheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-", 1).factory());
+        }
+        return scheduler;
+    }
+}
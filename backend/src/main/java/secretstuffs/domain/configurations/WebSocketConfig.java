@@ -2,18 +2,23 @@ package secretstuffs.domain.configurations;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.converter.DefaultContentTypeResolver;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import secretstuffs.application.helpers.StompAuthenticationInterceptor;
 
 import java.util.List;
 
@@ -21,9 +26,25 @@ import java.util.List;
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final boolean virtualThreads;
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+
+    public WebSocketConfig(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            StompAuthenticationInterceptor stompAuthenticationInterceptor
+    ) {
+        this.virtualThreads = virtualThreads;
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+    }
+
+    /**
+     * The broker only serves {@code /queue}, the per-session destinations that {@code /user/queue/...}
+     * subscriptions are translated to. Serving {@code /user} directly would let any client subscribe
+     * to another user's {@code /user/{email}/...} destination, and it shadows the translated subscription.
+     */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/user")
+        registry.enableSimpleBroker("/queue")
                 .setTaskScheduler(heartBeatScheduler())
                 .setHeartbeatValue(new long[]{10000, 10000});
         registry.setApplicationDestinationPrefixes("/app");
@@ -37,6 +58,25 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    /**
+     * Authenticates CONNECT frames. With virtual threads each inbound STOMP frame gets its own virtual
+     * thread instead of a slot in Spring's default pool; otherwise the default pool is kept.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthenticationInterceptor);
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
     @Override
     public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
         DefaultContentTypeResolver resolver = new DefaultContentTypeResolver();
@@ -59,10 +99,22 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Bean
     public TaskScheduler heartBeatScheduler() {
+        if (virtualThreads) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("wss-heartbeat-thread-");
+            return scheduler;
+        }
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(1);
         scheduler.setThreadNamePrefix("wss-heartbeat-thread-");
         scheduler.initialize();
         return scheduler;
     }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
\ No newline at end of file
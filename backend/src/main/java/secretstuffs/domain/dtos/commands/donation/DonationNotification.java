@@ -0,0 +1,20 @@
+package secretstuffs.domain.dtos.commands.donation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import secretstuffs.domain.enums.DonationEnum;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DonationNotification {
+
+    private Long donationId;
+    private Long itemPostId;
+    private DonationEnum previousStatus;
+    private DonationEnum status;
+    private boolean itemPostClosed;
+}
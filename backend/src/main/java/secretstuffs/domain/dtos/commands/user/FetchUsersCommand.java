@@ -0,0 +1,19 @@
+package secretstuffs.domain.dtos.commands.user;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FetchUsersCommand {
+    private Boolean active;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private String namePrefix;
+    private Long afterId;
+    private int size;
+}
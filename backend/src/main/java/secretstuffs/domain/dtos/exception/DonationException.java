@@ -0,0 +1,35 @@
+package secretstuffs.domain.dtos.exception;
+
+import org.springframework.http.HttpStatus;
+import secretstuffs.domain.enums.DonationEnum;
+
+public class DonationException extends BusinessException {
+
+    public DonationException(String code, String message, HttpStatus status) {
+        super(code, message, status);
+    }
+
+    public static DonationException invalidStatusTransition(DonationEnum from, DonationEnum to) {
+        String message = "Donation cannot move from " + from + " to " + to;
+        return new DonationException("INVALID_DONATION_TRANSITION", message, HttpStatus.CONFLICT);
+    }
+
+    public static DonationException itemPostNotActive(Long itemPostId) {
+        String message = "Item post with ID: " + itemPostId + " is no longer accepting donations";
+        return new DonationException("ITEM_POST_NOT_ACTIVE", message, HttpStatus.CONFLICT);
+    }
+
+    public static DonationException notItemPostOwner(Long itemPostId) {
+        String message = "Only the owner of item post with ID: " + itemPostId + " can decide its donations";
+        return new DonationException("NOT_ITEM_POST_OWNER", message, HttpStatus.FORBIDDEN);
+    }
+
+    public static DonationException userOrItemPostNotFound() {
+        return new DonationException("USER_OR_ITEM_POST_NOT_FOUND", "User or item post not found", HttpStatus.NOT_FOUND);
+    }
+
+    public static DonationException alreadyExists(Long userId, Long itemPostId) {
+        String message = "User with ID: " + userId + " already requested item post with ID: " + itemPostId;
+        return new DonationException("DONATION_ALREADY_EXISTS", message, HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,20 @@
+package secretstuffs.domain.dtos.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyException extends BusinessException {
+
+    public IdempotencyException(String code, String message, HttpStatus status) {
+        super(code, message, status);
+    }
+
+    public static IdempotencyException keyReused(String key) {
+        String message = "Idempotency key " + key + " was already used with a different request";
+        return new IdempotencyException("IDEMPOTENCY_KEY_REUSED", message, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    public static IdempotencyException stillInProgress(String key) {
+        String message = "The request with idempotency key " + key + " is still in progress. Please retry later.";
+        return new IdempotencyException("IDEMPOTENCY_KEY_IN_PROGRESS", message, HttpStatus.CONFLICT);
+    }
+}
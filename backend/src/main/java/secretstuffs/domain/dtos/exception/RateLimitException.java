@@ -0,0 +1,21 @@
+package secretstuffs.domain.dtos.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class RateLimitException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitException(String code, String message, long retryAfterSeconds) {
+        super(code, message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static RateLimitException tooManyRequests(long retryAfterMillis) {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        String message = "Too many requests. Please try again in " + retryAfterSeconds + " seconds.";
+        return new RateLimitException("TOO_MANY_REQUESTS", message, retryAfterSeconds);
+    }
+}
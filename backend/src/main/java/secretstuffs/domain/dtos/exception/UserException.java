@@ -43,11 +43,41 @@ public class UserException extends BusinessException {
         return new UserException(message, "EMAIL_ALREADY_TAKEN", HttpStatus.CONFLICT);
     }
 
+    public static UserException deletionJobNotFound(String jobId) {
+        String message = "Deletion job " + jobId + " not found";
+        return new UserException(message, "DELETION_JOB_NOT_FOUND", HttpStatus.NOT_FOUND);
+    }
+
+    public static UserException deletionQueueFull() {
+        String message = "Too many deletions are queued, try again later";
+        return new UserException(message, "DELETION_QUEUE_FULL", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     public static UserException invalidCredentials() {
         String message = "Invalid email or password";
         return new UserException(message, "INVALID_CREDENTIALS", HttpStatus.UNAUTHORIZED);
     }
 
+    public static UserException unauthenticated() {
+        String message = "A valid access token is required";
+        return new UserException(message, "UNAUTHENTICATED", HttpStatus.UNAUTHORIZED);
+    }
+
+    public static UserException adminRequired() {
+        String message = "This endpoint is restricted to administrators";
+        return new UserException(message, "ADMIN_REQUIRED", HttpStatus.FORBIDDEN);
+    }
+
+    public static UserException invalidRefreshToken() {
+        String message = "The refresh token is invalid, expired or was already used";
+        return new UserException(message, "INVALID_REFRESH_TOKEN", HttpStatus.UNAUTHORIZED);
+    }
+
+    public static UserException accessDenied() {
+        String message = "The access token does not belong to this user";
+        return new UserException(message, "ACCESS_DENIED", HttpStatus.FORBIDDEN);
+    }
+
     public static UserException expiredToken() {
         String message = "Token has expired";
         return new UserException(message, "EXPIRED_TOKEN", HttpStatus.BAD_REQUEST);
@@ -0,0 +1,20 @@
+package secretstuffs.domain.dtos.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class UserImportException extends BusinessException {
+
+    public UserImportException(String code, String message, HttpStatus status) {
+        super(code, message, status);
+    }
+
+    public static UserImportException jobNotFound(String jobId) {
+        String message = "Import job " + jobId + " not found";
+        return new UserImportException("IMPORT_JOB_NOT_FOUND", message, HttpStatus.NOT_FOUND);
+    }
+
+    public static UserImportException queueFull() {
+        String message = "Too many imports are queued, try again later";
+        return new UserImportException("IMPORT_QUEUE_FULL", message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -2,6 +2,7 @@ package secretstuffs.domain.entities;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,7 +14,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chat_message")
+@Table(
+        name = "chat_message",
+        indexes = {
+                @Index(name = "idx_chat_message_sender_id", columnList = "sender_id"),
+                @Index(name = "idx_chat_message_recipient_id", columnList = "recipient_id"),
+                @Index(name = "idx_chat_message_chat_id_timestamp", columnList = "chat_id, timestamp")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
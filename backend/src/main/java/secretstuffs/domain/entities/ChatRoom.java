@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -16,7 +17,14 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "chat_room")
+@Table(
+        name = "chat_room",
+        indexes = {
+                @Index(name = "idx_chat_room_sender_id", columnList = "sender_id"),
+                @Index(name = "idx_chat_room_recipient_id", columnList = "recipient_id"),
+                @Index(name = "idx_chat_room_sender_id_recipient_id", columnList = "sender_id, recipient_id")
+        }
+)
 public class ChatRoom {
 
     @Id
@@ -2,6 +2,7 @@ package secretstuffs.domain.entities;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,7 +14,11 @@ import secretstuffs.domain.enums.DonationEnum;
 @Setter
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "donations")
+@Table(
+        name = "donations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_donations_user_item_post", columnNames = {"user_id", "item_post_id"}),
+        indexes = @Index(name = "idx_donations_item_post_id", columnList = "item_post_id")
+)
 public class Donation {
 
     @Id
@@ -35,11 +40,17 @@ public class Donation {
     @Column(nullable = false)
     private DonationEnum status = DonationEnum.PENDING;
 
-    @ManyToOne
+    // Optimistic lock: concurrent accept/reject decisions on the same donation fail instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_post_id")
     private ItemPost itemPost;
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import secretstuffs.domain.enums.CategoryEnum;
 import secretstuffs.domain.enums.ConditionEnum;
 import secretstuffs.domain.enums.ItemPostStatusEnum;
@@ -13,7 +14,13 @@ import secretstuffs.domain.enums.ItemPostStatusEnum;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "item_posts")
+@Table(
+        name = "item_posts",
+        indexes = {
+                @Index(name = "idx_item_posts_email", columnList = "email"),
+                @Index(name = "idx_item_posts_status", columnList = "status")
+        }
+)
 public class ItemPost {
 
     @Id
@@ -45,4 +52,9 @@ public class ItemPost {
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private ItemPostStatusEnum status = ItemPostStatusEnum.ACTIVE; // Status of the item post (e.g., ACTIVE, INACTIVE, DONATED)
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;  // Optimistic lock, guards concurrent donation acceptance
 }
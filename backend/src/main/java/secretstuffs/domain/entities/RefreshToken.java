@@ -0,0 +1,55 @@
+package secretstuffs.domain.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"),
+                @Index(name = "idx_refresh_token_session_id", columnList = "session_id"),
+                @Index(name = "idx_refresh_token_user_id", columnList = "user_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the token handed to the client; the raw token is never stored
+    @Column(name = "token_hash", nullable = false, length = 32)
+    @NotNull(message = "Token hash cannot be null")
+    private byte[] tokenHash;
+
+    // Plain id rather than a relation, so rotating a token never loads the user
+    @Column(name = "user_id", nullable = false)
+    @NotNull(message = "User id cannot be null")
+    private Long userId;
+
+    // Shared by every token of one login; access tokens carry it as their sid claim
+    @Column(name = "session_id", nullable = false, length = 36)
+    @NotBlank(message = "Session id cannot be blank")
+    private String sessionId;
+
+    @Column(name = "expiry_date", nullable = false)
+    @NotNull(message = "Expiry date cannot be null")
+    private LocalDateTime expiryDate;
+
+    // Set once the token was exchanged for a new one; presenting it again means it was copied
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(this.expiryDate);
+    }
+}
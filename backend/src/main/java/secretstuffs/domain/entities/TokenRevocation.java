@@ -0,0 +1,32 @@
+package secretstuffs.domain.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "token_revocation",
+        indexes = @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "session:<session id>" or "user:<user id>"
+    @Column(name = "subject", nullable = false, length = 64)
+    @NotBlank(message = "Subject cannot be blank")
+    private String subject;
+
+    @Column(name = "revoked_at", nullable = false)
+    @NotNull(message = "Revocation time cannot be null")
+    private LocalDateTime revokedAt;
+}
@@ -17,7 +17,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        indexes = {
+                @Index(name = "idx_users_created_at", columnList = "created_at"),
+                @Index(name = "idx_users_active_id", columnList = "active, id")
+        }
+)
 public class User {
 
     @Id
@@ -0,0 +1,52 @@
+package secretstuffs.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized dashboard counters of one user, keyed by email like item posts and chat rooms.
+ * Rows are only written through the upserts in UserStatsRepository.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStats {
+
+    @Id
+    @Column(nullable = false)
+    private String email;
+
+    @ColumnDefault("0")
+    @Column(name = "total_posts", nullable = false)
+    private long totalPosts;
+
+    @ColumnDefault("0")
+    @Column(name = "active_posts", nullable = false)
+    private long activePosts;
+
+    @ColumnDefault("0")
+    @Column(name = "items_donated", nullable = false)
+    private long itemsDonated;
+
+    @ColumnDefault("0")
+    @Column(name = "requests_pending", nullable = false)
+    private long requestsPending;
+
+    @ColumnDefault("0")
+    @Column(name = "requests_accepted", nullable = false)
+    private long requestsAccepted;
+
+    @ColumnDefault("0")
+    @Column(name = "requests_rejected", nullable = false)
+    private long requestsRejected;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
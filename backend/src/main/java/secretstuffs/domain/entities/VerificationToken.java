@@ -6,7 +6,14 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "verification_token")
+@Table(
+        name = "verification_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_verification_token_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_verification_token_expiry_date", columnList = "expiry_date"),
+                @Index(name = "idx_verification_token_user_email", columnList = "user_email")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,9 +25,10 @@ public class VerificationToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    @NotBlank(message = "Token cannot be blank")
-    private String token;
+    // SHA-256 of the token sent by email; the raw token is never stored
+    @Column(name = "token_hash", nullable = false, length = 32)
+    @NotNull(message = "Token hash cannot be null")
+    private byte[] tokenHash;
 
     @Column(name = "user_email", nullable = false)
     @Email(message = "Invalid email format")
@@ -34,4 +42,4 @@ public class VerificationToken {
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(this.expiryDate);
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,17 @@ public enum DonationEnum {
         this.description = description;
     }
 
+    /**
+     * Checks whether a donation may move from this status to the target status.
+     * Only pending donations can be decided; accepted and rejected are final.
+     *
+     * @param target the requested status
+     * @return true if the transition is allowed, false otherwise
+     */
+    public boolean canTransitionTo(DonationEnum target) {
+        return this == PENDING && (target == ACCEPTED || target == REJECTED);
+    }
+
     /**
      * Finds a donation status by its name, ignoring case.
      *
@@ -0,0 +1,11 @@
+package secretstuffs.domain.enums;
+
+/**
+ * Lifecycle of a background job started from the API.
+ */
+public enum JobStatusEnum {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package secretstuffs.domain.events;
+
+import secretstuffs.domain.enums.DonationEnum;
+
+/**
+ * A single donation moving from one status to another.
+ */
+public record DonationStatusChange(
+        Long donationId,
+        Long userId,
+        String userEmail,
+        DonationEnum previousStatus,
+        DonationEnum newStatus
+) {
+}
@@ -0,0 +1,21 @@
+package secretstuffs.domain.events;
+
+import java.util.List;
+
+/**
+ * Published by DonationService for every state-machine step on an item post, including the
+ * sibling donations rejected by an acceptance. Listeners (caches, notifications, counters)
+ * receive the full set of changes made in one transaction.
+ *
+ * @param itemPostId         the item post the donations belong to
+ * @param itemPostOwnerEmail the email of the user who posted the item
+ * @param itemPostClosed     true if the item post was deactivated by this change
+ * @param changes            every donation whose status changed
+ */
+public record DonationStatusChangedEvent(
+        Long itemPostId,
+        String itemPostOwnerEmail,
+        boolean itemPostClosed,
+        List<DonationStatusChange> changes
+) {
+}
@@ -10,6 +10,7 @@ import lombok.*;
 public class LoginUserResponseDTO {
     private Long id;
     private String token;
+    private String refreshToken;
     private final String tokenType = "Bearer";
     private long expiresAt;
     private String email;
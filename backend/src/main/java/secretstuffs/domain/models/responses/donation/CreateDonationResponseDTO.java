@@ -0,0 +1,16 @@
+package secretstuffs.domain.models.responses.donation;
+
+import lombok.*;
+import secretstuffs.domain.enums.DonationEnum;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateDonationResponseDTO {
+    private Long id;
+    private Long userId;
+    private Long itemPostId;
+    private DonationEnum status;
+}
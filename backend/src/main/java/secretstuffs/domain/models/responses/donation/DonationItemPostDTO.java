@@ -0,0 +1,17 @@
+package secretstuffs.domain.models.responses.donation;
+
+import lombok.*;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationItemPostDTO {
+    private Long id;
+    private String email;
+    private String title;
+    private String itemPostImageUrl;
+    private ItemPostStatusEnum status;
+}
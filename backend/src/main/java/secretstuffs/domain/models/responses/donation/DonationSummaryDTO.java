@@ -0,0 +1,48 @@
+package secretstuffs.domain.models.responses.donation;
+
+import lombok.*;
+import secretstuffs.domain.entities.Donation;
+import secretstuffs.domain.entities.ItemPost;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Donation as returned by the API: the requester and the item post are reduced to the fields the
+ * donation screens display, so neither entity graph (or the user's password hash) is serialized.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationSummaryDTO {
+    private Long id;
+    private DonationEnum status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private DonationUserDTO user;
+    private DonationItemPostDTO itemPost;
+
+    // Flat constructor used by the JPQL constructor expressions in DonationRepository
+    public DonationSummaryDTO(Long id, DonationEnum status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                              Long userId, String firstName, String lastName, String userEmail, String profileImageURL,
+                              Long itemPostId, String itemPostEmail, String title, String itemPostImageUrl,
+                              ItemPostStatusEnum itemPostStatus) {
+        this(id, status, createdAt, updatedAt,
+                new DonationUserDTO(userId, firstName, lastName, userEmail, profileImageURL),
+                new DonationItemPostDTO(itemPostId, itemPostEmail, title, itemPostImageUrl, itemPostStatus));
+    }
+
+    public static DonationSummaryDTO from(Donation donation) {
+        User user = donation.getUser();
+        ItemPost itemPost = donation.getItemPost();
+        return new DonationSummaryDTO(
+                donation.getId(), donation.getStatus(), donation.getCreatedAt(), donation.getUpdatedAt(),
+                user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getProfileImageURL(),
+                itemPost.getId(), itemPost.getEmail(), itemPost.getTitle(), itemPost.getItemPostImageUrl(),
+                itemPost.getStatus());
+    }
+}
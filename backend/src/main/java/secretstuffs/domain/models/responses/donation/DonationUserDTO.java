@@ -0,0 +1,16 @@
+package secretstuffs.domain.models.responses.donation;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationUserDTO {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String profileImageURL;
+}
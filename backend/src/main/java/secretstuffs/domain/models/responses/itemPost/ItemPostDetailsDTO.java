@@ -0,0 +1,30 @@
+package secretstuffs.domain.models.responses.itemPost;
+
+import secretstuffs.domain.entities.ItemPost;
+import secretstuffs.domain.enums.CategoryEnum;
+import secretstuffs.domain.enums.ConditionEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+
+/**
+ * Item post as returned by the single post endpoint. Immutable, so one instance can be handed to
+ * every request that shared a coalesced load.
+ */
+public record ItemPostDetailsDTO(
+        Long id,
+        String email,
+        String title,
+        String address,
+        String description,
+        CategoryEnum category,
+        String itemPostImageUrl,
+        ConditionEnum condition,
+        ItemPostStatusEnum status
+) {
+
+    public static ItemPostDetailsDTO from(ItemPost itemPost) {
+        return new ItemPostDetailsDTO(
+                itemPost.getId(), itemPost.getEmail(), itemPost.getTitle(), itemPost.getAddress(),
+                itemPost.getDescription(), itemPost.getCategory(), itemPost.getItemPostImageUrl(),
+                itemPost.getCondition(), itemPost.getStatus());
+    }
+}
@@ -0,0 +1,23 @@
+package secretstuffs.domain.models.responses.user;
+
+import lombok.*;
+import secretstuffs.domain.enums.JobStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletionStatusResponseDTO {
+    private String jobId;
+    private String email;
+    private JobStatusEnum status;
+    private String currentStep;
+    private Map<String, Long> deletedRows;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,34 @@
+package secretstuffs.domain.models.responses.user;
+
+import lombok.*;
+import secretstuffs.domain.enums.JobStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportStatusResponseDTO {
+    private String jobId;
+    private JobStatusEnum status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<RowError> errors;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,16 @@
+package secretstuffs.domain.models.responses.user;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponseDTO {
+    private List<FetchUserProfileResponseDTO> users;
+    // Pass as afterId to fetch the next page; null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,19 @@
+package secretstuffs.domain.models.responses.user;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsResponseDTO {
+    private String email;
+    private long totalPosts;
+    private long activePosts;
+    private long itemsDonated;
+    private long donationsRequested;
+    private long requestsPending;
+    private long requestsAccepted;
+    private long requestsRejected;
+}
@@ -1,12 +1,23 @@
 package secretstuffs.infrastructure.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.ChatMessage;
 
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, String> {
-    List<ChatMessage> findByChatId(String chatId);
+    List<ChatMessage> findByChatIdOrderByTimestamp(String chatId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM chat_message WHERE id IN (" +
+            "SELECT id FROM chat_message WHERE sender_id = :participant " +
+            "UNION ALL SELECT id FROM chat_message WHERE recipient_id = :participant LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteBatchByParticipant(String participant, int batchSize);
 }
@@ -1,8 +1,10 @@
 package secretstuffs.infrastructure.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.ChatRoom;
 
 import java.util.List;
@@ -24,4 +26,12 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             "WHERE (c.senderId = :senderId AND c.recipientId = :recipientId) " +
             "OR (c.senderId = :recipientId AND c.recipientId = :senderId)")
     boolean existsBySenderAndRecipient(String senderId, String recipientId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM chat_room WHERE id IN (" +
+            "SELECT id FROM chat_room WHERE sender_id = :participant " +
+            "UNION ALL SELECT id FROM chat_room WHERE recipient_id = :participant LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteBatchByParticipant(String participant, int batchSize);
 }
\ No newline at end of file
@@ -1,16 +1,79 @@
 package secretstuffs.infrastructure.repositories;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.Donation;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.models.responses.donation.DonationSummaryDTO;
 
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
-    List<Donation> findByUser_Id(Long userId);
-    List<Donation> findByItemPost_Id(Long itemPostId);
+    String SUMMARY_SELECT = "SELECT new secretstuffs.domain.models.responses.donation.DonationSummaryDTO(" +
+            "d.id, d.status, d.createdAt, d.updatedAt, " +
+            "u.id, u.firstName, u.lastName, u.email, u.profileImageURL, " +
+            "p.id, p.email, p.title, p.itemPostImageUrl, p.status) " +
+            "FROM Donation d JOIN d.user u JOIN d.itemPost p ";
+
     Optional<Donation> findByUser_IdAndItemPost_Id(Long userId, Long itemPostId);
     Optional<Donation> findById(Long id);
+
+    // Donation pages for the history screens: one joined query straight into the response DTO
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY d.createdAt DESC, d.id DESC")
+    List<DonationSummaryDTO> findSummariesByUserId(Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :itemPostId ORDER BY d.createdAt DESC, d.id DESC")
+    List<DonationSummaryDTO> findSummariesByItemPostId(Long itemPostId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE d.id = :id")
+    Optional<DonationSummaryDTO> findSummaryById(Long id);
+
+    // Single round trip create: the foreign keys check that user and item post exist and the
+    // (user_id, item_post_id) unique constraint turns a duplicate request into an empty result
+    @Transactional
+    @Query(value = "INSERT INTO donations (user_id, item_post_id, status, version, created_at, updated_at) " +
+            "VALUES (:userId, :itemPostId, 'PENDING', 0, :createdAt, :createdAt) " +
+            "ON CONFLICT (user_id, item_post_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(Long userId, Long itemPostId, LocalDateTime createdAt);
+
+    // Donations of an item post in the given status, other than the excluded one, with their requester
+    @Query("SELECT d.id AS id, u.id AS userId, u.email AS userEmail FROM Donation d JOIN d.user u " +
+            "WHERE d.itemPost.id = :itemPostId AND d.status = :status AND d.id <> :excludedId")
+    List<DonationUserView> findByItemPostAndStatusExcluding(Long itemPostId, DonationEnum status, Long excludedId);
+
+    // Set-based status change for all donations of an item post in the given status, other than the excluded one.
+    // Bumps the version so concurrent decisions on the affected donations fail their optimistic check.
+    @Modifying
+    @Query("UPDATE Donation d SET d.status = :newStatus, d.updatedAt = :updatedAt, d.version = d.version + 1 " +
+            "WHERE d.itemPost.id = :itemPostId AND d.status = :currentStatus AND d.id <> :excludedId")
+    int updateStatusByItemPostExcluding(Long itemPostId, DonationEnum currentStatus, DonationEnum newStatus,
+                                        Long excludedId, LocalDateTime updatedAt);
+
+    // Deletes at most batchSize donation requests made by the user
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM donations WHERE id IN (" +
+            "SELECT id FROM donations WHERE user_id = :userId LIMIT :batchSize)", nativeQuery = true)
+    int deleteBatchByUserId(Long userId, int batchSize);
+
+    // Deletes at most batchSize donation requests made for item posts owned by the email
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM donations WHERE id IN (" +
+            "SELECT d.id FROM donations d JOIN item_posts p ON p.id = d.item_post_id " +
+            "WHERE p.email = :ownerEmail LIMIT :batchSize)", nativeQuery = true)
+    int deleteBatchByItemPostOwner(String ownerEmail, int batchSize);
+
+    interface DonationUserView {
+        Long getId();
+        Long getUserId();
+        String getUserEmail();
+    }
 }
@@ -1,7 +1,10 @@
 package secretstuffs.infrastructure.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.enums.ItemPostStatusEnum;
 
@@ -12,4 +15,10 @@ public interface ItemPostRepository extends JpaRepository<ItemPost, Long> {
     List<ItemPost> findAllByEmail(String email);
     List<ItemPost> findAllByStatus(ItemPostStatusEnum status);
     boolean existsById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM item_posts WHERE id IN (" +
+            "SELECT id FROM item_posts WHERE email = :email LIMIT :batchSize)", nativeQuery = true)
+    int deleteBatchByEmail(String email, int batchSize);
 }
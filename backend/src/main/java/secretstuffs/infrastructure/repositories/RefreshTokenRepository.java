@@ -0,0 +1,38 @@
+package secretstuffs.infrastructure.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.domain.entities.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    // Marks the token rotated unless another request got there first; returns 0 in that case
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken t SET t.rotatedAt = :rotatedAt WHERE t.id = :id AND t.rotatedAt IS NULL")
+    int markRotated(Long id, LocalDateTime rotatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.sessionId = :sessionId")
+    int deleteAllBySessionId(String sessionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId")
+    int deleteAllByUserId(Long userId);
+
+    // Deletes at most batchSize expired tokens, oldest first, walking the expiry_date index
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_token WHERE id IN (" +
+            "SELECT id FROM refresh_token WHERE expiry_date < :cutoff " +
+            "ORDER BY expiry_date LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime cutoff, int batchSize);
+}
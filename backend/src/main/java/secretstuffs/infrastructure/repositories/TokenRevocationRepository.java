@@ -0,0 +1,19 @@
+package secretstuffs.infrastructure.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.domain.entities.TokenRevocation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByRevokedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < :cutoff")
+    int deleteRevokedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,58 @@
+package secretstuffs.infrastructure.repositories;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import secretstuffs.domain.entities.User;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for users. The users table uses identity ids, which Hibernate cannot batch,
+ * so bulk imports go through here instead of {@link UserRepository#saveAll}.
+ */
+@Repository
+public class UserBulkInsertRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO users (first_name, last_name, email, password, profile_image_url, active, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBulkInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the users in one JDBC batch. Rows whose email already exists are skipped.
+     *
+     * @param users users with hashed passwords and timestamps set
+     * @return one update count per user; 0 means the email was already taken
+     */
+    public int[] insertAll(List<User> users) {
+        return jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                User user = users.get(i);
+                statement.setString(1, user.getFirstName());
+                statement.setString(2, user.getLastName());
+                statement.setString(3, user.getEmail());
+                statement.setString(4, user.getPassword());
+                statement.setString(5, user.getProfileImageURL());
+                statement.setBoolean(6, user.isActive());
+                statement.setTimestamp(7, Timestamp.valueOf(user.getCreatedAt()));
+                statement.setTimestamp(8, Timestamp.valueOf(user.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+    }
+}
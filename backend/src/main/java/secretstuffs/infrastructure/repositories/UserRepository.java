@@ -1,19 +1,55 @@
 package secretstuffs.infrastructure.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Loads a user on a lookup cache miss. Declared here rather than inherited, because
+     * {@link #findById} runs in SimpleJpaRepository's read-only transaction and would be routed to
+     * the replica, which may not have replayed the change that evicted the entry yet.
+     */
+    @Query("select u from User u where u.id = :id")
+    Optional<User> loadById(@Param("id") Long id);
+
+    boolean existsByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.email from User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
     @Modifying
     @Transactional
     void deleteByEmail(String email);
+
+    /**
+     * Deletes the user row if it is still there.
+     *
+     * @return the number of rows deleted, 0 when the user was already gone
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from User u where u.id = :id")
+    int deleteUserById(@Param("id") Long id);
 }
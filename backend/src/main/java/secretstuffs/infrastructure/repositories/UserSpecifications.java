@@ -0,0 +1,58 @@
+package secretstuffs.infrastructure.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
+import secretstuffs.domain.entities.User;
+
+import java.util.Locale;
+
+/**
+ * Filters for the admin user listing. Every page is keyed on the user id, so a page costs the same
+ * index range scan no matter how deep into the listing it is.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> matching(FetchUsersCommand command, Long afterId) {
+        return Specification.where(idAfter(afterId))
+                .and(isActive(command.getActive()))
+                .and(createdFrom(command))
+                .and(createdTo(command))
+                .and(nameStartsWith(command.getNamePrefix()));
+    }
+
+    static Specification<User> idAfter(Long afterId) {
+        return afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    static Specification<User> isActive(Boolean active) {
+        return active == null ? null : (root, query, cb) -> cb.equal(root.get("active"), active);
+    }
+
+    static Specification<User> createdFrom(FetchUsersCommand command) {
+        return command.getCreatedFrom() == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), command.getCreatedFrom());
+    }
+
+    static Specification<User> createdTo(FetchUsersCommand command) {
+        return command.getCreatedTo() == null ? null
+                : (root, query, cb) -> cb.lessThan(root.get("createdAt"), command.getCreatedTo());
+    }
+
+    // Matches lower(first_name) or lower(last_name) by prefix, served by the text_pattern_ops indexes
+    static Specification<User> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
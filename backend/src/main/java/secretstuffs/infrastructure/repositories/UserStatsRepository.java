@@ -0,0 +1,75 @@
+package secretstuffs.infrastructure.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import secretstuffs.domain.entities.UserStats;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, String> {
+
+    String APPLY_DELTA_ON_CONFLICT = "ON CONFLICT (email) DO UPDATE SET " +
+            "total_posts = user_stats.total_posts + EXCLUDED.total_posts, " +
+            "active_posts = user_stats.active_posts + EXCLUDED.active_posts, " +
+            "items_donated = user_stats.items_donated + EXCLUDED.items_donated, " +
+            "requests_pending = user_stats.requests_pending + EXCLUDED.requests_pending, " +
+            "requests_accepted = user_stats.requests_accepted + EXCLUDED.requests_accepted, " +
+            "requests_rejected = user_stats.requests_rejected + EXCLUDED.requests_rejected, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Adds the deltas to the user's counters, creating the row on first use
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (email, total_posts, active_posts, items_donated, " +
+            "requests_pending, requests_accepted, requests_rejected, updated_at) " +
+            "VALUES (:email, :totalPosts, :activePosts, :itemsDonated, :pending, :accepted, :rejected, now()) " +
+            APPLY_DELTA_ON_CONFLICT, nativeQuery = true)
+    int applyDelta(String email, long totalPosts, long activePosts, long itemsDonated,
+                   long pending, long accepted, long rejected);
+
+    // Same as applyDelta for a user known only by id; resolves the email in the same statement
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (email, total_posts, active_posts, items_donated, " +
+            "requests_pending, requests_accepted, requests_rejected, updated_at) " +
+            "SELECT u.email, 0, 0, 0, :pending, :accepted, :rejected, now() FROM users u WHERE u.id = :userId " +
+            APPLY_DELTA_ON_CONFLICT, nativeQuery = true)
+    int applyRequestDeltaByUserId(Long userId, long pending, long accepted, long rejected);
+
+    // Recomputes every user's counters from the source tables in one set-based statement
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (email, total_posts, active_posts, items_donated, " +
+            "requests_pending, requests_accepted, requests_rejected, updated_at) " +
+            "SELECT u.email, COALESCE(p.total, 0), COALESCE(p.active, 0), COALESCE(o.donated, 0), " +
+            "COALESCE(r.pending, 0), COALESCE(r.accepted, 0), COALESCE(r.rejected, 0), now() " +
+            "FROM users u " +
+            "LEFT JOIN (SELECT email, COUNT(*) AS total, COUNT(*) FILTER (WHERE status = 'ACTIVE') AS active " +
+            "           FROM item_posts GROUP BY email) p ON p.email = u.email " +
+            "LEFT JOIN (SELECT ip.email, COUNT(DISTINCT ip.id) AS donated FROM item_posts ip " +
+            "           JOIN donations d ON d.item_post_id = ip.id AND d.status = 'ACCEPTED' GROUP BY ip.email) o " +
+            "           ON o.email = u.email " +
+            "LEFT JOIN (SELECT user_id, COUNT(*) FILTER (WHERE status = 'PENDING') AS pending, " +
+            "           COUNT(*) FILTER (WHERE status = 'ACCEPTED') AS accepted, " +
+            "           COUNT(*) FILTER (WHERE status = 'REJECTED') AS rejected " +
+            "           FROM donations GROUP BY user_id) r ON r.user_id = u.id " +
+            "ON CONFLICT (email) DO UPDATE SET " +
+            "total_posts = EXCLUDED.total_posts, active_posts = EXCLUDED.active_posts, " +
+            "items_donated = EXCLUDED.items_donated, requests_pending = EXCLUDED.requests_pending, " +
+            "requests_accepted = EXCLUDED.requests_accepted, requests_rejected = EXCLUDED.requests_rejected, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int reconcileAll();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserStats s WHERE s.email = :email")
+    int deleteByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_stats s WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.email = s.email)",
+            nativeQuery = true)
+    int deleteOrphans();
+}
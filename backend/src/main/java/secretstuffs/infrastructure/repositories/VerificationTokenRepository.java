@@ -1,11 +1,36 @@
 package secretstuffs.infrastructure.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import secretstuffs.domain.entities.VerificationToken;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Long> {
-    Optional<VerificationToken> findByToken(String token);
+    Optional<VerificationToken> findByTokenHash(byte[] tokenHash);
 
     VerificationToken save(VerificationToken token);
+
+    // Deletes at most batchSize expired tokens, oldest first, walking the expiry_date index
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM verification_token WHERE id IN (" +
+            "SELECT id FROM verification_token WHERE expiry_date < :cutoff " +
+            "ORDER BY expiry_date LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime cutoff, int batchSize);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VerificationToken t WHERE t.userEmail = :userEmail")
+    int deleteAllByUserEmail(String userEmail);
+
+    // Swaps the email's tokens for the given one in one transaction, so a failed insert keeps the old link valid
+    @Transactional
+    default VerificationToken replaceAllByUserEmail(VerificationToken token) {
+        deleteAllByUserEmail(token.getUserEmail());
+        return save(token);
+    }
 }
@@ -0,0 +1,77 @@
+-- Schema as created by spring.jpa.hibernate.ddl-auto=update before migrations were introduced,
+-- constraint names included. Databases that already have it are baselined at this version
+-- (spring.flyway.baseline-on-migrate); every later change is a migration of its own.
+
+create table chat_message (
+    timestamp timestamp(6),
+    chat_id varchar(255),
+    content varchar(255),
+    id varchar(255) not null,
+    recipient_id varchar(255),
+    sender_id varchar(255),
+    primary key (id)
+);
+
+create table chat_room (
+    id bigint generated by default as identity,
+    chat_id varchar(255),
+    recipient_id varchar(255),
+    sender_id varchar(255),
+    primary key (id)
+);
+
+create table donations (
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    item_post_id bigint,
+    updated_at timestamp(6) not null,
+    user_id bigint,
+    status varchar(255) not null check (status in ('PENDING','ACCEPTED','REJECTED')),
+    primary key (id)
+);
+
+create table item_posts (
+    id bigint generated by default as identity,
+    address varchar(255),
+    category varchar(255) check (category in ('FURNITURE','ELECTRONICS','BOOKS','VEHICLE','CLOTHING','TOYS','SPORTS_EQUIPMENT','HOME_APPLIANCES','HEALTHCARE','SCHOOL_SUPPLIES','FOOD','BABY_PRODUCTS','PET_SUPPLIES','ART_SUPPLIES','TOOLS','MUSICAL_INSTRUMENTS','MISC')),
+    condition varchar(255) check (condition in ('NEW','LIKE_NEW','GOOD','FAIR','POOR','DAMAGED')),
+    description varchar(255),
+    email varchar(255),
+    item_post_image_url varchar(255),
+    status varchar(255) check (status in ('ACTIVE','INACTIVE','DONATED')),
+    title varchar(255),
+    primary key (id)
+);
+
+create table users (
+    active boolean not null,
+    created_at timestamp(6) not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255) not null,
+    profile_image_url varchar(255),
+    primary key (id),
+    constraint uk6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
+
+create table verification_token (
+    expiry_date timestamp(6) not null,
+    id bigint generated by default as identity,
+    token varchar(255) not null,
+    user_email varchar(255) not null,
+    primary key (id),
+    constraint ukp678btf3r9yu6u8aevyb4ff0m unique (token)
+);
+
+alter table if exists donations
+    add constraint FKkle36jy0jggufr24eydxq46nh
+    foreign key (item_post_id)
+    references item_posts;
+
+alter table if exists donations
+    add constraint FKd2p196clbvqgbemy05ndspwu
+    foreign key (user_id)
+    references users;
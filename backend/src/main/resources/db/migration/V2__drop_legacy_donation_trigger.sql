@@ -0,0 +1,6 @@
+-- The donation acceptance cascade runs in DonationService (see DonationService.donate), where the
+-- sibling rejections and the item post deactivation are visible to Hibernate and published as
+-- DonationStatusChangedEvent. Databases created before that change still carry the old row-level
+-- trigger, which would reject the siblings a second time.
+DROP TRIGGER IF EXISTS donation_status_update ON donations;
+DROP FUNCTION IF EXISTS update_other_donations();
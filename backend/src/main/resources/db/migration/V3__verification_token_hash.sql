@@ -0,0 +1,26 @@
+-- Verification and reset tokens are stored as SHA-256 digests instead of in plain text. Links
+-- already sent keep working: their rows are hashed in place before the plain column is dropped.
+-- Databases created by ddl-auto after the change already have token_hash and may still carry the
+-- unused NOT NULL token column, which made every insert fail.
+alter table verification_token add column if not exists token_hash bytea;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'verification_token' AND column_name = 'token') THEN
+        UPDATE verification_token
+        SET token_hash = sha256(convert_to(token, 'UTF8'))
+        WHERE token_hash IS NULL;
+
+        ALTER TABLE verification_token DROP COLUMN token;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_verification_token_token_hash') THEN
+        ALTER TABLE verification_token
+            ADD CONSTRAINT uk_verification_token_token_hash UNIQUE (token_hash);
+    END IF;
+END
+$$;
+
+alter table verification_token alter column token_hash set not null;
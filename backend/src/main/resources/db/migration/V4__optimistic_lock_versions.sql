@@ -0,0 +1,3 @@
+-- Optimistic lock versions for concurrent donation decisions. Existing rows start at 0.
+alter table donations add column if not exists version bigint default 0 not null;
+alter table item_posts add column if not exists version bigint default 0 not null;
@@ -0,0 +1,30 @@
+-- Per-user dashboard counters, kept up to date by UserStatsService and recomputed nightly.
+-- Filled here from the existing rows, so dashboards are right before the first reconciliation.
+create table if not exists user_stats (
+    active_posts bigint default 0 not null,
+    items_donated bigint default 0 not null,
+    requests_accepted bigint default 0 not null,
+    requests_pending bigint default 0 not null,
+    requests_rejected bigint default 0 not null,
+    total_posts bigint default 0 not null,
+    updated_at timestamp(6) not null,
+    email varchar(255) not null,
+    primary key (email)
+);
+
+-- Same computation as UserStatsRepository.reconcileAll
+insert into user_stats (email, total_posts, active_posts, items_donated,
+                        requests_pending, requests_accepted, requests_rejected, updated_at)
+select u.email, coalesce(p.total, 0), coalesce(p.active, 0), coalesce(o.donated, 0),
+       coalesce(r.pending, 0), coalesce(r.accepted, 0), coalesce(r.rejected, 0), now()
+from users u
+left join (select email, count(*) as total, count(*) filter (where status = 'ACTIVE') as active
+           from item_posts group by email) p on p.email = u.email
+left join (select ip.email, count(distinct ip.id) as donated from item_posts ip
+           join donations d on d.item_post_id = ip.id and d.status = 'ACCEPTED' group by ip.email) o
+          on o.email = u.email
+left join (select user_id, count(*) filter (where status = 'PENDING') as pending,
+                  count(*) filter (where status = 'ACCEPTED') as accepted,
+                  count(*) filter (where status = 'REJECTED') as rejected
+           from donations group by user_id) r on r.user_id = u.id
+on conflict (email) do nothing;
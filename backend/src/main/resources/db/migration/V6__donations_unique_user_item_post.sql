@@ -0,0 +1,16 @@
+-- One donation request per user and item post. Databases created before the constraint may hold
+-- duplicates, which are removed first, keeping the oldest request.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_donations_user_item_post') THEN
+        DELETE FROM donations d
+        USING donations kept
+        WHERE d.user_id = kept.user_id
+          AND d.item_post_id = kept.item_post_id
+          AND d.id > kept.id;
+
+        ALTER TABLE donations
+            ADD CONSTRAINT uk_donations_user_item_post UNIQUE (user_id, item_post_id);
+    END IF;
+END
+$$;
@@ -0,0 +1,43 @@
+-- Indexes for the hot read paths. Built concurrently, so Flyway runs this script outside a
+-- transaction and writes are not blocked on large tables.
+-- donations(user_id, item_post_id) and verification_token(token_hash) are already covered by
+-- their unique constraints.
+
+-- Foreign keys and participants looked up on their own: item post owners, donation cascades,
+-- chat participants
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_item_posts_email
+    ON item_posts (email);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_donations_item_post_id
+    ON donations (item_post_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_message_sender_id
+    ON chat_message (sender_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_message_recipient_id
+    ON chat_message (recipient_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_room_sender_id
+    ON chat_room (sender_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_room_recipient_id
+    ON chat_room (recipient_id);
+
+-- VerificationTokenRepository.deleteExpiredBatch (sweeper) and deleteAllByUserEmail
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_verification_token_expiry_date
+    ON verification_token (expiry_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_verification_token_user_email
+    ON verification_token (user_email);
+
+-- Admin user listing: keyset pages by id, filtered by status and sign-up date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at
+    ON users (created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_id
+    ON users (active, id);
+
+-- ItemPostRepository.findAllByStatus (active posts feed)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_item_posts_status
+    ON item_posts (status);
+
+-- ChatMessageRepository.findByChatIdOrderByTimestamp (chat history)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_message_chat_id_timestamp
+    ON chat_message (chat_id, timestamp);
+
+-- ChatRoomRepository.findBySenderIdAndRecipientId and existsBySenderAndRecipient
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_room_sender_id_recipient_id
+    ON chat_room (sender_id, recipient_id);
@@ -0,0 +1,6 @@
+-- Prefix indexes for the admin user listing's name filter (lower(name) LIKE 'abc%').
+-- JPA @Index cannot declare expression indexes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_first_name_prefix
+    ON users (lower(first_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_last_name_prefix
+    ON users (lower(last_name) text_pattern_ops);
@@ -0,0 +1,34 @@
+-- Rotating refresh tokens, stored as SHA-256 digests. Rotated rows are kept until they expire
+-- so that replaying one can be detected.
+create table refresh_token (
+    expiry_date timestamp(6) not null,
+    id bigint generated by default as identity,
+    rotated_at timestamp(6),
+    session_id varchar(36) not null,
+    token_hash bytea not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_refresh_token_token_hash unique (token_hash),
+    constraint fk_refresh_token_user_id foreign key (user_id) references users
+);
+
+create index idx_refresh_token_expiry_date
+    on refresh_token (expiry_date);
+
+create index idx_refresh_token_session_id
+    on refresh_token (session_id);
+
+create index idx_refresh_token_user_id
+    on refresh_token (user_id);
+
+-- Revoked sessions and users, polled by every instance into its in-memory revocation list.
+-- Rows are only needed for as long as an access token issued before them can still be valid.
+create table token_revocation (
+    id bigint generated by default as identity,
+    revoked_at timestamp(6) not null,
+    subject varchar(64) not null,
+    primary key (id)
+);
+
+create index idx_token_revocation_revoked_at
+    on token_revocation (revoked_at);
@@ -0,0 +1,42 @@
+package secretstuffs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Boots the whole application against an empty PostgreSQL, so wiring mistakes such as an
+ * ambiguous constructor or a missing property fail the build instead of the deployment.
+ */
+@SpringBootTest
+class ApiApplicationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EmbeddedDatabase.create("context_load"));
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void contextLoads() {
+        assertNotNull(context.getBean(ApiApplication.class));
+    }
+
+    @Test
+    void scheduledJobs_ShouldRunOnTheSchedulingPool() {
+        ThreadPoolTaskScheduler scheduler = context.getBean("taskScheduler", ThreadPoolTaskScheduler.class);
+
+        // Every @Scheduled job waits for its next run in the queue of the scheduler it was given
+        assertFalse(scheduler.getScheduledThreadPoolExecutor().getQueue().isEmpty());
+    }
+}
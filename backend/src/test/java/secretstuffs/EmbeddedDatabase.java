@@ -0,0 +1,55 @@
+package secretstuffs;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One embedded PostgreSQL per test JVM for the tests that boot the application context. It starts
+ * on first use and stops when the JVM exits. Each caller gets a database of its own, so Flyway
+ * always migrates an empty schema.
+ */
+public final class EmbeddedDatabase {
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Creates an empty database.
+     *
+     * @param name the database name, unique per test class
+     * @return the JDBC URL of the new database, for user and password {@code postgres}
+     */
+    public static synchronized String create(String name) {
+        try {
+            if (postgres == null) {
+                postgres = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedDatabase::stop));
+            }
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE IF EXISTS " + name);
+                statement.execute("CREATE DATABASE " + name);
+            }
+            return postgres.getJdbcUrl("postgres", name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded PostgreSQL", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+    }
+
+    private static synchronized void stop() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            // The JVM is exiting; the data directory is temporary anyway
+        }
+    }
+}
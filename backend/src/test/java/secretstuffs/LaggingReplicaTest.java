@@ -0,0 +1,78 @@
+package secretstuffs;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import secretstuffs.application.services.AuthService;
+import secretstuffs.application.services.RefreshTokenService;
+import secretstuffs.application.services.UserService;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.models.responses.auth.LoginUserResponseDTO;
+import secretstuffs.infrastructure.repositories.UserRepository;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Points the replica pool at a migrated but empty database of its own: a replica that has not
+ * replayed any write yet. User lookup cache misses must still find users written to the primary.
+ */
+@SpringBootTest
+class LaggingReplicaTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String replicaUrl = EmbeddedDatabase.create("lagging_replica_copy");
+        Flyway.configure()
+                .dataSource(replicaUrl, "postgres", "postgres")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        String url = EmbeddedDatabase.create("lagging_replica");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("datasource.replica.url", () -> replicaUrl);
+        registry.add("datasource.replica.hikari.minimum-idle", () -> "1");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void getUserProfileByEmail_ShouldLoadCacheMissFromThePrimary() {
+        userRepository.save(user("profile@example.com"));
+
+        assertEquals("profile@example.com", userService.getUserProfileByEmail("profile@example.com").getEmail());
+    }
+
+    @Test
+    void refresh_ShouldLoadCacheMissFromThePrimary() {
+        User user = userRepository.save(user("refresh@example.com"));
+        RefreshTokenService.Session session = refreshTokenService.startSession(user.getId());
+
+        LoginUserResponseDTO response = authService.refresh(session.refreshToken());
+
+        assertEquals("refresh@example.com", response.getEmail());
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package secretstuffs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import secretstuffs.domain.entities.ItemPost;
+import secretstuffs.domain.enums.CategoryEnum;
+import secretstuffs.domain.enums.ConditionEnum;
+import secretstuffs.infrastructure.repositories.ItemPostRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs writes through the HTTP layer with a read-only replica pool configured. The replica points
+ * at the same database, so only the pool's read-only flag tells the two apart: a write that ends up
+ * on a replica connection fails with "cannot execute ... in a read-only transaction".
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemPostRepository itemPostRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String url = EmbeddedDatabase.create("replica_routing");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("datasource.replica.url", () -> url);
+        registry.add("datasource.replica.hikari.read-only", () -> "true");
+        registry.add("datasource.replica.hikari.minimum-idle", () -> "1");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void updateItemPost_ShouldWriteThroughThePrimary_AfterReadingTheItem() throws Exception {
+        ItemPost itemPost = itemPostRepository.save(itemPost("Old title"));
+
+        mockMvc.perform(put("/api/items/" + itemPost.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New title\",\"address\":\"Main St 1\"," +
+                                "\"description\":\"A chair\",\"condition\":\"GOOD\",\"category\":\"FURNITURE\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("New title", itemPostRepository.findById(itemPost.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void deleteItemPost_ShouldWriteThroughThePrimary_AfterReadingTheItem() throws Exception {
+        ItemPost itemPost = itemPostRepository.save(itemPost("Chair"));
+
+        mockMvc.perform(delete("/api/items/" + itemPost.getId()))
+                .andExpect(status().isOk());
+
+        assertFalse(itemPostRepository.existsById(itemPost.getId()));
+    }
+
+    private static ItemPost itemPost(String title) {
+        ItemPost itemPost = new ItemPost();
+        itemPost.setEmail("owner@example.com");
+        itemPost.setTitle(title);
+        itemPost.setAddress("Main St 1");
+        itemPost.setDescription("A chair");
+        itemPost.setCategory(CategoryEnum.FURNITURE);
+        itemPost.setCondition(ConditionEnum.GOOD);
+        return itemPost;
+    }
+}
@@ -0,0 +1,92 @@
+package secretstuffs;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import secretstuffs.application.helpers.TokenHashHelper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades a database the way production ones were created before migrations: by ddl-auto, without
+ * Flyway history, baselined at V1 on first start. The original schema is created from V1 itself,
+ * which holds exactly what ddl-auto produced.
+ */
+class SchemaMigrationTest {
+
+    @Test
+    void migrate_ShouldUpgradeABaselinedDatabase_ToTheCurrentSchema() throws SQLException {
+        String url = EmbeddedDatabase.create("schema_upgrade");
+        flyway(url).target("1").load().migrate();
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE flyway_schema_history");
+            statement.execute("INSERT INTO users (id, email, password, active, created_at, updated_at) " +
+                    "VALUES (1, 'donor@example.com', 'hash', true, now(), now()), " +
+                    "(2, 'taker@example.com', 'hash', true, now(), now())");
+            statement.execute("INSERT INTO item_posts (id, email, title, status) " +
+                    "VALUES (1, 'donor@example.com', 'Chair', 'INACTIVE')");
+            statement.execute("INSERT INTO donations (user_id, item_post_id, status, created_at, updated_at) " +
+                    "VALUES (2, 1, 'ACCEPTED', now(), now())");
+            statement.execute("INSERT INTO verification_token (token, user_email, expiry_date) " +
+                    "VALUES ('reset-link-token', 'donor@example.com', now() + interval '1 hour')");
+        }
+
+        flyway(url).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            assertFalse(hasColumn(connection, "verification_token", "token"));
+            try (ResultSet token = statement.executeQuery("SELECT token_hash FROM verification_token")) {
+                assertTrue(token.next());
+                assertArrayEquals(TokenHashHelper.sha256("reset-link-token"), token.getBytes(1));
+            }
+            // What every forgot-password request failed on while the plain column was still required
+            statement.execute("INSERT INTO verification_token (token_hash, user_email, expiry_date) " +
+                    "VALUES ('\\x00'::bytea, 'taker@example.com', now())");
+
+            try (ResultSet stats = statement.executeQuery(
+                    "SELECT total_posts, items_donated FROM user_stats WHERE email = 'donor@example.com'")) {
+                assertTrue(stats.next());
+                assertEquals(1, stats.getLong(1));
+                assertEquals(1, stats.getLong(2));
+            }
+            try (ResultSet version = statement.executeQuery("SELECT version FROM donations")) {
+                assertTrue(version.next());
+                assertEquals(0, version.getLong(1));
+            }
+            assertTrue(hasIndex(connection, "idx_users_active_id"));
+            assertTrue(hasIndex(connection, "uk_donations_user_item_post"));
+        }
+    }
+
+    private static org.flywaydb.core.api.configuration.FluentConfiguration flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "postgres", "postgres")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, "postgres", "postgres");
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, "public", table, column)) {
+            return columns.next();
+        }
+    }
+
+    private static boolean hasIndex(Connection connection, String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet index = statement.executeQuery("SELECT 1 FROM pg_indexes WHERE indexname = '" + name + "'")) {
+            return index.next();
+        }
+    }
+}
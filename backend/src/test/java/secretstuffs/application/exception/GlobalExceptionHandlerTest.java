@@ -9,11 +9,13 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.RateLimitException;
 
 import java.util.List;
 
@@ -87,6 +89,21 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).isEqualTo("Resource not found");
     }
 
+    @Test
+    void handleOptimisticLockingFailure_ShouldReturnConflict() {
+        // Arrange
+        var exception = new ObjectOptimisticLockingFailureException("ItemPost", 1L);
+        when(mockRequest.getRequestURI()).thenReturn("/api/donations/donate");
+
+        // Act
+        var response = exceptionHandler.handleOptimisticLockingFailure(exception, mockRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo("CONCURRENT_MODIFICATION");
+    }
+
     @Test
     void handleArgumentTypeMismatch_ShouldReturnBadRequest() {
         // Arrange
@@ -138,4 +155,20 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getErrorCode()).isEqualTo("INTERNAL_SERVER_ERROR");
         assertThat(response.getBody().getMessage()).isEqualTo("An unexpected error occurred");
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleRateLimitException_ShouldReturnTooManyRequestsWithRetryAfter() {
+        // Arrange
+        RateLimitException exception = RateLimitException.tooManyRequests(1500);
+        when(mockRequest.getRequestURI()).thenReturn("/api/auth/login");
+
+        // Act
+        var response = exceptionHandler.handleRateLimitException(exception, mockRequest);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getErrorCode()).isEqualTo("TOO_MANY_REQUESTS");
+    }
+}
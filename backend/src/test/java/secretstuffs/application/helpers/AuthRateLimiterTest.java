@@ -0,0 +1,45 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import secretstuffs.domain.dtos.exception.RateLimitException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    private AuthRateLimiter authRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        authRateLimiter = new AuthRateLimiter(2, 60, 1, 60, 1, 60, 1000);
+    }
+
+    @Test
+    void check_ShouldThrowTooManyRequests_WhenIpExceedsLimit() {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.LOGIN, "10.0.0.1", "a@example.com");
+        authRateLimiter.check(AuthRateLimiter.Endpoint.LOGIN, "10.0.0.1", "b@example.com");
+
+        RateLimitException exception = assertThrows(RateLimitException.class, () ->
+                authRateLimiter.check(AuthRateLimiter.Endpoint.LOGIN, "10.0.0.1", "c@example.com"));
+
+        assertEquals("TOO_MANY_REQUESTS", exception.getErrorCode());
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+    }
+
+    @Test
+    void check_ShouldThrowTooManyRequests_WhenEmailExceedsLimitAcrossIps() {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.FORGOT_PASSWORD, "10.0.0.1", "user@example.com");
+
+        assertThrows(RateLimitException.class, () ->
+                authRateLimiter.check(AuthRateLimiter.Endpoint.FORGOT_PASSWORD, "10.0.0.2", " USER@example.com "));
+    }
+
+    @Test
+    void check_ShouldKeepEndpointsIndependent() {
+        authRateLimiter.check(AuthRateLimiter.Endpoint.FORGOT_PASSWORD, "10.0.0.1", "user@example.com");
+
+        assertDoesNotThrow(() ->
+                authRateLimiter.check(AuthRateLimiter.Endpoint.RESEND_VERIFICATION, "10.0.0.1", "user@example.com"));
+    }
+}
@@ -0,0 +1,177 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import secretstuffs.domain.dtos.exception.IdempotencyException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyStoreTest {
+
+    private static final String CALLER = "donor@example.com";
+
+    private AtomicLong clock;
+    private IdempotencyKeyStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        store = new IdempotencyKeyStore(60, 1000, 5000, clock::get);
+    }
+
+    @Test
+    void execute_ShouldReplayFirstResult_WhenKeyIsReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = store.execute("donate", CALLER, "key-1", "payload", () -> "result-" + calls.incrementAndGet());
+        String second = store.execute("donate", CALLER, "key-1", "payload", () -> "result-" + calls.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_ShouldAlwaysRun_WhenNoKeyIsGiven() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("donate", CALLER, null, "payload", calls::incrementAndGet);
+        store.execute("donate", CALLER, " ", "payload", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void execute_ShouldKeepScopesApart() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("create", CALLER, "key-1", "payload", calls::incrementAndGet);
+        store.execute("donate", CALLER, "key-1", "payload", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_ShouldKeepCallersApart() {
+        String first = store.execute("donate", "alice@example.com", "key-1", "payload", () -> "alice");
+        String second = store.execute("donate", "bob@example.com", "key-1", "payload", () -> "bob");
+        String anonymous = store.execute("donate", null, "key-1", "payload", () -> "anonymous");
+
+        assertEquals("alice", first);
+        assertEquals("bob", second);
+        assertEquals("anonymous", anonymous);
+    }
+
+    @Test
+    void execute_ShouldReject_WhenKeyIsReusedWithDifferentPayload() {
+        store.execute("donate", CALLER, "key-1", "payload", () -> "result");
+
+        IdempotencyException exception = assertThrows(IdempotencyException.class,
+                () -> store.execute("donate", CALLER, "key-1", "other payload", () -> "result"));
+
+        assertEquals("IDEMPOTENCY_KEY_REUSED", exception.getErrorCode());
+    }
+
+    @Test
+    void execute_ShouldForgetFailedCalls_SoTheyCanBeRetried() {
+        assertThrows(IllegalStateException.class, () -> store.execute("donate", CALLER, "key-1", "payload", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        String result = store.execute("donate", CALLER, "key-1", "payload", () -> "retried");
+
+        assertEquals("retried", result);
+    }
+
+    @Test
+    void execute_ShouldRunAgain_AfterTtlExpires() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("donate", CALLER, "key-1", "payload", calls::incrementAndGet);
+
+        clock.addAndGet(60_000);
+
+        assertEquals(2, store.execute("donate", CALLER, "key-1", "payload", calls::incrementAndGet));
+    }
+
+    @Test
+    void execute_ShouldShareInFlightResult_WithConcurrentRetries() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> store.execute("donate", CALLER, "key-1", "payload", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Integer> retry = executor.submit(
+                    () -> store.execute("donate", CALLER, "key-1", "payload", calls::incrementAndGet));
+
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldAnswerConflict_WhenInFlightCallOutlastsTheWait() throws Exception {
+        IdempotencyKeyStore impatient = new IdempotencyKeyStore(60, 1000, 50, clock::get);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> impatient.execute("donate", CALLER, "key-1", "payload", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "first";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            IdempotencyException exception = assertThrows(IdempotencyException.class,
+                    () -> impatient.execute("donate", CALLER, "key-1", "payload", () -> "retry"));
+            release.countDown();
+
+            assertEquals("IDEMPOTENCY_KEY_IN_PROGRESS", exception.getErrorCode());
+            assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("first", impatient.execute("donate", CALLER, "key-1", "payload", () -> "retry"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldEvictCompletedEntries_WhenOverLimit() {
+        IdempotencyKeyStore small = new IdempotencyKeyStore(60, 10, 5000, clock::get);
+
+        for (int i = 0; i < 50; i++) {
+            small.execute("donate", CALLER, "key-" + i, "payload", () -> "result");
+        }
+
+        assertTrue(small.size() <= 11, "Store should stay bounded but was " + small.size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package secretstuffs.application.helpers;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import secretstuffs.domain.dtos.exception.UserException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    @Mock
+    private FilterChain chain;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new JwtAuthenticationFilter(verifiedTokenCache, exceptionResolver,
+                List.of("/api/users/update", "/api/users/delete/**"),
+                List.of("/api/users/", "/api/users/export"), List.of("Admin@Example.com", ""));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldStoreCaller_WhenTokenIsValid() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser("user@example.com", 1L, true, null, Instant.now(),
+                Instant.now().plusSeconds(60));
+        when(verifiedTokenCache.authenticate("token")).thenReturn(user);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/users/update");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        filter.doFilter(request, response, chain);
+
+        assertSame(user, request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE));
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldPassAnonymousRequest_WhenPathIsNotProtected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/all-posts");
+
+        filter.doFilter(request, response, chain);
+
+        assertNull(request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE));
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
+    @Test
+    void doFilter_ShouldRejectAnonymousRequest_WhenPathIsProtected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/users/delete/user@example.com");
+
+        filter.doFilter(request, response, chain);
+
+        ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+        verify(exceptionResolver).resolveException(eq(request), eq(response), isNull(), error.capture());
+        assertEquals(HttpStatus.UNAUTHORIZED, ((UserException) error.getValue()).getStatusCode());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldRejectAnonymousRequest_WhenProtectedPathIsEncodedOrHasMatrixParameters() throws Exception {
+        List<String> paths = List.of("/api/users/%75pdate", "/api/users/update;x=1",
+                "/api/users/delete;a=b/victim@example.com", "/api/users/%64elete/victim@example.com");
+        for (String path : paths) {
+            MockHttpServletRequest request = new MockHttpServletRequest("PUT", path);
+
+            filter.doFilter(request, response, chain);
+
+            assertEquals(HttpStatus.UNAUTHORIZED, resolvedError(request).getStatusCode(), path);
+        }
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldRejectAnonymousRequest_WhenPathIsForAdmins() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, resolvedError(request).getStatusCode());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldRejectCallerWhoIsNotAdmin_WhenPathIsForAdmins() throws Exception {
+        when(verifiedTokenCache.authenticate("token")).thenReturn(caller("user@example.com"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.FORBIDDEN, resolvedError(request).getStatusCode());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldPassAdmin_WhenPathIsForAdmins() throws Exception {
+        AuthenticatedUser admin = caller("admin@example.com");
+        when(verifiedTokenCache.authenticate("token")).thenReturn(admin);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        filter.doFilter(request, response, chain);
+
+        assertSame(admin, request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE));
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldRejectEveryone_WhenNoAdminIsConfigured() throws Exception {
+        filter = new JwtAuthenticationFilter(verifiedTokenCache, exceptionResolver,
+                List.of(), List.of("/api/users/export"), List.of(""));
+        when(verifiedTokenCache.authenticate("token")).thenReturn(caller("admin@example.com"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.FORBIDDEN, resolvedError(request).getStatusCode());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldRejectAnonymousRequest_WhenAdminPathIsEncodedOrHasMatrixParameters() throws Exception {
+        for (String path : List.of("/api/users/%65xport", "/api/users/export;x=1", "/api/users;a=b/export")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+
+            filter.doFilter(request, response, chain);
+
+            assertEquals(HttpStatus.UNAUTHORIZED, resolvedError(request).getStatusCode(), path);
+        }
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void doFilter_ShouldPassCorsPreflight_WhenPathIsProtected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/users/update");
+        request.addHeader(HttpHeaders.ORIGIN, "http://localhost:5173");
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT");
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void doFilter_ShouldRejectInvalidToken_OnAnyPath() throws Exception {
+        when(verifiedTokenCache.authenticate("forged")).thenThrow(UserException.unauthenticated());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/all-posts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer forged");
+
+        filter.doFilter(request, response, chain);
+
+        verify(exceptionResolver).resolveException(eq(request), eq(response), isNull(), any(UserException.class));
+        verifyNoInteractions(chain);
+    }
+
+    private UserException resolvedError(MockHttpServletRequest request) {
+        ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+        verify(exceptionResolver).resolveException(eq(request), eq(response), isNull(), error.capture());
+        return (UserException) error.getValue();
+    }
+
+    private static AuthenticatedUser caller(String email) {
+        return new AuthenticatedUser(email, 1L, true, null, Instant.now(), Instant.now().plusSeconds(60));
+    }
+}
@@ -5,11 +5,20 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.stubbing.Stubber;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doReturn;
@@ -20,6 +29,7 @@ class JwtHelperTest {
     private static final String TEST_SECRET_KEY = Arrays.toString(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded());
     private static final int TOKEN_EXPIRATION_OFFSET = 10; // Offset for token expiration simulation
     private static final int MILLISECONDS_IN_A_SECOND = 1000; // Conversion factor for milliseconds to seconds
+    private static final String NEW_KEY = "n".repeat(64);
     private JwtHelper jwtHelper;
     private String testUsername;
     private String testToken;
@@ -28,27 +38,7 @@ class JwtHelperTest {
     void setUp() {
         jwtHelper = new JwtHelper(TEST_SECRET_KEY);
         testUsername = "testUser";
-        testToken = jwtHelper.generateToken(testUsername);
-    }
-
-    @Test
-    void generateTokenWithClaims_ShouldIncludeClaimsInToken() {
-        // Arrange
-        Map<String, Object> claims = Map.of("role", "admin", "organization", "testOrg");
-
-        // Act
-        String token = jwtHelper.generateTokenWithClaims(claims, testUsername);
-
-        // Assert
-        assertNotNull(token, "Generated token should not be null");
-        assertTrue(jwtHelper.validateToken(token, testUsername), "Token should be valid for the given username");
-
-        // Extract claims
-        String extractedRole = jwtHelper.extractClaim(token, claimsMap -> claimsMap.get("role", String.class));
-        String extractedOrganization = jwtHelper.extractClaim(token, claimsMap -> claimsMap.get("organization", String.class));
-
-        assertEquals("admin", extractedRole, "Extracted role should match the input claim");
-        assertEquals("testOrg", extractedOrganization, "Extracted organization should match the input claim");
+        testToken = accessToken(jwtHelper);
     }
 
     @Test
@@ -71,127 +61,205 @@ class JwtHelperTest {
     }
 
     @Test
-    void validateToken_ShouldVerifyValidToken() {
+    void isTokenExpired_ShouldReturnFalseForValidToken() {
         // Act
-        boolean isValid = jwtHelper.validateToken(testToken, testUsername);
+        boolean isExpired = jwtHelper.isTokenExpired(testToken);
 
         // Assert
-        assertTrue(isValid, "Validation should succeed for a valid token and username");
+        assertFalse(isExpired, "Token should not be expired");
     }
 
     @Test
-    void validateToken_ShouldFailForIncorrectUsername() {
-        // Act
-        boolean isValid = jwtHelper.validateToken(testToken, "wrongUser");
+    void extractAllClaims_ShouldThrowExceptionForInvalidToken() {
+        // Arrange
+        String invalidToken = "invalid.token.content";
 
-        // Assert
-        assertFalse(isValid, "Validation should fail for an incorrect username");
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            jwtHelper.extractClaim(invalidToken, Claims::getSubject);
+        }, "Invalid token should throw IllegalArgumentException");
     }
 
     @Test
-    void isTokenExpired_ShouldReturnFalseForValidToken() {
+    void isTokenExpired_ShouldReturnTrueForExpiredToken() {
+        // Arrange: Create a token with the current behavior
+        String token = accessToken(jwtHelper);
+
+        // Mock the expiration check to simulate an expired token
+        JwtHelper mockJwtHelper = spy(jwtHelper);
+        Date d = new Date(System.currentTimeMillis() - TOKEN_EXPIRATION_OFFSET * MILLISECONDS_IN_A_SECOND);
+        Stubber s = doReturn(d);
+        s.when(mockJwtHelper).extractExpiration(token);
+
         // Act
-        boolean isExpired = jwtHelper.isTokenExpired(testToken);
+        boolean isExpired = mockJwtHelper.isTokenExpired(token);
 
         // Assert
-        assertFalse(isExpired, "Token should not be expired");
+        assertTrue(isExpired, "Token should be expired");
     }
 
     @Test
-    void isTokenValid_ShouldReturnTrueForValidToken() {
+    void verify_ShouldReturnCallerFromClaims() {
+        // Arrange
+        String token = jwtHelper.generateAccessToken(
+                Map.of(JwtHelper.CLAIM_USER_ID, 42L, JwtHelper.CLAIM_ACTIVE, true), testUsername, inFifteenMinutes());
+
         // Act
-        boolean isValid = jwtHelper.isTokenValid(testToken);
+        AuthenticatedUser caller = jwtHelper.verify(token);
 
         // Assert
-        assertTrue(isValid, "Token should be valid");
+        assertEquals(testUsername, caller.email());
+        assertEquals(42L, caller.id());
+        assertTrue(caller.active());
+        assertEquals(jwtHelper.extractExpiration(token).toInstant(), caller.expiresAt());
     }
 
     @Test
-    void isTokenValid_ShouldReturnFalseForInvalidToken() {
+    void verify_ShouldRejectTokenSignedWithAnotherKey() {
         // Arrange
-        String invalidToken = "invalid.token.content";
+        JwtHelper otherHelper = new JwtHelper(Arrays.toString(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded()));
+        String forged = accessToken(otherHelper);
 
-        // Act
-        boolean isValid = jwtHelper.isTokenValid(invalidToken);
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jwtHelper.verify(forged));
+    }
 
-        // Assert
-        assertFalse(isValid, "Invalid token should not be valid");
+    @Test
+    void verify_ShouldRejectSignedTokenThatIsNotAnAccessToken() {
+        // Same key, but minted for an email link
+        String token = jwtHelper.generateEmailVerificationToken(testUsername, inFifteenMinutes());
+
+        assertThrows(IllegalArgumentException.class, () -> jwtHelper.verify(token));
     }
 
     @Test
-    void getValidSubject_ShouldReturnSubjectForValidToken() {
-        // Act
-        String subject = jwtHelper.getValidSubject(testToken);
+    void verify_ShouldRejectAccessTokenWithoutUserId() {
+        String token = jwtHelper.generateAccessToken(Map.of(), testUsername, inFifteenMinutes());
 
-        // Assert
-        assertEquals(testUsername, subject, "Valid subject should be extracted for a valid token");
+        assertThrows(IllegalArgumentException.class, () -> jwtHelper.verify(token));
     }
 
     @Test
-    void getValidSubject_ShouldReturnNullForInvalidToken() {
+    void verify_ShouldReturnIssueTimeInMilliseconds() {
         // Arrange
-        String invalidToken = "invalid.token.content";
+        Instant before = Instant.now();
+        String token = accessToken(jwtHelper);
 
         // Act
-        String subject = jwtHelper.getValidSubject(invalidToken);
+        Instant issuedAt = jwtHelper.verify(token).issuedAt();
 
         // Assert
-        assertNull(subject, "Subject should be null for an invalid token");
+        assertEquals(before.toEpochMilli(), issuedAt.toEpochMilli(), 1000);
+        long issuedAtMillis = jwtHelper.extractClaim(token, claims -> claims.get(JwtHelper.CLAIM_ISSUED_AT_MILLIS, Long.class));
+        assertEquals(issuedAtMillis, issuedAt.toEpochMilli(), "The issue time should not be truncated to the second");
     }
 
     @Test
-    void extractAllClaims_ShouldThrowExceptionForInvalidToken() {
-        // Arrange
-        String invalidToken = "invalid.token.content";
+    void verifyEmailVerificationToken_ShouldReturnEmail() {
+        String token = jwtHelper.generateEmailVerificationToken(testUsername, inFifteenMinutes());
 
-        // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> {
-            jwtHelper.extractClaim(invalidToken, Claims::getSubject);
-        }, "Invalid token should throw IllegalArgumentException");
+        assertEquals(testUsername, jwtHelper.verifyEmailVerificationToken(token));
     }
 
     @Test
-    void generateToken_ShouldGenerateValidToken() {
-        String token = jwtHelper.generateToken(testUsername);
+    void verifyEmailVerificationToken_ShouldRejectAccessToken() {
+        assertThrows(IllegalArgumentException.class, () -> jwtHelper.verifyEmailVerificationToken(testToken));
+    }
 
-        assertNotNull(token, "Generated token should not be null");
-        assertFalse(token.isEmpty(), "Generated token should not be empty");
-        assertTrue(jwtHelper.validateToken(token, testUsername), "Token should be valid for the given username");
+    @Test
+    void verifyEmailVerificationToken_ShouldRejectExpiredToken() {
+        String token = jwtHelper.generateEmailVerificationToken(testUsername, Instant.now().minusSeconds(60));
+
+        assertThrows(IllegalArgumentException.class, () -> jwtHelper.verifyEmailVerificationToken(token));
     }
 
     @Test
-    void isTokenExpired_ShouldReturnTrueForExpiredToken() {
-        // Arrange: Create a token with the current behavior
-        String token = jwtHelper.generateToken(testUsername);
+    void bearerToken_ShouldStripPrefix_AndIgnoreOtherSchemes() {
+        assertEquals("abc", JwtHelper.bearerToken("Bearer abc"));
+        assertNull(JwtHelper.bearerToken("Basic abc"));
+        assertNull(JwtHelper.bearerToken("Bearer "));
+        assertNull(JwtHelper.bearerToken(null));
+    }
 
-        // Mock the expiration check to simulate an expired token
-        JwtHelper mockJwtHelper = spy(jwtHelper);
-        Date d = new Date(System.currentTimeMillis() - TOKEN_EXPIRATION_OFFSET * MILLISECONDS_IN_A_SECOND);
-        Stubber s = doReturn(d);
-        s.when(mockJwtHelper).extractExpiration(token);
+    @Test
+    void generateAccessToken_ShouldCarryDefaultKeyId_WithoutKeysFile() {
+        assertEquals(JwtHelper.DEFAULT_KEY_ID, keyId(testToken));
+    }
+
+    @Test
+    void keysFile_ShouldSignWithActiveKey_AndStillVerifyOlderKeys(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path keysFile = writeKeys(directory, "active=2026-10\nkey.default=" + TEST_SECRET_KEY + "\nkey.2026-10=" + NEW_KEY);
 
         // Act
-        boolean isExpired = mockJwtHelper.isTokenExpired(token);
+        JwtHelper rotated = new JwtHelper(TEST_SECRET_KEY, keysFile.toString());
+        String token = accessToken(rotated);
 
         // Assert
-        assertTrue(isExpired, "Token should be expired");
+        assertEquals("2026-10", keyId(token));
+        assertEquals(testUsername, rotated.verify(token).email());
+        assertEquals(testUsername, rotated.verify(accessToken(jwtHelper)).email(),
+                "Tokens of the previous key should stay valid");
     }
 
     @Test
-    void validateToken_ShouldFailForExpiredToken() {
-        // Arrange: Create a token with the current behavior
-        String token = jwtHelper.generateToken(testUsername);
+    void reloadKeys_ShouldRejectTokensOfRemovedKey(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path keysFile = writeKeys(directory, "active=default\nkey.default=" + TEST_SECRET_KEY + "\nkey.2026-10=" + NEW_KEY);
+        JwtHelper rotated = new JwtHelper(TEST_SECRET_KEY, keysFile.toString());
+        String oldToken = accessToken(rotated);
 
-        // Mock the expiration check to simulate an expired token
-        JwtHelper mockJwtHelper = spy(jwtHelper);
-        Date d = new Date(System.currentTimeMillis() - TOKEN_EXPIRATION_OFFSET * MILLISECONDS_IN_A_SECOND);
-        Stubber s = doReturn(d);
-        s.when(mockJwtHelper).extractExpiration(token);
+        // Act
+        writeKeys(directory, "active=2026-10\nkey.2026-10=" + NEW_KEY);
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        rotated.reloadKeys();
+
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> rotated.verify(oldToken));
+        assertEquals("2026-10", keyId(accessToken(rotated)));
+        assertEquals(1, rotated.keyRetirements());
+    }
+
+    @Test
+    void reloadKeys_ShouldKeepCurrentKeys_WhenFileIsInvalid(@TempDir Path directory) throws IOException {
+        // Arrange
+        Path keysFile = writeKeys(directory, "active=2026-10\nkey.2026-10=" + NEW_KEY);
+        JwtHelper rotated = new JwtHelper(TEST_SECRET_KEY, keysFile.toString());
+        String token = accessToken(rotated);
 
         // Act
-        boolean isValid = mockJwtHelper.validateToken(token, testUsername);
+        writeKeys(directory, "active=2026-11\nkey.2026-10=" + NEW_KEY);
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        rotated.reloadKeys();
 
         // Assert
-        assertFalse(isValid, "Validation should fail for an expired token");
+        assertEquals(testUsername, rotated.verify(token).email());
+        assertEquals("2026-10", keyId(accessToken(rotated)));
+        assertEquals(0, rotated.keyRetirements());
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenKeysFileHoldsShortKey(@TempDir Path directory) throws IOException {
+        Path keysFile = writeKeys(directory, "active=short\nkey.short=" + "k".repeat(40));
+
+        assertThrows(IllegalStateException.class, () -> new JwtHelper(TEST_SECRET_KEY, keysFile.toString()));
+    }
+
+    private String accessToken(JwtHelper helper) {
+        return helper.generateAccessToken(Map.of(JwtHelper.CLAIM_USER_ID, 42L), testUsername, inFifteenMinutes());
+    }
+
+    private static Instant inFifteenMinutes() {
+        return Instant.now().plusSeconds(900);
+    }
+
+    private static Path writeKeys(Path directory, String content) throws IOException {
+        return Files.writeString(directory.resolve("jwt-keys.properties"), content);
+    }
+
+    private static String keyId(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        Matcher kid = Pattern.compile("\"kid\":\"([^\"]+)\"").matcher(header);
+        return kid.find() ? kid.group(1) : null;
     }
-}
\ No newline at end of file
+}
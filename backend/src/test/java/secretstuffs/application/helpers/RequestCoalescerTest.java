@@ -0,0 +1,153 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import secretstuffs.domain.dtos.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer(5000);
+
+    @Test
+    void load_ShouldShareOneLoad_BetweenConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> coalescer.load("item", 1L, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> coalescer.load("item", 1L, calls::incrementAndGet)));
+            }
+            awaitWaiting(followers);
+
+            release.countDown();
+
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(0, coalescer.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_ShouldPassLoaderException_ToWaitingCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BusinessException notFound = new BusinessException("ERR_404", "Item not found", HttpStatus.NOT_FOUND);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.load("item", 1L, () -> {
+                started.countDown();
+                awaitQuietly(release);
+                throw notFound;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Object> follower = executor.submit(() -> coalescer.load("item", 1L, () -> "loaded again"));
+            awaitWaiting(List.of(follower));
+
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(notFound, leaderFailure.getCause());
+            assertSame(notFound, followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_ShouldTimeOutWaitingCallers_WithoutRunningTheirLoader() throws Exception {
+        RequestCoalescer impatient = new RequestCoalescer(50);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = executor.submit(() -> impatient.load("user", "a@example.com", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> impatient.load("user", "a@example.com", calls::incrementAndGet));
+
+            assertEquals("LOAD_TIMEOUT", exception.getErrorCode());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+            release.countDown();
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void load_ShouldLoadAgain_OnceTheFirstLoadFinished() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, coalescer.load("item", 1L, calls::incrementAndGet));
+        assertEquals(2, coalescer.load("item", 1L, calls::incrementAndGet));
+        assertThrows(IllegalStateException.class, () -> coalescer.load("item", 1L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(3, coalescer.load("item", 1L, calls::incrementAndGet));
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void load_ShouldKeepScopesAndKeysApart() {
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.load("item", 1L, () -> coalescer.load("item", 2L,
+                () -> coalescer.load("user", 1L, calls::incrementAndGet)));
+
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Followers cannot signal that they joined the load, so give them time to reach it; a follower
+     * that arrives late runs its own loader and fails the assertions on the call count.
+     */
+    private static void awaitWaiting(List<? extends Future<?>> followers) throws InterruptedException {
+        Thread.sleep(200);
+        for (Future<?> follower : followers) {
+            assertFalse(follower.isDone(), "Follower should be waiting for the load in flight");
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
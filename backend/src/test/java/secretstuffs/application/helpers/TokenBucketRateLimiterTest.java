@@ -0,0 +1,72 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long ONE_SECOND_NANOS = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        limiter = new TokenBucketRateLimiter(3, 3000, 1000, clock::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowUpToCapacity_ThenReject() {
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+
+        long retryAfter = limiter.tryAcquire("10.0.0.1");
+
+        assertTrue(retryAfter > 0 && retryAfter <= 1000, "Retry-after should be within one refill period");
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user@example.com");
+        }
+        assertTrue(limiter.tryAcquire("user@example.com") > 0);
+
+        clock.addAndGet(ONE_SECOND_NANOS);
+
+        assertEquals(0, limiter.tryAcquire("user@example.com"));
+        assertTrue(limiter.tryAcquire("user@example.com") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldTrackKeysIndependently() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void tryAcquire_ShouldBoundNumberOfTrackedKeys() {
+        TokenBucketRateLimiter small = new TokenBucketRateLimiter(1, 1000, 32, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            small.tryAcquire("key-" + i);
+        }
+
+        assertTrue(small.size() <= 32, "Limiter should evict buckets beyond its key limit");
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1000, 10));
+    }
+}
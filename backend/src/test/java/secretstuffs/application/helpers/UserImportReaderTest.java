@@ -0,0 +1,82 @@
+package secretstuffs.application.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_ShouldParseCsvRowsByHeaderName() throws IOException {
+        String csv = """
+                email,password,lastName,firstName
+                jane@example.com,secret123,"Doe, Jr.",Jane
+
+                john@example.com,"pass""word",Smith,John
+                """;
+        UserImportReader reader = new UserImportReader(new StringReader(csv), UserImportReader.Format.CSV, objectMapper);
+
+        UserImportReader.Row first = reader.next();
+        UserImportReader.Row second = reader.next();
+
+        assertEquals(2, first.line());
+        assertEquals("jane@example.com", first.user().getEmail());
+        assertEquals("Doe, Jr.", first.user().getLastName());
+        assertEquals("Jane", first.user().getFirstName());
+        assertNull(first.user().getProfileImageURL());
+        assertEquals(4, second.line());
+        assertEquals("pass\"word", second.user().getPassword());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_ShouldReportMalformedCsvRow() throws IOException {
+        String csv = "firstName,lastName,email,password\nJane,\"Doe,jane@example.com,secret123\n";
+        UserImportReader reader = new UserImportReader(new StringReader(csv), UserImportReader.Format.CSV, objectMapper);
+
+        UserImportReader.Row row = reader.next();
+
+        assertNull(row.user());
+        assertEquals("Unterminated quoted field", row.error());
+    }
+
+    @Test
+    void next_ShouldRejectCsvWithoutRequiredColumns() {
+        String csv = "firstName,email\nJane,jane@example.com\n";
+        UserImportReader reader = new UserImportReader(new StringReader(csv), UserImportReader.Format.CSV, objectMapper);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::next);
+
+        assertEquals("CSV header is missing column lastname", exception.getMessage());
+    }
+
+    @Test
+    void next_ShouldParseNdjsonRowsAndReportBadLines() throws IOException {
+        String ndjson = """
+                {"firstName":"Jane","lastName":"Doe","email":"jane@example.com","password":"secret123"}
+                {not json}
+                """;
+        UserImportReader reader = new UserImportReader(
+                new StringReader(ndjson), UserImportReader.Format.NDJSON, objectMapper);
+
+        UserImportReader.Row first = reader.next();
+        UserImportReader.Row second = reader.next();
+
+        assertEquals("jane@example.com", first.user().getEmail());
+        assertEquals(2, second.line());
+        assertTrue(second.error().startsWith("Malformed JSON"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    void fromContentType_ShouldDetectNdjson() {
+        assertEquals(UserImportReader.Format.NDJSON, UserImportReader.Format.fromContentType("application/x-ndjson"));
+        assertEquals(UserImportReader.Format.CSV, UserImportReader.Format.fromContentType("text/csv; charset=UTF-8"));
+    }
+}
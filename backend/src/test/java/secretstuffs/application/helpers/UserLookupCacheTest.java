@@ -0,0 +1,96 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import secretstuffs.application.helpers.UserLookupCache.CachedUser;
+import secretstuffs.domain.entities.User;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLookupCacheTest {
+
+    private UserLookupCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserLookupCache(100, 60);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getByEmail_ShouldLoadOnce_ThenServeFromCache() {
+        User user = createUser(1L, "user@example.com");
+
+        cache.getByEmail("user@example.com", () -> load(user));
+        Optional<CachedUser> result = cache.getByEmail("user@example.com", () -> load(user));
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().id());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getById_ShouldHit_AfterLoadingByEmail() {
+        User user = createUser(1L, "user@example.com");
+        cache.getByEmail("user@example.com", () -> load(user));
+
+        Optional<CachedUser> result = cache.getById(1L, () -> load(user));
+
+        assertEquals("user@example.com", result.orElseThrow().email());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getByEmail_ShouldNotCacheAbsentUsers() {
+        cache.getByEmail("missing@example.com", this::loadNothing);
+        cache.getByEmail("missing@example.com", this::loadNothing);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_ShouldDropBothIndexes() {
+        User user = createUser(1L, "user@example.com");
+        cache.getByEmail("user@example.com", () -> load(user));
+
+        cache.evict(user);
+        cache.getById(1L, () -> load(user));
+        cache.evict(user);
+        cache.getByEmail("user@example.com", () -> load(user));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void cachedUser_ShouldNotCarryPasswordHash() {
+        User user = createUser(1L, "user@example.com");
+        user.setPassword("hash");
+
+        CachedUser cached = cache.getByEmail("user@example.com", () -> load(user)).orElseThrow();
+
+        assertEquals(6, CachedUser.class.getRecordComponents().length);
+        assertEquals("user@example.com", cached.email());
+    }
+
+    private Optional<User> load(User user) {
+        loads.incrementAndGet();
+        return Optional.of(user);
+    }
+
+    private Optional<User> loadNothing() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private User createUser(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setActive(true);
+        return user;
+    }
+}
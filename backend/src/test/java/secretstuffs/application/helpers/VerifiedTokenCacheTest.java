@@ -0,0 +1,102 @@
+package secretstuffs.application.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import secretstuffs.application.services.TokenRevocationList;
+import secretstuffs.domain.dtos.exception.UserException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtHelper jwtHelper;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new VerifiedTokenCache(jwtHelper, tokenRevocationList, 100);
+    }
+
+    @Test
+    void authenticate_ShouldVerifyEachTokenOnce() {
+        AuthenticatedUser user = new AuthenticatedUser("user@example.com", 1L, true, null, Instant.now(),
+                Instant.now().plusSeconds(60));
+        when(jwtHelper.verify("token")).thenReturn(user);
+
+        assertSame(user, cache.authenticate("token"));
+        assertSame(user, cache.authenticate("token"));
+
+        verify(jwtHelper, times(1)).verify("token");
+    }
+
+    @Test
+    void authenticate_ShouldVerifyAgain_OnceTokenHasExpired() {
+        AuthenticatedUser expired = new AuthenticatedUser("user@example.com", 1L, true, null, Instant.now(),
+                Instant.now().minusSeconds(1));
+        when(jwtHelper.verify("token")).thenReturn(expired);
+
+        cache.authenticate("token");
+        cache.authenticate("token");
+
+        verify(jwtHelper, times(2)).verify("token");
+    }
+
+    @Test
+    void authenticate_ShouldVerifyAgain_AfterSigningKeyWasRetired() {
+        AuthenticatedUser user = new AuthenticatedUser("user@example.com", 1L, true, null, Instant.now(),
+                Instant.now().plusSeconds(60));
+        when(jwtHelper.verify("token")).thenReturn(user);
+
+        cache.authenticate("token");
+        when(jwtHelper.keyRetirements()).thenReturn(1L);
+        cache.authenticate("token");
+        cache.authenticate("token");
+
+        verify(jwtHelper, times(2)).verify("token");
+    }
+
+    @Test
+    void authenticate_ShouldThrowUnauthenticated_WhenCachedTokenWasRevoked() {
+        AuthenticatedUser user = new AuthenticatedUser("user@example.com", 1L, true, "session-1", Instant.now(),
+                Instant.now().plusSeconds(60));
+        when(jwtHelper.verify("token")).thenReturn(user);
+        cache.authenticate("token");
+
+        when(tokenRevocationList.isRevoked(user)).thenReturn(true);
+
+        assertThrows(UserException.class, () -> cache.authenticate("token"));
+        verify(jwtHelper, times(1)).verify("token");
+    }
+
+    @Test
+    void authenticate_ShouldThrowUnauthorized_WhenAccountWasNotVerified() {
+        AuthenticatedUser unverified = new AuthenticatedUser("user@example.com", 1L, false, null, Instant.now(),
+                Instant.now().plusSeconds(60));
+        when(jwtHelper.verify("token")).thenReturn(unverified);
+
+        UserException exception = assertThrows(UserException.class, () -> cache.authenticate("token"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+    }
+
+    @Test
+    void authenticate_ShouldThrowUnauthenticated_WhenTokenIsInvalid() {
+        when(jwtHelper.verify("forged")).thenThrow(new IllegalArgumentException("Invalid JWT token"));
+
+        UserException exception = assertThrows(UserException.class, () -> cache.authenticate("forged"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+    }
+}
@@ -0,0 +1,64 @@
+package secretstuffs.application.helpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_ShouldRecordVirtualThreadsBlockingInsideSynchronized() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(true, true, 10, registry);
+        monitor.start();
+
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(100);
+            }
+        }).join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (monitor.pinsByCallSite().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, monitor.pinsByCallSite().size());
+        assertEquals(1, registry.get("jvm.threads.virtual.pinned").timer().count());
+    }
+
+    @Test
+    void start_ShouldDoNothing_WhenVirtualThreadsAreDisabled() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(false, true, 10, registry);
+        monitor.start();
+
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        }).join();
+
+        Thread.sleep(1500);
+        assertTrue(monitor.pinsByCallSite().isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
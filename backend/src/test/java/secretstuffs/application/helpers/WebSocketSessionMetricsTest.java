@@ -0,0 +1,51 @@
+package secretstuffs.application.helpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+class WebSocketSessionMetricsTest {
+
+    @Mock
+    private SubProtocolWebSocketHandler handler;
+
+    @Mock
+    private SubProtocolWebSocketHandler.Stats stats;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(handler.getStats()).thenReturn(stats);
+        registry = new SimpleMeterRegistry();
+        new WebSocketSessionMetrics(handler).bindTo(registry);
+    }
+
+    @Test
+    void bindTo_ShouldReportOpenSessionsPerTransport() {
+        when(stats.getWebSocketSessions()).thenReturn(5);
+        when(stats.getHttpStreamingSessions()).thenReturn(2);
+        when(stats.getHttpPollingSessions()).thenReturn(1);
+
+        assertEquals(5.0, registry.get("websocket.sessions").tag("transport", "websocket").gauge().value());
+        assertEquals(2.0, registry.get("websocket.sessions").tag("transport", "http_streaming").gauge().value());
+        assertEquals(1.0, registry.get("websocket.sessions").tag("transport", "http_polling").gauge().value());
+    }
+
+    @Test
+    void bindTo_ShouldReportAbnormallyClosedSessionsAsCounters() {
+        when(stats.getTransportErrorSessions()).thenReturn(3);
+
+        assertEquals(3.0, registry.get("websocket.sessions.closed").tag("reason", "transport_error")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("websocket.sessions.closed").tag("reason", "limit_exceeded")
+                .functionCounter().count());
+    }
+}
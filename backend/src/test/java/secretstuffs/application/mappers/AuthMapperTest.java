@@ -0,0 +1,54 @@
+package secretstuffs.application.mappers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import secretstuffs.domain.dtos.commands.auth.LoginUserCommand;
+import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.models.requests.auth.LoginUserRequestDTO;
+import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
+
+class AuthMapperTest {
+
+    private final AuthMapper authMapper = new AuthMapperImpl();
+
+    @Test
+    void toCommand_ShouldCopyCredentials_ForLoginRequest() {
+        LoginUserCommand command = authMapper.toCommand(new LoginUserRequestDTO("user@example.com", "secret123"));
+
+        assertEquals("user@example.com", command.getEmail());
+        assertEquals("secret123", command.getPassword());
+    }
+
+    @Test
+    void toCommand_ShouldCopyAllFields_ForRegisterRequest() {
+        RegisterUserRequestDTO dto = new RegisterUserRequestDTO("John", "Doe", "john@example.com", "password123",
+                "http://image.url");
+
+        RegisterUserCommand command = authMapper.toCommand(dto);
+
+        assertEquals("John", command.getFirstName());
+        assertEquals("Doe", command.getLastName());
+        assertEquals("john@example.com", command.getEmail());
+        assertEquals("password123", command.getPassword());
+        assertEquals("http://image.url", command.getProfileImageURL());
+    }
+
+    @Test
+    void toEntity_ShouldUseEncryptedPasswordAndStayInactive() {
+        RegisterUserCommand command = new RegisterUserCommand("John", "Doe", "john@example.com", "password123", null);
+
+        User user = authMapper.toEntity(command, "encrypted");
+
+        assertEquals("encrypted", user.getPassword());
+        assertEquals("john@example.com", user.getEmail());
+        assertFalse(user.isActive());
+        assertNull(user.getId());
+    }
+
+    @Test
+    void toCommand_ShouldReturnNull_WhenRequestIsNull() {
+        assertNull(authMapper.toCommand((LoginUserRequestDTO) null));
+    }
+}
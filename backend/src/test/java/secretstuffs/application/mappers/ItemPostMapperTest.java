@@ -0,0 +1,65 @@
+package secretstuffs.application.mappers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
+import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
+import secretstuffs.domain.entities.ItemPost;
+import secretstuffs.domain.enums.CategoryEnum;
+import secretstuffs.domain.enums.ConditionEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
+import secretstuffs.domain.models.requests.itempost.UpdateItemPostRequestDTO;
+
+class ItemPostMapperTest {
+
+    private final ItemPostMapper itemPostMapper = new ItemPostMapperImpl();
+
+    @Test
+    void toCommand_ShouldMapImageUrlAndEnums_ForCreateRequest() {
+        CreateItemPostRequestDTO dto = new CreateItemPostRequestDTO("user@example.com", "Chair", "Address",
+                "Description", "http://image.url", "GOOD", "FURNITURE");
+
+        CreateItemPostCommand command = itemPostMapper.toCommand(dto);
+
+        assertEquals("user@example.com", command.getEmail());
+        assertEquals("Chair", command.getTitle());
+        assertEquals("http://image.url", command.getItemPostUrl());
+        assertEquals(ConditionEnum.GOOD, command.getCondition());
+        assertEquals(CategoryEnum.FURNITURE, command.getCategory());
+    }
+
+    @Test
+    void toCommand_ShouldSetPathId_ForUpdateRequest() {
+        UpdateItemPostRequestDTO dto = new UpdateItemPostRequestDTO("Table", "Address", "Description", "NEW", "BOOKS");
+
+        UpdateItemPostCommand command = itemPostMapper.toCommand(dto, 7L);
+
+        assertEquals(7L, command.getId());
+        assertEquals("Table", command.getTitle());
+        assertEquals(ConditionEnum.NEW, command.getCondition());
+        assertEquals(CategoryEnum.BOOKS, command.getCategory());
+    }
+
+    @Test
+    void toCommand_ShouldThrow_WhenConditionIsUnknown() {
+        UpdateItemPostRequestDTO dto = new UpdateItemPostRequestDTO("Table", "Address", "Description", "BROKEN",
+                "BOOKS");
+
+        assertThrows(IllegalArgumentException.class, () -> itemPostMapper.toCommand(dto, 7L));
+    }
+
+    @Test
+    void toEntity_ShouldStartActiveWithoutId() {
+        CreateItemPostCommand command = new CreateItemPostCommand("user@example.com", "Chair", "Address",
+                "Description", ConditionEnum.GOOD, "http://image.url", CategoryEnum.FURNITURE);
+
+        ItemPost post = itemPostMapper.toEntity(command);
+
+        assertNull(post.getId());
+        assertEquals("http://image.url", post.getItemPostImageUrl());
+        assertEquals(ItemPostStatusEnum.ACTIVE, post.getStatus());
+        assertEquals(0L, post.getVersion());
+    }
+}
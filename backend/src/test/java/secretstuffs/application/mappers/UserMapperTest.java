@@ -0,0 +1,24 @@
+package secretstuffs.application.mappers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
+import secretstuffs.domain.models.requests.user.UpdateUserRequestDTO;
+
+class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    @Test
+    void toCommand_ShouldCombineRequestAndEmail() {
+        UpdateUserRequestDTO dto = new UpdateUserRequestDTO("Jane", "Doe", "http://image.url");
+
+        UpdateUserDetailsCommand command = userMapper.toCommand(dto, "jane@example.com");
+
+        assertEquals("jane@example.com", command.getEmail());
+        assertEquals("Jane", command.getFirstName());
+        assertEquals("Doe", command.getLastName());
+        assertEquals("http://image.url", command.getProfileImageURL());
+    }
+}
@@ -1,13 +1,17 @@
 package secretstuffs.application.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -22,8 +26,14 @@ import secretstuffs.infrastructure.repositories.UserRepository;
 import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
 import secretstuffs.application.helpers.JwtHelper;
 import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.TokenHashHelper;
+import secretstuffs.application.helpers.UserLookupCache;
+import secretstuffs.application.mappers.AuthMapper;
+import secretstuffs.application.mappers.AuthMapperImpl;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -44,12 +54,27 @@ class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
-    @InjectMocks
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Spy
+    private AuthMapper authMapper = new AuthMapperImpl();
+
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(100, 60);
+
     private AuthService authService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        authService = new AuthService(userRepository, authHelper, jwtHelper, emailService,
+                verificationTokenRepository, registeredEmailFilter, authMapper, refreshTokenService,
+                userLookupCache, ACCESS_TOKEN_TTL_SECONDS);
+        when(registeredEmailFilter.mightExist(any())).thenReturn(true);
 
         // Mock request context to avoid "No current ServletRequestAttributes" error
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -58,22 +83,78 @@ class AuthServiceTest {
     }
 
     private static final int THIRTY_MINUTES = 30;
+    private static final long ACCESS_TOKEN_TTL_SECONDS = 900;
 
     @Test
     void authenticateUser_ShouldReturnToken_WhenValidCredentials() {
         User user = new User();
+        user.setId(7L);
         user.setEmail("newuser@example.com");
         user.setPassword("encryptedPassword");
         user.setActive(true);
 
         when(userRepository.findByEmail("newuser@example.com")).thenReturn(Optional.of(user));
         when(authHelper.passwordMatches("password", "encryptedPassword")).thenReturn(true);
-        when(jwtHelper.generateToken("newuser@example.com")).thenReturn("valid_token");
+        when(refreshTokenService.startSession(7L))
+                .thenReturn(new RefreshTokenService.Session("session-1", 7L, "refresh_token"));
+        when(jwtHelper.generateAccessToken(anyMap(), eq("newuser@example.com"), any(Instant.class)))
+                .thenReturn("valid_token");
 
+        long before = Instant.now().toEpochMilli();
         LoginUserResponseDTO result = authService.authenticateUser("newuser@example.com", "password");
 
         assertNotNull(result.getToken());
         assertEquals("valid_token", result.getToken());
+        assertEquals("refresh_token", result.getRefreshToken());
+        assertTrue(result.getExpiresAt() >= before + ACCESS_TOKEN_TTL_SECONDS * 1000);
+        ArgumentCaptor<Instant> tokenExpiry = ArgumentCaptor.forClass(Instant.class);
+        verify(jwtHelper).generateAccessToken(
+                eq(Map.of(JwtHelper.CLAIM_USER_ID, 7L, JwtHelper.CLAIM_ACTIVE, true, JwtHelper.CLAIM_SESSION_ID, "session-1")),
+                eq("newuser@example.com"), tokenExpiry.capture());
+        assertEquals(result.getExpiresAt(), tokenExpiry.getValue().toEpochMilli(), "Response should report the token's expiry");
+    }
+
+    @Test
+    void refresh_ShouldIssueTokensOfTheSameSession_WhenUserIsActive() {
+        User user = User.builder().id(7L).email("user@example.com").active(true).build();
+        when(refreshTokenService.rotate("old_refresh"))
+                .thenReturn(new RefreshTokenService.Session("session-1", 7L, "new_refresh"));
+        when(userRepository.loadById(7L)).thenReturn(Optional.of(user));
+        when(jwtHelper.generateAccessToken(anyMap(), eq("user@example.com"), any(Instant.class)))
+                .thenReturn("access_token");
+
+        LoginUserResponseDTO result = authService.refresh("old_refresh");
+
+        assertEquals("access_token", result.getToken());
+        assertEquals("new_refresh", result.getRefreshToken());
+        verify(refreshTokenService, never()).endSession(any());
+    }
+
+    @Test
+    void refresh_ShouldLoadUserOnce_WhileItIsCached() {
+        User user = User.builder().id(7L).email("user@example.com").active(true).build();
+        when(refreshTokenService.rotate(any()))
+                .thenReturn(new RefreshTokenService.Session("session-1", 7L, "new_refresh"));
+        when(userRepository.loadById(7L)).thenReturn(Optional.of(user));
+
+        authService.refresh("first_refresh");
+        authService.refresh("second_refresh");
+
+        verify(userRepository, times(1)).loadById(7L);
+    }
+
+    @Test
+    void refresh_ShouldEndSession_WhenUserWasDeactivated() {
+        User user = User.builder().id(7L).email("user@example.com").active(false).build();
+        when(refreshTokenService.rotate("old_refresh"))
+                .thenReturn(new RefreshTokenService.Session("session-1", 7L, "new_refresh"));
+        when(userRepository.loadById(7L)).thenReturn(Optional.of(user));
+
+        UserException exception = assertThrows(UserException.class, () -> authService.refresh("old_refresh"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        verify(refreshTokenService).endSession("new_refresh");
+        verifyNoInteractions(jwtHelper);
     }
 
     @Test
@@ -86,6 +167,7 @@ class AuthServiceTest {
         command.setProfileImageURL("profile.jpg");
 
         User mockUser = new User();
+        mockUser.setId(8L);
         mockUser.setEmail(command.getEmail());
         mockUser.setFirstName(command.getFirstName());
         mockUser.setLastName(command.getLastName());
@@ -93,10 +175,11 @@ class AuthServiceTest {
         mockUser.setActive(false);
         mockUser.setPassword("encryptedPassword");
 
-        when(userRepository.findByEmail(command.getEmail())).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(command.getEmail())).thenReturn(false);
         when(authHelper.encryptPassword(command.getPassword())).thenReturn("encryptedPassword");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        when(jwtHelper.generateToken(command.getEmail())).thenReturn("valid_token");
+        when(jwtHelper.generateAccessToken(anyMap(), eq(command.getEmail()), any(Instant.class)))
+                .thenReturn("valid_token");
 
         RegisterUserResponseDTO result = authService.registerUser(command);
 
@@ -105,15 +188,52 @@ class AuthServiceTest {
         assertEquals("profile.jpg", result.getProfileImageURL());
         assertFalse(result.isActive());
         assertEquals("valid_token", result.getToken());
+        verify(registeredEmailFilter).add(command.getEmail());
+    }
+
+    @Test
+    void registerUser_ShouldSkipExistenceQuery_WhenFilterRulesEmailOut() {
+        RegisterUserCommand command = new RegisterUserCommand();
+        command.setEmail("fresh@example.com");
+        command.setPassword("password");
+        User saved = new User();
+        saved.setId(9L);
+        saved.setEmail("fresh@example.com");
+
+        when(registeredEmailFilter.mightExist("fresh@example.com")).thenReturn(false);
+        when(authHelper.encryptPassword("password")).thenReturn("encryptedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(saved);
+
+        authService.registerUser(command);
+
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void registerUser_ShouldThrowEmailTaken_WhenInsertHitsUniqueKey() {
+        RegisterUserCommand command = new RegisterUserCommand();
+        command.setEmail("raced@example.com");
+        command.setPassword("password");
+
+        when(registeredEmailFilter.mightExist("raced@example.com")).thenReturn(false);
+        when(authHelper.encryptPassword("password")).thenReturn("encryptedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        UserException exception = assertThrows(UserException.class, () -> authService.registerUser(command));
+
+        assertEquals("EMAIL_ALREADY_TAKEN", exception.getErrorMessage());
+        verify(registeredEmailFilter, never()).add(any());
     }
 
     @Test
     void registerUser_ShouldThrowException_WhenEmailExists() {
         RegisterUserCommand command = new RegisterUserCommand();
         command.setEmail("existing@example.com");
-        when(userRepository.findByEmail("existing@example.com")).thenReturn(Optional.of(new User()));
+        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
 
         assertThrows(UserException.class, () -> authService.registerUser(command));
+        verify(userRepository, never()).findByEmail(any());
     }
 
     @Test
@@ -143,6 +263,21 @@ class AuthServiceTest {
         verify(emailService, times(1)).sendForgotPasswordEmail(eq(email), anyString());
     }
 
+    @Test
+    void forgotPassword_ShouldStoreOnlyTokenHash_AndReplacePreviousTokens() {
+        String email = "user@example.com";
+        ArgumentCaptor<VerificationToken> tokenCaptor = ArgumentCaptor.forClass(VerificationToken.class);
+        ArgumentCaptor<String> linkCaptor = ArgumentCaptor.forClass(String.class);
+
+        authService.forgotPassword(email);
+
+        verify(verificationTokenRepository).replaceAllByUserEmail(tokenCaptor.capture());
+        verify(emailService).sendForgotPasswordEmail(eq(email), linkCaptor.capture());
+        String rawToken = linkCaptor.getValue().substring(linkCaptor.getValue().lastIndexOf('/') + 1);
+        assertArrayEquals(TokenHashHelper.sha256(rawToken), tokenCaptor.getValue().getTokenHash());
+        assertEquals(email, tokenCaptor.getValue().getUserEmail());
+    }
+
 
     @Test
     void resetPassword_ShouldResetPassword_WhenTokenIsValid() {
@@ -150,15 +285,16 @@ class AuthServiceTest {
         String email = "user@example.com";
         String newPassword = "newPassword";
         User user = new User();
+        user.setId(3L);
         user.setEmail(email);
         user.setPassword("oldPassword");
 
         VerificationToken verificationToken = new VerificationToken();
-        verificationToken.setToken(token);
+        verificationToken.setTokenHash(TokenHashHelper.sha256(token));
         verificationToken.setUserEmail(email);
         verificationToken.setExpiryDate(LocalDateTime.now().plusHours(1));
 
-        when(verificationTokenRepository.findByToken(token)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.findByTokenHash(aryEq(TokenHashHelper.sha256(token)))).thenReturn(Optional.of(verificationToken));
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
         when(authHelper.encryptPassword(newPassword)).thenReturn("newEncryptedPassword");
 
@@ -167,6 +303,7 @@ class AuthServiceTest {
         assertEquals("Password successfully reset.", result.getMessage());
         assertEquals("newEncryptedPassword", user.getPassword());
         verify(verificationTokenRepository, times(1)).delete(verificationToken);
+        verify(refreshTokenService).endAllSessions(3L);
     }
 
     @Test
@@ -176,11 +313,11 @@ class AuthServiceTest {
         String newPassword = "newPassword";
 
         VerificationToken verificationToken = new VerificationToken();
-        verificationToken.setToken(token);
+        verificationToken.setTokenHash(TokenHashHelper.sha256(token));
         verificationToken.setUserEmail(email);
         verificationToken.setExpiryDate(LocalDateTime.now().minusHours(1));  // Expired token
 
-        when(verificationTokenRepository.findByToken(token)).thenReturn(Optional.of(verificationToken));
+        when(verificationTokenRepository.findByTokenHash(aryEq(TokenHashHelper.sha256(token)))).thenReturn(Optional.of(verificationToken));
 
         assertThrows(UserException.class, () -> authService.resetPassword(token, newPassword));
     }
@@ -191,7 +328,7 @@ class AuthServiceTest {
         String email = "user@example.com";
         String newPassword = "newPassword";
 
-        when(verificationTokenRepository.findByToken(token)).thenReturn(Optional.empty());
+        when(verificationTokenRepository.findByTokenHash(aryEq(TokenHashHelper.sha256(token)))).thenReturn(Optional.empty());
 
         assertThrows(UserException.class, () -> authService.resetPassword(token, newPassword));
     }
@@ -69,9 +69,9 @@ class ChatMessageServiceTest {
         String chatRoomId = "chatRoom123";
         List<ChatMessage> messages = List.of(new ChatMessage(), new ChatMessage());
         when(chatRoomService.getChatRoomId(senderId, recipientId, false)).thenReturn(Optional.of(chatRoomId));
-        when(repository.findByChatId(chatRoomId)).thenReturn(messages);
+        when(repository.findByChatIdOrderByTimestamp(chatRoomId)).thenReturn(messages);
         assertDoesNotThrow(() -> chatMessageService.findChatMessages(senderId, recipientId));
-        verify(repository, times(1)).findByChatId(chatRoomId);
+        verify(repository, times(1)).findByChatIdOrderByTimestamp(chatRoomId);
     }
 
     @Test
@@ -81,6 +81,6 @@ class ChatMessageServiceTest {
         when(chatRoomService.getChatRoomId(senderId, recipientId, false)).thenReturn(Optional.empty());
         List<ChatMessage> result = chatMessageService.findChatMessages(senderId, recipientId);
         assertTrue(result.isEmpty());
-        verify(repository, never()).findByChatId(anyString());
+        verify(repository, never()).findByChatIdOrderByTimestamp(anyString());
     }
 }
@@ -0,0 +1,126 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import secretstuffs.application.helpers.JwtHelper;
+import secretstuffs.application.helpers.StompAuthenticationInterceptor;
+import secretstuffs.application.helpers.VerifiedTokenCache;
+import secretstuffs.domain.configurations.WebSocketConfig;
+import secretstuffs.domain.dtos.commands.donation.DonationNotification;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends donation updates through the real broker to STOMP clients connected over SockJS, as the
+ * frontend does.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = DonationNotificationDeliveryTest.StompApplication.class)
+class DonationNotificationDeliveryTest {
+
+    private static final String REQUESTER = "requester@example.com";
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @Import({WebSocketConfig.class, StompAuthenticationInterceptor.class, DonationNotificationService.class,
+            JwtHelper.class, VerifiedTokenCache.class})
+    static class StompApplication {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private DonationNotificationService notificationService;
+
+    @Autowired
+    private JwtHelper jwtHelper;
+
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(
+            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldDeliverUpdate_ToTheRequestersSubscription() throws Exception {
+        BlockingQueue<DonationNotification> requesterUpdates = subscribe(REQUESTER);
+        BlockingQueue<DonationNotification> otherUpdates = subscribe("other@example.com");
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", true, List.of(
+                new DonationStatusChange(1L, 10L, REQUESTER, DonationEnum.PENDING, DonationEnum.ACCEPTED)));
+
+        // The subscription is registered asynchronously; resend until it has been
+        DonationNotification received = null;
+        for (int attempt = 0; attempt < 50 && received == null; attempt++) {
+            notificationService.onDonationStatusChanged(event);
+            received = requesterUpdates.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertNotNull(received, "The requester should receive the update");
+        assertEquals(1L, received.getDonationId());
+        assertEquals(DonationEnum.ACCEPTED, received.getStatus());
+        assertNull(otherUpdates.poll(200, TimeUnit.MILLISECONDS), "Other users should not receive it");
+    }
+
+    private BlockingQueue<DonationNotification> subscribe(String email) throws Exception {
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add(HttpHeaders.AUTHORIZATION, "Bearer " + jwtHelper.generateAccessToken(
+                Map.of(JwtHelper.CLAIM_USER_ID, 7L, JwtHelper.CLAIM_ACTIVE, true), email, Instant.now().plusSeconds(60)));
+        StompSession session = stompClient.connectAsync("http://localhost:" + port + "/ws",
+                new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                }).get(5, TimeUnit.SECONDS);
+
+        BlockingQueue<DonationNotification> updates = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/donations", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return DonationNotification.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                updates.add((DonationNotification) payload);
+            }
+        });
+        return updates;
+    }
+}
@@ -0,0 +1,81 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import secretstuffs.domain.dtos.commands.donation.DonationNotification;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DonationNotificationServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private DonationNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldNotifyEveryAffectedUser() {
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", true, List.of(
+                new DonationStatusChange(1L, 10L, "accepted@example.com", DonationEnum.PENDING, DonationEnum.ACCEPTED),
+                new DonationStatusChange(2L, 11L, "rejected@example.com", DonationEnum.PENDING, DonationEnum.REJECTED)
+        ));
+
+        notificationService.onDonationStatusChanged(event);
+
+        ArgumentCaptor<DonationNotification> captor = ArgumentCaptor.forClass(DonationNotification.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("accepted@example.com"), eq("/queue/donations"), captor.capture());
+        verify(messagingTemplate).convertAndSendToUser(eq("rejected@example.com"), eq("/queue/donations"), captor.capture());
+        DonationNotification accepted = captor.getAllValues().get(0);
+        assertEquals(DonationEnum.ACCEPTED, accepted.getStatus());
+        assertEquals(5L, accepted.getItemPostId());
+        assertTrue(accepted.isItemPostClosed());
+        assertEquals(DonationEnum.REJECTED, captor.getAllValues().get(1).getStatus());
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldCoalesceChangesPerUser() {
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", false, List.of(
+                new DonationStatusChange(1L, 10L, "user@example.com", DonationEnum.PENDING, DonationEnum.ACCEPTED),
+                new DonationStatusChange(1L, 10L, "user@example.com", DonationEnum.ACCEPTED, DonationEnum.REJECTED)
+        ));
+
+        notificationService.onDonationStatusChanged(event);
+
+        ArgumentCaptor<DonationNotification> captor = ArgumentCaptor.forClass(DonationNotification.class);
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("user@example.com"), eq("/queue/donations"), captor.capture());
+        assertEquals(DonationEnum.PENDING, captor.getValue().getPreviousStatus());
+        assertEquals(DonationEnum.REJECTED, captor.getValue().getStatus());
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldKeepNotifying_WhenOneSendFails() {
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", true, List.of(
+                new DonationStatusChange(1L, 10L, "first@example.com", DonationEnum.PENDING, DonationEnum.ACCEPTED),
+                new DonationStatusChange(2L, 11L, "second@example.com", DonationEnum.PENDING, DonationEnum.REJECTED)
+        ));
+        doThrow(new MessagingException("broker unavailable"))
+                .when(messagingTemplate).convertAndSendToUser(eq("first@example.com"), anyString(), any(Object.class));
+
+        notificationService.onDonationStatusChanged(event);
+
+        verify(messagingTemplate).convertAndSendToUser(eq("second@example.com"), eq("/queue/donations"), any(Object.class));
+    }
+}
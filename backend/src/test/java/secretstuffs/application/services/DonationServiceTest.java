@@ -3,6 +3,7 @@ package secretstuffs.application.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,21 +11,45 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.DonationException;
 import secretstuffs.domain.entities.Donation;
 import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.entities.User;
 import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+import secretstuffs.domain.models.responses.donation.DonationSummaryDTO;
 import secretstuffs.infrastructure.repositories.DonationRepository;
+import secretstuffs.infrastructure.repositories.ItemPostRepository;
 
 class DonationServiceTest {
 
+   private static final String OWNER = "owner@example.com";
+
    @Mock
    private DonationRepository donationRepository;
 
+   @Mock
+   private ItemPostRepository itemPostRepository;
+
+   @Mock
+   private ApplicationEventPublisher eventPublisher;
+
+   @Mock
+   private UserStatsService userStatsService;
+
    @InjectMocks
    private DonationService donationService;
 
@@ -36,12 +61,11 @@ class DonationServiceTest {
    @Test
    void getDonationById_ShouldReturnDonation_WhenExists() {
       Long id = 1L;
-      Donation donation = new Donation();
-      donation.setId(id);
+      DonationSummaryDTO donation = DonationSummaryDTO.builder().id(id).build();
 
-      when(donationRepository.findById(id)).thenReturn(Optional.of(donation));
+      when(donationRepository.findSummaryById(id)).thenReturn(Optional.of(donation));
 
-      Optional<Donation> result = donationService.getDonationById(id);
+      Optional<DonationSummaryDTO> result = donationService.getDonationById(id);
 
       assertTrue(result.isPresent());
       assertEquals(donation, result.get());
@@ -51,71 +75,60 @@ class DonationServiceTest {
    void getDonationById_ShouldReturnEmpty_WhenDoesNotExist() {
       Long id = 1L;
 
-      when(donationRepository.findById(id)).thenReturn(Optional.empty());
+      when(donationRepository.findSummaryById(id)).thenReturn(Optional.empty());
 
-      Optional<Donation> result = donationService.getDonationById(id);
+      Optional<DonationSummaryDTO> result = donationService.getDonationById(id);
 
       assertTrue(result.isEmpty());
    }
 
    @Test
-   void save_ShouldSaveDonation_WhenValid() {
-      Donation donation = createValidDonation();
+   void create_ShouldReturnNewId_WhenInserted() {
+      when(donationRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class))).thenReturn(Optional.of(10L));
 
-      when(donationRepository.save(donation)).thenReturn(donation);
-
-      Donation result = donationService.save(donation);
+      Long result = donationService.create(1L, 2L);
 
-      assertEquals(donation, result);
-      verify(donationRepository, times(1)).save(donation);
+      assertEquals(10L, result);
+      verify(donationRepository, never()).findByUser_IdAndItemPost_Id(any(), any());
+      verify(userStatsService).donationRequested(1L);
    }
 
    @Test
-   void save_ShouldThrowException_WhenDonationIsNull() {
-      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-         donationService.save(null);
-      });
+   void create_ShouldThrowConflict_WhenDonationAlreadyExists() {
+      when(donationRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+      DonationException exception = assertThrows(DonationException.class, () -> donationService.create(1L, 2L));
 
-      assertEquals("Donation cannot be null", exception.getMessage());
+      assertEquals("DONATION_ALREADY_EXISTS", exception.getErrorCode());
+      assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+      verifyNoInteractions(userStatsService);
    }
 
    @Test
-   void save_ShouldThrowException_WhenUserIsNull() {
-      Donation donation = new Donation();
-      donation.setItemPost(new ItemPost());
+   void create_ShouldThrowNotFound_WhenForeignKeyIsViolated() {
+      SQLException cause = new SQLException("insert or update violates foreign key constraint", "23503");
+      when(donationRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class)))
+              .thenThrow(new DataIntegrityViolationException("fk violation", cause));
 
-      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-         donationService.save(donation);
-      });
+      DonationException exception = assertThrows(DonationException.class, () -> donationService.create(1L, 2L));
 
-      assertEquals("Donation must have a valid user with an ID", exception.getMessage());
+      assertEquals("User or item post not found", exception.getErrorMessage());
+      assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
    }
 
    @Test
-   void save_ShouldThrowException_WhenItemPostIsNull() {
-      Donation donation = new Donation();
-      donation.setUser(new User());
+   void create_ShouldRethrow_WhenOtherConstraintIsViolated() {
+      SQLException cause = new SQLException("null value in column", "23502");
+      when(donationRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class)))
+              .thenThrow(new DataIntegrityViolationException("not null violation", cause));
 
-      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-         donationService.save(donation);
-      });
-
-      assertEquals("Donation must have a valid user with an ID", exception.getMessage());
+      assertThrows(DataIntegrityViolationException.class, () -> donationService.create(1L, 2L));
    }
 
    @Test
-   void save_ShouldThrowException_WhenDuplicateDonationExists() {
-      Donation donation = createValidDonation();
-
-      when(donationRepository.findByUser_IdAndItemPost_Id(
-              donation.getUser().getId(), donation.getItemPost().getId()))
-              .thenReturn(Optional.of(donation));
-
-      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-         donationService.save(donation);
-      });
-
-      assertEquals("A donation already exists for this user and item post", exception.getMessage());
+   void create_ShouldThrowException_WhenIdsAreMissing() {
+      assertThrows(IllegalArgumentException.class, () -> donationService.create(null, 2L));
+      verifyNoInteractions(donationRepository);
    }
 
    @Test
@@ -126,26 +139,159 @@ class DonationServiceTest {
       Donation donation = createValidDonation();
       donation.setStatus(DonationEnum.PENDING);
 
+      when(itemPostRepository.findById(itemPostId)).thenReturn(Optional.of(donation.getItemPost()));
       when(donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId))
               .thenReturn(Optional.of(donation));
       when(donationRepository.save(donation)).thenReturn(donation);
 
-      Donation result = donationService.donate(userId, itemPostId);
+      Donation result = donationService.donate(userId, itemPostId, OWNER);
 
       assertEquals(DonationEnum.ACCEPTED, result.getStatus());
       verify(donationRepository, times(1)).save(donation);
    }
 
+   @Test
+   void donate_ShouldRejectSiblingsInBulkAndCloseItemPost() {
+      Long userId = 1L;
+      Long itemPostId = 1L;
+      Donation donation = createValidDonation();
+      DonationRepository.DonationUserView sibling = mock(DonationRepository.DonationUserView.class);
+      when(sibling.getId()).thenReturn(7L);
+      when(sibling.getUserId()).thenReturn(2L);
+      when(sibling.getUserEmail()).thenReturn("other@example.com");
+
+      when(itemPostRepository.findById(itemPostId)).thenReturn(Optional.of(donation.getItemPost()));
+      when(donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId)).thenReturn(Optional.of(donation));
+      when(donationRepository.findByItemPostAndStatusExcluding(itemPostId, DonationEnum.PENDING, donation.getId()))
+              .thenReturn(List.of(sibling));
+      when(donationRepository.save(donation)).thenReturn(donation);
+
+      donationService.donate(userId, itemPostId, OWNER);
+
+      verify(donationRepository).updateStatusByItemPostExcluding(eq(itemPostId), eq(DonationEnum.PENDING),
+              eq(DonationEnum.REJECTED), eq(donation.getId()), any(LocalDateTime.class));
+      assertEquals(ItemPostStatusEnum.INACTIVE, donation.getItemPost().getStatus());
+
+      ArgumentCaptor<DonationStatusChangedEvent> eventCaptor = ArgumentCaptor.forClass(DonationStatusChangedEvent.class);
+      verify(eventPublisher).publishEvent(eventCaptor.capture());
+      DonationStatusChangedEvent event = eventCaptor.getValue();
+      assertTrue(event.itemPostClosed());
+      assertEquals(2, event.changes().size());
+      DonationStatusChange rejected = event.changes().get(1);
+      assertEquals(7L, rejected.donationId());
+      assertEquals(DonationEnum.REJECTED, rejected.newStatus());
+   }
+
+   @Test
+   void donate_ShouldThrowConflict_WhenDonationAlreadyDecided() {
+      Donation donation = createValidDonation();
+      donation.setStatus(DonationEnum.REJECTED);
+
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+      when(donationRepository.findByUser_IdAndItemPost_Id(1L, 1L)).thenReturn(Optional.of(donation));
+
+      DonationException exception = assertThrows(DonationException.class, () -> donationService.donate(1L, 1L, OWNER));
+
+      assertEquals("INVALID_DONATION_TRANSITION", exception.getErrorCode());
+      verify(donationRepository, never()).save(any());
+      verifyNoInteractions(eventPublisher);
+   }
+
+   @Test
+   void donate_ShouldThrowConflict_WhenItemPostIsNotActive() {
+      Donation donation = createValidDonation();
+      donation.getItemPost().setStatus(ItemPostStatusEnum.INACTIVE);
+
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+      when(donationRepository.findByUser_IdAndItemPost_Id(1L, 1L)).thenReturn(Optional.of(donation));
+
+      DonationException exception = assertThrows(DonationException.class, () -> donationService.donate(1L, 1L, OWNER));
+
+      assertEquals("ITEM_POST_NOT_ACTIVE", exception.getErrorCode());
+   }
+
+   @Test
+   void donate_ShouldPropagateOptimisticLockFailure_WhenItemPostClosedConcurrently() {
+      Donation donation = createValidDonation();
+
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+      when(donationRepository.findByUser_IdAndItemPost_Id(1L, 1L)).thenReturn(Optional.of(donation));
+      when(itemPostRepository.saveAndFlush(donation.getItemPost()))
+              .thenThrow(new ObjectOptimisticLockingFailureException(ItemPost.class, 1L));
+
+      assertThrows(ObjectOptimisticLockingFailureException.class, () -> donationService.donate(1L, 1L, OWNER));
+
+      verify(donationRepository, never()).updateStatusByItemPostExcluding(any(), any(), any(), any(), any());
+      verify(donationRepository, never()).save(any());
+      verifyNoInteractions(eventPublisher);
+   }
+
+   @Test
+   void reject_ShouldRejectPendingDonation_AndKeepItemPostOpen() {
+      Donation donation = createValidDonation();
+
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+      when(donationRepository.findByUser_IdAndItemPost_Id(1L, 1L)).thenReturn(Optional.of(donation));
+      when(donationRepository.save(donation)).thenReturn(donation);
+
+      Donation result = donationService.reject(1L, 1L, OWNER);
+
+      assertEquals(DonationEnum.REJECTED, result.getStatus());
+      assertEquals(ItemPostStatusEnum.ACTIVE, donation.getItemPost().getStatus());
+      verify(donationRepository, never()).updateStatusByItemPostExcluding(any(), any(), any(), any(), any());
+      verify(eventPublisher).publishEvent(any(DonationStatusChangedEvent.class));
+   }
+
+   @Test
+   void donate_ShouldThrowForbidden_WhenCallerDoesNotOwnItemPost() {
+      Donation donation = createValidDonation();
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+
+      DonationException exception = assertThrows(DonationException.class,
+              () -> donationService.donate(1L, 1L, "requester@example.com"));
+
+      assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+      assertEquals(DonationEnum.PENDING, donation.getStatus());
+      verify(itemPostRepository, never()).saveAndFlush(any());
+      verify(donationRepository, never()).save(any());
+      verifyNoInteractions(eventPublisher);
+   }
+
+   @Test
+   void reject_ShouldThrowForbidden_WhenCallerDoesNotOwnItemPost() {
+      Donation donation = createValidDonation();
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.of(donation.getItemPost()));
+
+      DonationException exception = assertThrows(DonationException.class,
+              () -> donationService.reject(1L, 1L, "requester@example.com"));
+
+      assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+      verify(donationRepository, never()).save(any());
+      verifyNoInteractions(eventPublisher);
+   }
+
+   @Test
+   void donate_ShouldThrowNotFound_WhenItemPostDoesNotExist() {
+      when(itemPostRepository.findById(1L)).thenReturn(Optional.empty());
+
+      BusinessException exception = assertThrows(BusinessException.class, () -> donationService.donate(1L, 1L, OWNER));
+
+      assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+      assertEquals("Item post not found", exception.getErrorMessage());
+      verifyNoInteractions(eventPublisher);
+   }
+
    @Test
    void donate_ShouldThrowException_WhenDonationDoesNotExist() {
       Long userId = 1L;
       Long itemPostId = 1L;
 
+      when(itemPostRepository.findById(itemPostId)).thenReturn(Optional.of(createValidDonation().getItemPost()));
       when(donationRepository.findByUser_IdAndItemPost_Id(userId, itemPostId))
               .thenReturn(Optional.empty());
 
       IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-         donationService.donate(userId, itemPostId);
+         donationService.donate(userId, itemPostId, OWNER);
       });
 
       assertEquals("Donation not found", exception.getMessage());
@@ -154,11 +300,11 @@ class DonationServiceTest {
    @Test
    void getDonationsByUserId_ShouldReturnDonations_WhenExists() {
       Long userId = 1L;
-      List<Donation> donations = new ArrayList<>();
+      List<DonationSummaryDTO> donations = new ArrayList<>();
 
-      when(donationRepository.findByUser_Id(userId)).thenReturn(donations);
+      when(donationRepository.findSummariesByUserId(userId, PageRequest.of(0, 20))).thenReturn(donations);
 
-      List<Donation> result = donationService.getDonationsByUserId(userId);
+      List<DonationSummaryDTO> result = donationService.getDonationsByUserId(userId, 0, 20);
 
       assertEquals(donations, result);
    }
@@ -167,9 +313,9 @@ class DonationServiceTest {
    void getDonationsByUserId_ShouldReturnEmptyList_WhenNoDonationsExist() {
       Long userId = 1L;
 
-      when(donationRepository.findByUser_Id(userId)).thenReturn(new ArrayList<>());
+      when(donationRepository.findSummariesByUserId(userId, PageRequest.of(0, 20))).thenReturn(new ArrayList<>());
 
-      List<Donation> result = donationService.getDonationsByUserId(userId);
+      List<DonationSummaryDTO> result = donationService.getDonationsByUserId(userId, 0, 20);
 
       assertTrue(result.isEmpty());
    }
@@ -177,11 +323,11 @@ class DonationServiceTest {
    @Test
    void getDonationsByItemPostId_ShouldReturnDonations_WhenExists() {
       Long itemPostId = 1L;
-      List<Donation> donations = new ArrayList<>();
+      List<DonationSummaryDTO> donations = new ArrayList<>();
 
-      when(donationRepository.findByItemPost_Id(itemPostId)).thenReturn(donations);
+      when(donationRepository.findSummariesByItemPostId(itemPostId, PageRequest.of(0, 20))).thenReturn(donations);
 
-      List<Donation> result = donationService.getDonationsByItemPostId(itemPostId);
+      List<DonationSummaryDTO> result = donationService.getDonationsByItemPostId(itemPostId, 0, 20);
 
       assertEquals(donations, result);
    }
@@ -190,21 +336,30 @@ class DonationServiceTest {
    void getDonationsByItemPostId_ShouldReturnEmptyList_WhenNoDonationsExist() {
       Long itemPostId = 1L;
 
-      when(donationRepository.findByItemPost_Id(itemPostId)).thenReturn(new ArrayList<>());
+      when(donationRepository.findSummariesByItemPostId(itemPostId, PageRequest.of(0, 20))).thenReturn(new ArrayList<>());
 
-      List<Donation> result = donationService.getDonationsByItemPostId(itemPostId);
+      List<DonationSummaryDTO> result = donationService.getDonationsByItemPostId(itemPostId, 0, 20);
 
       assertTrue(result.isEmpty());
    }
 
+   @Test
+   void getDonationsByItemPostId_ShouldClampPageRequest() {
+      donationService.getDonationsByItemPostId(1L, -3, 10_000);
+
+      verify(donationRepository).findSummariesByItemPostId(1L, PageRequest.of(0, 100));
+   }
+
    private Donation createValidDonation() {
       Donation donation = new Donation();
+      donation.setId(1L);
       User user = new User();
       user.setId(1L);
       donation.setUser(user);
 
       ItemPost itemPost = new ItemPost();
       itemPost.setId(1L);
+      itemPost.setEmail(OWNER);
       donation.setItemPost(itemPost);
 
       donation.setCreatedAt(LocalDateTime.now());
@@ -8,13 +8,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
+import secretstuffs.application.helpers.RequestCoalescer;
+import secretstuffs.application.mappers.ItemPostMapper;
+import secretstuffs.application.mappers.ItemPostMapperImpl;
 import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
 import secretstuffs.domain.dtos.exception.BusinessException;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 import secretstuffs.domain.entities.ItemPost;
-import secretstuffs.domain.entities.User;
 import secretstuffs.domain.enums.ConditionEnum;
 import secretstuffs.domain.enums.CategoryEnum;
 import secretstuffs.domain.enums.ItemPostStatusEnum;
@@ -35,6 +39,15 @@ class ItemPostServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Spy
+    private ItemPostMapper itemPostMapper = new ItemPostMapperImpl();
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(1000);
+
     @InjectMocks
     private ItemPostService itemPostService;
 
@@ -57,7 +70,7 @@ class ItemPostServiceTest {
                 email, title, address, description, condition, itemPostUrl, category
         );
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(new User()));
+        when(userRepository.existsByEmail(email)).thenReturn(true);
         when(itemPostRepository.save(any(ItemPost.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         var response = itemPostService.createItem(command);
@@ -65,6 +78,7 @@ class ItemPostServiceTest {
         assertNotNull(response);
         assertEquals(title, response.getTitle());
         assertEquals(address, response.getAddress());
+        verify(userStatsService).postCreated(email);
     }
 
     @Test
@@ -75,7 +89,7 @@ class ItemPostServiceTest {
                 ConditionEnum.NEW, "test-url", CategoryEnum.FURNITURE
         );
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.existsByEmail(email)).thenReturn(false);
 
         BusinessException exception = assertThrows(BusinessException.class, () ->
                 itemPostService.createItem(command)
@@ -91,13 +105,16 @@ class ItemPostServiceTest {
         Long validId = 1L;
         ItemPost mockPost = new ItemPost();
         mockPost.setId(validId);
+        mockPost.setTitle("Chair");
 
         when(itemPostRepository.findById(validId)).thenReturn(Optional.of(mockPost));
 
-        ItemPost response = itemPostService.getItemById(validId);
+        ItemPostDetailsDTO response = itemPostService.getItemById(validId);
 
         assertNotNull(response);
-        assertEquals(validId, response.getId());
+        assertEquals(validId, response.id());
+        assertEquals("Chair", response.title());
+        assertEquals(ItemPostStatusEnum.ACTIVE, response.status());
         verify(itemPostRepository, times(1)).findById(validId);
     }
 
@@ -132,20 +149,25 @@ class ItemPostServiceTest {
     @Test
     void deleteItemPost_ShouldDelete_WhenValidIdExists() {
         Long validId = 1L;
-        when(itemPostRepository.existsById(validId)).thenReturn(true);
+        ItemPost itemPost = new ItemPost();
+        itemPost.setId(validId);
+        itemPost.setEmail("user@example.com");
+        when(itemPostRepository.findById(validId)).thenReturn(Optional.of(itemPost));
 
         itemPostService.deleteItemPost(validId);
 
-        verify(itemPostRepository, times(1)).deleteById(validId);
+        verify(itemPostRepository, times(1)).delete(itemPost);
+        verify(userStatsService).postDeleted("user@example.com", ItemPostStatusEnum.ACTIVE);
     }
 
     @Test
     void deleteItemPost_ShouldThrowException_WhenIdNotFound() {
         Long invalidId = 1L;
-        when(itemPostRepository.existsById(invalidId)).thenReturn(false);
+        when(itemPostRepository.findById(invalidId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemPostService.deleteItemPost(invalidId));
-        verify(itemPostRepository, never()).deleteById(any());
+        verify(itemPostRepository, never()).delete(any());
+        verifyNoInteractions(userStatsService);
     }
 
     @Test
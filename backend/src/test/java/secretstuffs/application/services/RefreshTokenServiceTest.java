@@ -0,0 +1,130 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import secretstuffs.application.helpers.TokenHashHelper;
+import secretstuffs.domain.dtos.exception.UserException;
+import secretstuffs.domain.entities.RefreshToken;
+import secretstuffs.infrastructure.repositories.RefreshTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenRevocationList, 3600, 2);
+    }
+
+    @Test
+    void startSession_ShouldStoreOnlyTokenHash() {
+        RefreshTokenService.Session session = refreshTokenService.startSession(USER_ID);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertArrayEquals(TokenHashHelper.sha256(session.refreshToken()), saved.getValue().getTokenHash());
+        assertEquals(session.sessionId(), saved.getValue().getSessionId());
+        assertEquals(USER_ID, saved.getValue().getUserId());
+        assertTrue(saved.getValue().getExpiryDate().isAfter(LocalDateTime.now().plusMinutes(59)));
+    }
+
+    @Test
+    void rotate_ShouldIssueNewTokenOfSameSession() {
+        RefreshToken current = stored("old", null, LocalDateTime.now().plusHours(1));
+        when(refreshTokenRepository.markRotated(eq(1L), any())).thenReturn(1);
+
+        RefreshTokenService.Session session = refreshTokenService.rotate("old");
+
+        assertEquals("session-1", session.sessionId());
+        assertEquals(USER_ID, session.userId());
+        assertNotEquals("old", session.refreshToken());
+        verify(refreshTokenRepository).markRotated(eq(current.getId()), any());
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    void rotate_ShouldEndSession_WhenRotatedTokenIsPresentedAgain() {
+        stored("old", LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusHours(1));
+
+        assertThrows(UserException.class, () -> refreshTokenService.rotate("old"));
+
+        verify(refreshTokenRepository).deleteAllBySessionId("session-1");
+        verify(tokenRevocationList).revokeSession("session-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ShouldEndSession_WhenConcurrentRequestRotatedFirst() {
+        stored("old", null, LocalDateTime.now().plusHours(1));
+        when(refreshTokenRepository.markRotated(anyLong(), any())).thenReturn(0);
+
+        assertThrows(UserException.class, () -> refreshTokenService.rotate("old"));
+
+        verify(tokenRevocationList).revokeSession("session-1");
+    }
+
+    @Test
+    void rotate_ShouldRejectExpiredToken_WithoutEndingSession() {
+        stored("old", null, LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(UserException.class, () -> refreshTokenService.rotate("old"));
+
+        verify(refreshTokenRepository, never()).markRotated(anyLong(), any());
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    void endSession_ShouldIgnoreUnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        refreshTokenService.endSession("unknown");
+
+        verify(refreshTokenRepository, never()).deleteAllBySessionId(any());
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    @Test
+    void sweepExpiredTokens_ShouldDeleteUntilBatchComesBackShort() {
+        when(refreshTokenRepository.deleteExpiredBatch(any(), eq(2))).thenReturn(2, 2, 1);
+
+        assertEquals(5, refreshTokenService.sweepExpiredTokens());
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(), eq(2));
+    }
+
+    private RefreshToken stored(String token, LocalDateTime rotatedAt, LocalDateTime expiryDate) {
+        RefreshToken stored = RefreshToken.builder()
+                .id(1L)
+                .tokenHash(TokenHashHelper.sha256(token))
+                .userId(USER_ID)
+                .sessionId("session-1")
+                .rotatedAt(rotatedAt)
+                .expiryDate(expiryDate)
+                .build();
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashHelper.sha256(token))))
+                .thenReturn(Optional.of(stored));
+        return stored;
+    }
+}
@@ -0,0 +1,75 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import secretstuffs.infrastructure.repositories.UserRepository;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        filter = new RegisteredEmailFilter(userRepository, true, 1000, 0.01);
+    }
+
+    @Test
+    void mightExist_ShouldReturnTrue_BeforeFirstRebuild() {
+        assertTrue(filter.mightExist("anyone@example.com"));
+    }
+
+    @Test
+    void rebuild_ShouldLoadRegisteredEmails() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("known@example.com"));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("known@example.com"));
+        assertFalse(filter.mightExist("unknown@example.com"));
+    }
+
+    @Test
+    void add_ShouldMakeNewEmailVisible() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+
+        filter.add("new@example.com");
+
+        assertTrue(filter.mightExist("new@example.com"));
+    }
+
+    @Test
+    void rebuild_ShouldKeepPreviousFilter_WhenScanFails() {
+        when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("known@example.com"))
+                .thenThrow(new IllegalStateException("connection lost"));
+        filter.rebuild();
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("known@example.com"));
+        assertFalse(filter.mightExist("unknown@example.com"));
+    }
+
+    @Test
+    void rebuild_ShouldDoNothing_WhenDisabled() {
+        RegisteredEmailFilter disabled = new RegisteredEmailFilter(userRepository, false, 1000, 0.01);
+
+        disabled.rebuild();
+
+        assertTrue(disabled.mightExist("unknown@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,103 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.domain.entities.TokenRevocation;
+import secretstuffs.infrastructure.repositories.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(tokenRevocationRepository, 900, 5000, 100, 0.01);
+    }
+
+    @Test
+    void isRevoked_ShouldBeFalse_WhenNothingWasRevoked() {
+        assertFalse(revocationList.isRevoked(caller(7L, "session-1", Instant.now())));
+    }
+
+    @Test
+    void revokeSession_ShouldRevokeTokensOfThatSessionOnly() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+
+        revocationList.revokeSession("session-1");
+
+        assertTrue(revocationList.isRevoked(caller(7L, "session-1", issuedAt)));
+        assertFalse(revocationList.isRevoked(caller(7L, "session-2", issuedAt)));
+        verify(tokenRevocationRepository).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    void revokeUser_ShouldNotAffectTokensIssuedAfterwards() {
+        revocationList.revokeUser(7L);
+
+        assertTrue(revocationList.isRevoked(caller(7L, "session-1", Instant.now().minusSeconds(60))));
+        assertFalse(revocationList.isRevoked(caller(7L, "session-2", Instant.now().plusSeconds(2))));
+        assertFalse(revocationList.isRevoked(caller(8L, "session-1", Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void revokeUser_ShouldRevokeTokensIssuedWithoutSession() {
+        revocationList.revokeUser(7L);
+
+        assertTrue(revocationList.isRevoked(caller(7L, null, Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void isRevoked_ShouldCompareIssueTimes_BelowOneSecond() {
+        // A login right after a password reset gets a token issued in the same second as the revocation
+        LocalDateTime second = LocalDateTime.now().minusSeconds(10).truncatedTo(ChronoUnit.SECONDS);
+        when(tokenRevocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                TokenRevocation.builder().subject("user:7").revokedAt(second.plusNanos(400_000_000)).build()));
+        Instant secondStart = second.atZone(ZoneId.systemDefault()).toInstant();
+
+        revocationList.poll();
+
+        assertTrue(revocationList.isRevoked(caller(7L, "session-1", secondStart.plusMillis(100))));
+        assertFalse(revocationList.isRevoked(caller(7L, "session-2", secondStart.plusMillis(700))));
+    }
+
+    @Test
+    void poll_ShouldApplyRevocationsOfOtherInstances() {
+        when(tokenRevocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                TokenRevocation.builder().subject("session:session-1").revokedAt(LocalDateTime.now()).build()));
+
+        revocationList.poll();
+
+        assertTrue(revocationList.isRevoked(caller(7L, "session-1", Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void poll_ShouldForgetRevocationsOlderThanAccessTokens() {
+        when(tokenRevocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                TokenRevocation.builder().subject("user:7").revokedAt(LocalDateTime.now().minusHours(1)).build()));
+
+        revocationList.poll();
+
+        assertFalse(revocationList.isRevoked(caller(7L, null, Instant.now().minusSeconds(7200))));
+    }
+
+    private static AuthenticatedUser caller(Long id, String sessionId, Instant issuedAt) {
+        return new AuthenticatedUser("user@example.com", id, true, sessionId, issuedAt, issuedAt.plusSeconds(900));
+    }
+}
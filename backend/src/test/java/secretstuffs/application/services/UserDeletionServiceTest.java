@@ -0,0 +1,224 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import secretstuffs.application.helpers.UserLookupCache;
+import secretstuffs.domain.dtos.exception.UserException;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.JobStatusEnum;
+import secretstuffs.domain.models.responses.user.UserDeletionStatusResponseDTO;
+import secretstuffs.infrastructure.repositories.ChatMessageRepository;
+import secretstuffs.infrastructure.repositories.ChatRoomRepository;
+import secretstuffs.infrastructure.repositories.DonationRepository;
+import secretstuffs.infrastructure.repositories.ItemPostRepository;
+import secretstuffs.infrastructure.repositories.UserRepository;
+import secretstuffs.infrastructure.repositories.UserStatsRepository;
+import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDeletionServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @Mock
+    private ItemPostRepository itemPostRepository;
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private final UserLookupCache userLookupCache = new UserLookupCache(100, 60);
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private UserDeletionService userDeletionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TaskExecutor queueingExecutor = queuedTasks::add;
+        userDeletionService = service(queueingExecutor);
+        user = User.builder().id(7L).email(EMAIL).active(true).build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void requestDeletion_ShouldDeactivateUserAndQueueJob() {
+        UserDeletionStatusResponseDTO status = userDeletionService.requestDeletion(EMAIL);
+
+        assertEquals(JobStatusEnum.QUEUED, status.getStatus());
+        assertFalse(user.isActive());
+        verify(userRepository).save(user);
+        verify(refreshTokenService).endAllSessions(7L);
+        assertEquals(1, queuedTasks.size());
+        verifyNoInteractions(donationRepository, itemPostRepository);
+    }
+
+    @Test
+    void requestDeletion_ShouldReturnPendingJob_WhenAskedTwice() {
+        UserDeletionStatusResponseDTO first = userDeletionService.requestDeletion(EMAIL);
+        UserDeletionStatusResponseDTO second = userDeletionService.requestDeletion(EMAIL);
+
+        assertEquals(first.getJobId(), second.getJobId());
+        assertEquals(1, queuedTasks.size());
+    }
+
+    @Test
+    void runDeletion_ShouldRemoveDependentRowsInBatchesBeforeTheUser() {
+        when(donationRepository.deleteBatchByUserId(7L, BATCH_SIZE)).thenReturn(2, 2, 1);
+        when(donationRepository.deleteBatchByItemPostOwner(EMAIL, BATCH_SIZE)).thenReturn(0);
+        when(itemPostRepository.deleteBatchByEmail(EMAIL, BATCH_SIZE)).thenReturn(2, 0);
+        when(chatMessageRepository.deleteBatchByParticipant(EMAIL, BATCH_SIZE)).thenReturn(1);
+        when(chatRoomRepository.deleteBatchByParticipant(EMAIL, BATCH_SIZE)).thenReturn(1);
+        when(userStatsRepository.deleteByEmail(EMAIL)).thenReturn(1);
+        when(userRepository.deleteUserById(7L)).thenReturn(1);
+
+        String jobId = userDeletionService.requestDeletion(EMAIL).getJobId();
+        queuedTasks.get(0).run();
+
+        UserDeletionStatusResponseDTO status = userDeletionService.getStatus(jobId).orElseThrow();
+        assertEquals(JobStatusEnum.COMPLETED, status.getStatus());
+        assertEquals(5L, status.getDeletedRows().get("donationsRequested"));
+        assertEquals(2L, status.getDeletedRows().get("itemPosts"));
+        assertEquals(1L, status.getDeletedRows().get("users"));
+        verify(donationRepository, times(3)).deleteBatchByUserId(7L, BATCH_SIZE);
+
+        InOrder inOrder = inOrder(donationRepository, itemPostRepository, chatRoomRepository, refreshTokenService,
+                userRepository);
+        inOrder.verify(donationRepository).deleteBatchByItemPostOwner(EMAIL, BATCH_SIZE);
+        inOrder.verify(itemPostRepository, times(2)).deleteBatchByEmail(EMAIL, BATCH_SIZE);
+        inOrder.verify(chatRoomRepository).deleteBatchByParticipant(EMAIL, BATCH_SIZE);
+        inOrder.verify(refreshTokenService).deleteAllTokens(7L);
+        inOrder.verify(userRepository).deleteUserById(7L);
+    }
+
+    @Test
+    void runDeletion_ShouldFailJobAndKeepUser_WhenAStepFails() {
+        when(itemPostRepository.deleteBatchByEmail(EMAIL, BATCH_SIZE)).thenThrow(new QueryTimeoutException("timeout"));
+
+        String jobId = userDeletionService.requestDeletion(EMAIL).getJobId();
+        queuedTasks.get(0).run();
+
+        UserDeletionStatusResponseDTO status = userDeletionService.getStatus(jobId).orElseThrow();
+        assertEquals(JobStatusEnum.FAILED, status.getStatus());
+        assertEquals("timeout", status.getFailureReason());
+        verify(userRepository, never()).deleteUserById(any());
+    }
+
+    @Test
+    void requestDeletion_ShouldRunTheCascadeAgain_AfterAFailedJob() {
+        when(itemPostRepository.deleteBatchByEmail(EMAIL, BATCH_SIZE))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        when(userRepository.deleteUserById(7L)).thenReturn(1);
+        userDeletionService.requestDeletion(EMAIL);
+        queuedTasks.get(0).run();
+
+        String jobId = userDeletionService.requestDeletion(EMAIL).getJobId();
+        queuedTasks.get(1).run();
+
+        UserDeletionStatusResponseDTO status = userDeletionService.getStatus(jobId).orElseThrow();
+        assertEquals(JobStatusEnum.COMPLETED, status.getStatus());
+        assertEquals(1L, status.getDeletedRows().get("itemPosts"));
+        assertEquals(1L, status.getDeletedRows().get("users"));
+        verify(userRepository, times(1)).save(user);
+    }
+
+    @Test
+    void requestDeletion_ShouldQueueOneJob_WhenRequestedConcurrently() throws Exception {
+        CountDownLatch lookingUp = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            lookingUp.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(user);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UserDeletionStatusResponseDTO> first = executor.submit(
+                    () -> userDeletionService.requestDeletion(EMAIL));
+            assertTrue(lookingUp.await(5, TimeUnit.SECONDS));
+
+            UserDeletionStatusResponseDTO second = userDeletionService.requestDeletion(EMAIL);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS).getJobId(), second.getJobId());
+            assertEquals(1, queuedTasks.size());
+            verify(userRepository, times(1)).findByEmail(EMAIL);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void requestDeletion_ShouldForgetTheJob_WhenUserDoesNotExist() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        assertThrows(UserException.class, () -> userDeletionService.requestDeletion(EMAIL));
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        userDeletionService.requestDeletion(EMAIL);
+
+        assertEquals(1, queuedTasks.size());
+    }
+
+    @Test
+    void requestDeletion_ShouldThrowNotFound_WhenUserDoesNotExist() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        UserException exception = assertThrows(UserException.class,
+                () -> userDeletionService.requestDeletion("missing@example.com"));
+
+        assertEquals("USER_NOT_FOUND", exception.getErrorMessage());
+    }
+
+    @Test
+    void requestDeletion_ShouldThrowQueueFull_WhenExecutorRejects() {
+        UserDeletionService busy = service(task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        UserException exception = assertThrows(UserException.class, () -> busy.requestDeletion(EMAIL));
+
+        assertEquals("DELETION_QUEUE_FULL", exception.getErrorMessage());
+    }
+
+    private UserDeletionService service(TaskExecutor executor) {
+        return new UserDeletionService(userRepository, donationRepository, itemPostRepository,
+                chatMessageRepository, chatRoomRepository, verificationTokenRepository, userStatsRepository,
+                userLookupCache, refreshTokenService, executor, BATCH_SIZE, 10);
+    }
+}
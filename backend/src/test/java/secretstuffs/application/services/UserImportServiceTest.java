@@ -0,0 +1,196 @@
+package secretstuffs.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.UserImportReader;
+import secretstuffs.domain.dtos.exception.UserImportException;
+import secretstuffs.domain.entities.User;
+import secretstuffs.domain.enums.JobStatusEnum;
+import secretstuffs.domain.models.responses.user.UserImportStatusResponseDTO;
+import secretstuffs.infrastructure.repositories.UserBulkInsertRepository;
+import secretstuffs.infrastructure.repositories.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8080";
+    private static final String HEADER = "firstName,lastName,email,password\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserBulkInsertRepository userBulkInsertRepository;
+
+    @Mock
+    private AuthHelper authHelper;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private VerificationEmailDispatcher verificationEmailDispatcher;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TaskExecutor directExecutor = Runnable::run;
+        userImportService = new UserImportService(userRepository, userBulkInsertRepository, authHelper,
+                registeredEmailFilter, verificationEmailDispatcher, new ObjectMapper(),
+                directExecutor, 2, 2, 10);
+        when(authHelper.encryptPassword(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        when(userBulkInsertRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> new int[((List<?>) invocation.getArgument(0)).size()]);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startImport_ShouldInsertValidRowsInChunks() throws IOException {
+        when(userBulkInsertRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> ones(((List<?>) invocation.getArgument(0)).size()));
+        String csv = HEADER
+                + "Jane,Doe,jane@example.com,password1\n"
+                + "John,Doe,john@example.com,password2\n"
+                + "Ann,Lee,ann@example.com,password3\n";
+
+        UserImportStatusResponseDTO status = start(csv, UserImportReader.Format.CSV);
+
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userBulkInsertRepository, times(2)).insertAll(captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        User inserted = captor.getAllValues().get(0).get(0);
+        assertEquals("hashed-password1", inserted.getPassword());
+        assertFalse(inserted.isActive());
+        assertNotNull(inserted.getCreatedAt());
+
+        UserImportStatusResponseDTO finished = userImportService.getStatus(status.getJobId()).orElseThrow();
+        assertEquals(JobStatusEnum.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getProcessedRows());
+        assertEquals(3, finished.getImportedRows());
+        assertEquals(0, finished.getFailedRows());
+        verify(registeredEmailFilter).add("ann@example.com");
+        verify(verificationEmailDispatcher).enqueue("jane@example.com", BASE_URL);
+    }
+
+    @Test
+    void startImport_ShouldReportInvalidAndDuplicateRows() throws IOException {
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of("taken@example.com"));
+        when(userBulkInsertRepository.insertAll(anyList()))
+                .thenAnswer(invocation -> ones(((List<?>) invocation.getArgument(0)).size()));
+        String csv = HEADER
+                + "Jane,Doe,not-an-email,password1\n"
+                + "John,Doe,john@example.com,password2\n"
+                + "John,Again,john@example.com,password3\n"
+                + "Tom,Taken,taken@example.com,password4\n";
+
+        UserImportStatusResponseDTO status = start(csv, UserImportReader.Format.CSV);
+
+        UserImportStatusResponseDTO finished = userImportService.getStatus(status.getJobId()).orElseThrow();
+        assertEquals(4, finished.getProcessedRows());
+        assertEquals(1, finished.getImportedRows());
+        assertEquals(3, finished.getFailedRows());
+        assertEquals(2, finished.getErrors().get(0).getLine());
+        assertEquals("Invalid email format", finished.getErrors().get(0).getMessage());
+        assertEquals("Duplicate email in import", finished.getErrors().get(1).getMessage());
+        assertEquals("Email already taken", finished.getErrors().get(2).getMessage());
+        verify(authHelper, never()).encryptPassword("password4");
+    }
+
+    @Test
+    void startImport_ShouldCountRowsSkippedByConflictAsFailed() throws IOException {
+        String ndjson = "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"password\":\"password1\"}\n";
+
+        UserImportStatusResponseDTO status = start(ndjson, UserImportReader.Format.NDJSON);
+
+        UserImportStatusResponseDTO finished = userImportService.getStatus(status.getJobId()).orElseThrow();
+        assertEquals(0, finished.getImportedRows());
+        assertEquals(1, finished.getFailedRows());
+        verify(verificationEmailDispatcher, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void startImport_ShouldFailRowsOfChunk_WhenBatchInsertFails() throws IOException {
+        when(userBulkInsertRepository.insertAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String csv = HEADER + "Jane,Doe,jane@example.com,password1\n";
+
+        UserImportStatusResponseDTO status = start(csv, UserImportReader.Format.CSV);
+
+        UserImportStatusResponseDTO finished = userImportService.getStatus(status.getJobId()).orElseThrow();
+        assertEquals(JobStatusEnum.COMPLETED, finished.getStatus());
+        assertEquals(1, finished.getFailedRows());
+        assertTrue(finished.getErrors().get(0).getMessage().startsWith("Insert failed"));
+    }
+
+    @Test
+    void startImport_ShouldFailJob_WhenHeaderIsInvalid() throws IOException {
+        UserImportStatusResponseDTO status = start("email\njane@example.com\n", UserImportReader.Format.CSV);
+
+        UserImportStatusResponseDTO finished = userImportService.getStatus(status.getJobId()).orElseThrow();
+        assertEquals(JobStatusEnum.FAILED, finished.getStatus());
+        assertEquals("CSV header is missing column firstname", finished.getFailureReason());
+        verifyNoInteractions(userBulkInsertRepository);
+    }
+
+    @Test
+    void startImport_ShouldThrowQueueFull_WhenExecutorRejects() {
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("full");
+        };
+        UserImportService busy = new UserImportService(userRepository, userBulkInsertRepository, authHelper,
+                registeredEmailFilter, verificationEmailDispatcher, new ObjectMapper(), rejecting, 2, 1, 10);
+        try {
+            UserImportException exception = assertThrows(UserImportException.class,
+                    () -> busy.startImport(stream(HEADER), UserImportReader.Format.CSV, BASE_URL));
+            assertEquals("IMPORT_QUEUE_FULL", exception.getErrorCode());
+        } finally {
+            busy.shutdown();
+        }
+    }
+
+    @Test
+    void getStatus_ShouldReturnEmpty_ForUnknownJob() {
+        assertTrue(userImportService.getStatus("missing").isEmpty());
+    }
+
+    private UserImportStatusResponseDTO start(String content, UserImportReader.Format format) throws IOException {
+        return userImportService.startImport(stream(content), format, BASE_URL);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int[] ones(int size) {
+        int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+}
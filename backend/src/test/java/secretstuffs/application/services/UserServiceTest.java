@@ -8,18 +8,27 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.jpa.domain.Specification;
 import secretstuffs.application.helpers.AuthHelper;
+import secretstuffs.application.helpers.RequestCoalescer;
+import secretstuffs.application.helpers.UserLookupCache;
 import secretstuffs.domain.dtos.commands.user.ChangePasswordCommand;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
 import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
 import secretstuffs.domain.entities.User;
 import secretstuffs.domain.models.responses.user.UpdateUserResponseDTO;
 import secretstuffs.domain.models.responses.user.FetchUserProfileResponseDTO;
+import secretstuffs.domain.models.responses.user.UserPageResponseDTO;
 import secretstuffs.domain.dtos.exception.BusinessException;
 import secretstuffs.infrastructure.repositories.UserRepository;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 class UserServiceTest {
 
@@ -31,6 +40,15 @@ class UserServiceTest {
     @Mock
     private AuthHelper authHelper;
 
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(100, 60);
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(1000);
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
 
@@ -111,15 +129,54 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUserByEmail_ShouldDeleteUser_WhenUserExists() {
+    void isUserRegisteredAndIsUserActive_ShouldShareOneLookup() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setActive(false);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        assertTrue(userService.isUserRegistered("test@example.com"));
+        assertFalse(userService.isUserActive("test@example.com"));
+
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void activateUser_ShouldEvictCachedUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setActive(false);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        assertFalse(userService.isUserActive("test@example.com"));
+        userService.activateUser("test@example.com");
+
+        assertTrue(userService.isUserActive("test@example.com"));
+        verify(userLookupCache).evict(user);
+    }
+
+    @Test
+    void updateUserByEmail_ShouldEvictCachedProfile() {
         User user = new User();
+        user.setId(1L);
         user.setEmail("test@example.com");
+        user.setFirstName("Old");
+
+        UpdateUserDetailsCommand command = new UpdateUserDetailsCommand();
+        command.setEmail("test@example.com");
+        command.setFirstName("New");
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
 
-        assertDoesNotThrow(() -> userService.deleteUserByEmail("test@example.com"));
+        assertEquals("Old", userService.getUserProfileByEmail("test@example.com").getFirstName());
+        userService.updateUserByEmail(command);
 
-        verify(userRepository).delete(user);
+        assertEquals("New", userService.getUserProfileByEmail("test@example.com").getFirstName());
     }
 
     @Test
@@ -149,23 +206,66 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
+    @SuppressWarnings("unchecked")
+    void listUsers_ShouldReturnPageWithCursor_WhenMoreUsersExist() {
         User user1 = new User();
+        user1.setId(1L);
         user1.setEmail("user1@example.com");
         User user2 = new User();
+        user2.setId(2L);
         user2.setEmail("user2@example.com");
+        User user3 = new User();
+        user3.setId(3L);
+        user3.setEmail("user3@example.com");
 
-        List<User> users = new ArrayList<>();
-        users.add(user1);
-        users.add(user2);
+        when(userRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(user1, user2, user3));
 
-        when(userRepository.findAll()).thenReturn(users);
+        FetchUsersCommand command = FetchUsersCommand.builder().size(EXPECTED_USER_COUNT).build();
+        UserPageResponseDTO result = userService.listUsers(command);
 
-        List<FetchUserProfileResponseDTO> result = userService.getAllUsers();
+        assertEquals(EXPECTED_USER_COUNT, result.getUsers().size()); // Use constant for user count
+        assertEquals("user1@example.com", result.getUsers().get(0).getEmail());
+        assertEquals("user2@example.com", result.getUsers().get(1).getEmail());
+        assertEquals(2L, result.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listUsers_ShouldReturnNoCursor_OnLastPage() {
+        User user1 = new User();
+        user1.setId(1L);
+        user1.setEmail("user1@example.com");
 
-        assertEquals(EXPECTED_USER_COUNT, result.size()); // Use constant for user count
-        assertEquals("user1@example.com", result.get(0).getEmail());
-        assertEquals("user2@example.com", result.get(1).getEmail());
+        when(userRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(user1));
+
+        UserPageResponseDTO result = userService.listUsers(FetchUsersCommand.builder().size(20).build());
+
+        assertEquals(1, result.getUsers().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportUsers_ShouldWriteCsvRows() throws IOException {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user1@example.com");
+        user.setFirstName("John, Jr.");
+        user.setLastName("Doe");
+        user.setActive(true);
+
+        when(userRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(user));
+
+        StringWriter writer = new StringWriter();
+        userService.exportUsers(new FetchUsersCommand(), writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,email,firstName,lastName,active,createdAt", lines[0]);
+        assertTrue(lines[1].startsWith("1,user1@example.com,\"John, Jr.\",Doe,true,"));
     }
 
     @Test
@@ -194,6 +294,7 @@ class UserServiceTest {
     @Test
     void changePassword_ShouldChangePassword_WhenValid() {
         User user = new User();
+        user.setId(1L);
         user.setEmail("test@example.com");
         user.setPassword("oldEncryptedPassword");
 
@@ -211,6 +312,7 @@ class UserServiceTest {
 
         assertEquals("newEncryptedPassword", user.getPassword());
         verify(userRepository).save(user);
+        verify(refreshTokenService).endAllSessions(1L);
     }
 
     @Test
@@ -232,6 +334,7 @@ class UserServiceTest {
                 userService.changePassword(command));
 
         assertEquals("Old password is incorrect", exception.getErrorCode());
+        verifyNoInteractions(refreshTokenService);
     }
 
     @Test
@@ -254,28 +357,4 @@ class UserServiceTest {
 
         assertEquals("New password and confirm password do not match", exception.getErrorCode());
     }
-
-    @Test
-    void getUserById_ShouldReturnUser_WhenUserExists() {
-        User user = new User();
-        user.setId(1L);
-        user.setEmail("test@example.com");
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-
-        User result = userService.getUserById(1L);
-
-        assertEquals("test@example.com", result.getEmail());
-        assertEquals(1L, result.getId());
-    }
-
-    @Test
-    void getUserById_ShouldThrowException_WhenUserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
-
-        BusinessException exception = assertThrows(BusinessException.class, () ->
-                userService.getUserById(1L));
-
-        assertEquals("User with id 1 not found", exception.getErrorCode());
-    }
-}
\ No newline at end of file
+}
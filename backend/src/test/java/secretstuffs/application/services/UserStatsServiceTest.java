@@ -0,0 +1,109 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import secretstuffs.domain.entities.UserStats;
+import secretstuffs.domain.enums.DonationEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
+import secretstuffs.domain.events.DonationStatusChange;
+import secretstuffs.domain.events.DonationStatusChangedEvent;
+import secretstuffs.domain.models.responses.user.UserStatsResponseDTO;
+import secretstuffs.infrastructure.repositories.UserStatsRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserStatsServiceTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getStats_ShouldReturnStoredCounters() {
+        UserStats stats = UserStats.builder()
+                .email("user@example.com")
+                .totalPosts(4)
+                .activePosts(2)
+                .requestsPending(1)
+                .requestsAccepted(2)
+                .requestsRejected(3)
+                .build();
+        when(userStatsRepository.findById("user@example.com")).thenReturn(Optional.of(stats));
+
+        UserStatsResponseDTO result = userStatsService.getStats("user@example.com");
+
+        assertEquals(4, result.getTotalPosts());
+        assertEquals(2, result.getActivePosts());
+        assertEquals(6, result.getDonationsRequested());
+    }
+
+    @Test
+    void getStats_ShouldReturnZeros_WhenUserHasNoCounters() {
+        when(userStatsRepository.findById("new@example.com")).thenReturn(Optional.empty());
+
+        UserStatsResponseDTO result = userStatsService.getStats("new@example.com");
+
+        assertEquals("new@example.com", result.getEmail());
+        assertEquals(0, result.getTotalPosts());
+        assertEquals(0, result.getDonationsRequested());
+    }
+
+    @Test
+    void postDeleted_ShouldOnlyDecrementActivePosts_WhenPostWasActive() {
+        userStatsService.postDeleted("user@example.com", ItemPostStatusEnum.ACTIVE);
+        userStatsService.postDeleted("user@example.com", ItemPostStatusEnum.INACTIVE);
+
+        verify(userStatsRepository).applyDelta("user@example.com", -1, -1, 0, 0, 0, 0);
+        verify(userStatsRepository).applyDelta("user@example.com", -1, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldMoveRequesterCountersAndCloseOwnerPost() {
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", true, List.of(
+                new DonationStatusChange(1L, 10L, "accepted@example.com", DonationEnum.PENDING, DonationEnum.ACCEPTED),
+                new DonationStatusChange(2L, 11L, "rejected@example.com", DonationEnum.PENDING, DonationEnum.REJECTED)
+        ));
+
+        userStatsService.onDonationStatusChanged(event);
+
+        verify(userStatsRepository).applyDelta("accepted@example.com", 0, 0, 0, -1, 1, 0);
+        verify(userStatsRepository).applyDelta("rejected@example.com", 0, 0, 0, -1, 0, 1);
+        verify(userStatsRepository).applyDelta("owner@example.com", 0, -1, 1, 0, 0, 0);
+    }
+
+    @Test
+    void onDonationStatusChanged_ShouldLeaveOwnerCounters_WhenItemPostStaysOpen() {
+        DonationStatusChangedEvent event = new DonationStatusChangedEvent(5L, "owner@example.com", false, List.of(
+                new DonationStatusChange(2L, 11L, "rejected@example.com", DonationEnum.PENDING, DonationEnum.REJECTED)
+        ));
+
+        userStatsService.onDonationStatusChanged(event);
+
+        verify(userStatsRepository, never()).applyDelta(eq("owner@example.com"),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void reconcile_ShouldRecomputeAllRowsAndDropOrphans() {
+        when(userStatsRepository.reconcileAll()).thenReturn(12);
+
+        int result = userStatsService.reconcile();
+
+        assertEquals(12, result);
+        verify(userStatsRepository).deleteOrphans();
+    }
+}
@@ -0,0 +1,54 @@
+package secretstuffs.application.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class VerificationEmailDispatcherTest {
+
+    @Mock
+    private VerificationTokenService tokenService;
+
+    @Mock
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(tokenService.createToken("jane@example.com")).thenReturn("token-1");
+    }
+
+    @Test
+    void enqueue_ShouldSendLinkBuiltFromBaseUrl() {
+        VerificationEmailDispatcher dispatcher = new VerificationEmailDispatcher(tokenService, emailService, Runnable::run);
+
+        assertTrue(dispatcher.enqueue("jane@example.com", "https://secretstuffs.example/app"));
+
+        verify(emailService).sendVerificationEmail("jane@example.com",
+                "https://secretstuffs.example/app/api/auth/verify-email?token=token-1");
+    }
+
+    @Test
+    void enqueue_ShouldSwallowSendFailures() {
+        doThrow(new RuntimeException("smtp down")).when(emailService).sendVerificationEmail(any(), any());
+        VerificationEmailDispatcher dispatcher = new VerificationEmailDispatcher(tokenService, emailService, Runnable::run);
+
+        assertDoesNotThrow(() -> dispatcher.enqueue("jane@example.com", "http://localhost:8080"));
+    }
+
+    @Test
+    void enqueue_ShouldReturnFalse_WhenQueueIsFull() {
+        VerificationEmailDispatcher dispatcher = new VerificationEmailDispatcher(tokenService, emailService, task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        assertFalse(dispatcher.enqueue("jane@example.com", "http://localhost:8080"));
+        verifyNoInteractions(emailService);
+    }
+}
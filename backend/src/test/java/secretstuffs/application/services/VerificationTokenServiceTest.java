@@ -1,30 +1,32 @@
 package secretstuffs.application.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import secretstuffs.application.helpers.JwtHelper;
 
-import java.util.Date;
+import java.time.Instant;
 
 class VerificationTokenServiceTest {
 
+    private static final long LINK_TTL_SECONDS = 3600;
+
     @Mock
     private JwtHelper jwtHelper;
 
-    @InjectMocks
     private VerificationTokenService tokenService;
 
-    private static final long ONE_HOUR_IN_MILLIS = 3600000; // 1 hour in milliseconds
-
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        tokenService = new VerificationTokenService(jwtHelper, LINK_TTL_SECONDS);
     }
 
     @Test
@@ -32,34 +34,35 @@ class VerificationTokenServiceTest {
         // Arrange
         String email = "test@example.com";
         String expectedToken = "valid_token";
+        long before = System.currentTimeMillis();
 
-        when(jwtHelper.generateToken(email)).thenReturn(expectedToken);
+        when(jwtHelper.generateEmailVerificationToken(eq(email), any(Instant.class))).thenReturn(expectedToken);
 
         // Act
         String result = tokenService.createToken(email);
 
         // Assert
         assertEquals(expectedToken, result, "Generated token should match the expected token");
-        verify(jwtHelper).generateToken(email);
+        ArgumentCaptor<Instant> expiry = ArgumentCaptor.forClass(Instant.class);
+        verify(jwtHelper).generateEmailVerificationToken(eq(email), expiry.capture());
+        long ttlMillis = expiry.getValue().toEpochMilli() - before;
+        assertTrue(ttlMillis >= LINK_TTL_SECONDS * 1000 && ttlMillis < (LINK_TTL_SECONDS + 60) * 1000,
+                "The link should expire after the configured TTL");
     }
 
     @Test
     void verifyToken_ShouldReturnTrue_WhenTokenIsValid() {
         // Arrange
         String token = "valid_token";
-        String email = "test@example.com";
-        Date futureDate = new Date(System.currentTimeMillis() + ONE_HOUR_IN_MILLIS);
 
-        when(jwtHelper.extractSubject(token)).thenReturn(email);
-        when(jwtHelper.extractExpiration(token)).thenReturn(futureDate);
-        when(jwtHelper.isTokenValid(token)).thenReturn(true);
+        when(jwtHelper.verifyEmailVerificationToken(token)).thenReturn("test@example.com");
 
         // Act
         boolean isValid = tokenService.verifyToken(token);
 
         // Assert
         assertTrue(isValid, "Valid token should return true");
-        verify(jwtHelper).isTokenValid(token);
+        verify(jwtHelper).verifyEmailVerificationToken(token);
     }
 
     @Test
@@ -67,29 +70,28 @@ class VerificationTokenServiceTest {
         // Arrange
         String token = "expired_token";
 
-        when(jwtHelper.isTokenValid(token)).thenReturn(false);
+        when(jwtHelper.verifyEmailVerificationToken(token)).thenThrow(new IllegalArgumentException("Invalid JWT token"));
 
         // Act
         boolean isValid = tokenService.verifyToken(token);
 
         // Assert
         assertFalse(isValid, "Expired token should return false");
-        verify(jwtHelper).isTokenValid(token);
     }
 
     @Test
-    void verifyToken_ShouldReturnFalse_WhenTokenIsInvalid() {
+    void verifyToken_ShouldReturnFalse_WhenTokenIsAnAccessToken() {
         // Arrange
-        String invalidToken = "invalid_token";
+        String accessToken = "access_token";
 
-        when(jwtHelper.isTokenValid(invalidToken)).thenReturn(false);
+        when(jwtHelper.verifyEmailVerificationToken(accessToken))
+                .thenThrow(new IllegalArgumentException("Not an email verification token"));
 
         // Act
-        boolean isValid = tokenService.verifyToken(invalidToken);
+        boolean isValid = tokenService.verifyToken(accessToken);
 
         // Assert
-        assertFalse(isValid, "Invalid token should return false");
-        verify(jwtHelper).isTokenValid(invalidToken);
+        assertFalse(isValid, "Access tokens should not verify an email");
     }
 
     @Test
@@ -98,13 +100,20 @@ class VerificationTokenServiceTest {
         String token = "valid_token";
         String expectedEmail = "test@example.com";
 
-        when(jwtHelper.getValidSubject(token)).thenReturn(expectedEmail);
+        when(jwtHelper.verifyEmailVerificationToken(token)).thenReturn(expectedEmail);
 
         // Act
         String email = tokenService.extractEmailFromToken(token);
 
         // Assert
         assertEquals(expectedEmail, email, "Extracted email should match the expected email");
-        verify(jwtHelper).getValidSubject(token);
     }
-}
\ No newline at end of file
+
+    @Test
+    void extractEmailFromToken_ShouldReturnNull_WhenTokenIsInvalid() {
+        when(jwtHelper.verifyEmailVerificationToken("invalid_token"))
+                .thenThrow(new IllegalArgumentException("Invalid JWT token"));
+
+        assertNull(tokenService.extractEmailFromToken("invalid_token"));
+    }
+}
@@ -0,0 +1,60 @@
+package secretstuffs.application.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import secretstuffs.infrastructure.repositories.VerificationTokenRepository;
+
+import java.time.LocalDateTime;
+
+class VerificationTokenSweeperTest {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_BATCHES = 5;
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    private VerificationTokenSweeper sweeper;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        sweeper = new VerificationTokenSweeper(verificationTokenRepository, BATCH_SIZE, MAX_BATCHES);
+    }
+
+    @Test
+    void sweepExpiredTokens_ShouldStopAfterShortBatch() {
+        when(verificationTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE, 42);
+
+        int deleted = sweeper.sweepExpiredTokens();
+
+        assertEquals(BATCH_SIZE + 42, deleted);
+        verify(verificationTokenRepository, times(2)).deleteExpiredBatch(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void sweepExpiredTokens_ShouldRespectMaxBatchesPerRun() {
+        when(verificationTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE);
+
+        int deleted = sweeper.sweepExpiredTokens();
+
+        assertEquals(BATCH_SIZE * MAX_BATCHES, deleted);
+        verify(verificationTokenRepository, times(MAX_BATCHES)).deleteExpiredBatch(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void sweepExpiredTokens_ShouldReturnZero_WhenNothingExpired() {
+        when(verificationTokenRepository.deleteExpiredBatch(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(0);
+
+        assertEquals(0, sweeper.sweepExpiredTokens());
+    }
+}
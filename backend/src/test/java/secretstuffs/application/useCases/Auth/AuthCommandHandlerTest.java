@@ -52,6 +52,7 @@ class AuthCommandHandlerTest {
         LoginUserResponseDTO responseDTO = new LoginUserResponseDTO(
                 id,
                 token,
+                "refresh123",
                 expirationTime,
                 email
         );
@@ -8,11 +8,11 @@ import org.mockito.MockitoAnnotations;
 import secretstuffs.application.services.ItemPostService;
 import secretstuffs.domain.dtos.commands.itemPost.*;
 import secretstuffs.domain.dtos.exception.BusinessException;
-import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.enums.CategoryEnum;
 import secretstuffs.domain.enums.ConditionEnum;
 import secretstuffs.domain.models.responses.itemPost.CreateItemPostResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 
 import java.util.List;
 
@@ -223,19 +223,18 @@ class ItemPostCommandHandlerTest {
         Long postId = 1L;
         String title = "Test Title";
 
-        ItemPost expectedPost = new ItemPost();
-        expectedPost.setId(postId);
-        expectedPost.setTitle(title);
+        ItemPostDetailsDTO expectedPost = new ItemPostDetailsDTO(postId, "donor@example.com", title, "Street 1",
+                "Description", CategoryEnum.FURNITURE, null, ConditionEnum.GOOD, null);
 
         when(itemPostService.getItemById(postId)).thenReturn(expectedPost);
 
         // Act
-        ItemPost actualPost = itemPostCommandHandler.getItemPost(postId);
+        ItemPostDetailsDTO actualPost = itemPostCommandHandler.getItemPost(postId);
 
         // Assert
         assertNotNull(actualPost);
-        assertEquals(postId, actualPost.getId());
-        assertEquals(title, actualPost.getTitle());
+        assertEquals(postId, actualPost.id());
+        assertEquals(title, actualPost.title());
         verify(itemPostService, times(1)).getItemById(postId);
     }
 }
\ No newline at end of file
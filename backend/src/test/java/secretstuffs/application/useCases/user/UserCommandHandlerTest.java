@@ -6,11 +6,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import secretstuffs.application.services.UserService;
+import secretstuffs.application.services.UserDeletionService;
+import secretstuffs.application.services.UserImportService;
+import secretstuffs.application.services.UserStatsService;
 import secretstuffs.domain.dtos.commands.user.*;
+import secretstuffs.domain.dtos.exception.UserImportException;
 import secretstuffs.domain.models.responses.user.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +28,15 @@ class UserCommandHandlerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private UserDeletionService userDeletionService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -50,11 +64,13 @@ class UserCommandHandlerTest {
     void testDeleteUser() {
         DeleteUserCommand command = new DeleteUserCommand("test@example.com");
 
-        doNothing().when(userService).deleteUserByEmail(command.getEmail());
+        UserDeletionStatusResponseDTO status = UserDeletionStatusResponseDTO.builder().jobId("job-1").build();
+        when(userDeletionService.requestDeletion(command.getEmail())).thenReturn(status);
 
-        userCommandHandler.deleteUser(command);
+        UserDeletionStatusResponseDTO result = userCommandHandler.deleteUser(command);
 
-        verify(userService, times(1)).deleteUserByEmail(command.getEmail());
+        assertEquals("job-1", result.getJobId());
+        verify(userDeletionService, times(1)).requestDeletion(command.getEmail());
     }
 
     @Test
@@ -87,10 +103,11 @@ class UserCommandHandlerTest {
         user2.setLastName(user2LastName);
 
         List<FetchUserProfileResponseDTO> users = Arrays.asList(user1, user2);
-        when(userService.getAllUsers()).thenReturn(users);
+        FetchUsersCommand command = FetchUsersCommand.builder().size(20).build();
+        when(userService.listUsers(command)).thenReturn(new UserPageResponseDTO(users, null));
 
         // Act
-        List<FetchUserProfileResponseDTO> result = userCommandHandler.fetchAllUsers();
+        List<FetchUserProfileResponseDTO> result = userCommandHandler.fetchUsers(command).getUsers();
 
         // Assert
         assertNotNull(result);
@@ -98,7 +115,7 @@ class UserCommandHandlerTest {
         assertEquals(user1FirstName, result.get(0).getFirstName());
         assertEquals(user2Email, result.get(1).getEmail());
         assertEquals(user2FirstName, result.get(1).getFirstName());
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).listUsers(command);
     }
 
     @Test
@@ -169,4 +186,27 @@ class UserCommandHandlerTest {
         assertEquals(newProfileImage, result.getProfileImageURL());
         verify(userService, times(1)).updateUserByEmail(command);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFetchUserStats() {
+        FetchUserDetailsCommand command = new FetchUserDetailsCommand("test@example.com");
+        UserStatsResponseDTO stats = UserStatsResponseDTO.builder().email("test@example.com").activePosts(2).build();
+
+        when(userStatsService.getStats("test@example.com")).thenReturn(stats);
+
+        UserStatsResponseDTO result = userCommandHandler.fetchUserStats(command);
+
+        assertEquals(2, result.getActivePosts());
+        verify(userStatsService, times(1)).getStats("test@example.com");
+    }
+
+    @Test
+    void fetchImportStatus_ShouldThrowNotFound_ForUnknownJob() {
+        when(userImportService.getStatus("missing")).thenReturn(Optional.empty());
+
+        UserImportException exception = assertThrows(UserImportException.class,
+                () -> userCommandHandler.fetchImportStatus("missing"));
+
+        assertEquals("IMPORT_JOB_NOT_FOUND", exception.getErrorCode());
+    }
+}
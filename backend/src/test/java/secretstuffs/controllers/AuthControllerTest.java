@@ -9,17 +9,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import secretstuffs.application.exception.GlobalExceptionHandler;
+import secretstuffs.application.helpers.AuthRateLimiter;
+import secretstuffs.application.mappers.AuthMapper;
 import secretstuffs.application.services.AuthService;
 import secretstuffs.application.useCases.auth.AuthCommandHandler;
 import secretstuffs.domain.dtos.commands.auth.LoginUserCommand;
 import secretstuffs.domain.dtos.commands.auth.RegisterUserCommand;
+import secretstuffs.domain.dtos.exception.RateLimitException;
 import secretstuffs.domain.models.requests.auth.LoginUserRequestDTO;
 import secretstuffs.domain.models.requests.auth.RegisterUserRequestDTO;
 import secretstuffs.domain.models.responses.auth.LoginUserResponseDTO;
@@ -31,7 +34,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 class AuthControllerTest {
 
     @Mock
-    private ModelMapper modelMapper;
+    private AuthMapper authMapper;
 
     @Mock
     private AuthService authService;
@@ -39,6 +42,9 @@ class AuthControllerTest {
     @Mock
     private AuthCommandHandler authCommandHandler;
 
+    @Mock
+    private AuthRateLimiter authRateLimiter;
+
     @InjectMocks
     private AuthController authController;
 
@@ -63,7 +69,7 @@ class AuthControllerTest {
         LoginUserResponseDTO responseDTO = new LoginUserResponseDTO();
         responseDTO.setToken("jwt-token");
 
-        when(modelMapper.map(any(LoginUserRequestDTO.class), eq(LoginUserCommand.class))).thenReturn(command);
+        when(authMapper.toCommand(any(LoginUserRequestDTO.class))).thenReturn(command);
         when(authCommandHandler.login(command)).thenReturn(responseDTO);
 
         MockHttpServletRequestBuilder m = post("/api/auth/login");
@@ -100,7 +106,7 @@ class AuthControllerTest {
         RegisterUserResponseDTO responseDTO = new RegisterUserResponseDTO();
         responseDTO.setEmail("newuser@example.com");
 
-        when(modelMapper.map(any(RegisterUserRequestDTO.class), eq(RegisterUserCommand.class))).thenReturn(command);
+        when(authMapper.toCommand(any(RegisterUserRequestDTO.class))).thenReturn(command);
         when(authCommandHandler.register(command)).thenReturn(responseDTO);
 
         MockHttpServletRequestBuilder m = post("/api/auth/register");
@@ -229,4 +235,43 @@ class AuthControllerTest {
         response.andExpect(status().isBadRequest());
         response.andExpect(jsonPath("$.message").value("Passwords do not match"));
     }
+
+    @Test
+    void loginUser_ShouldReturnTooManyRequests_WhenRateLimited() throws Exception {
+        doThrow(RateLimitException.tooManyRequests(30_000))
+                .when(authRateLimiter).check(eq(AuthRateLimiter.Endpoint.LOGIN), anyString(), eq("test@example.com"));
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        MockHttpServletRequestBuilder m = post("/api/auth/login");
+        m.contentType(MediaType.APPLICATION_JSON);
+        m.content("""
+                        {
+                            "email": "test@example.com",
+                            "password": "password123"
+                        }
+                        """);
+        ResultActions response = mockMvcWithAdvice.perform(m);
+
+        response.andExpect(status().isTooManyRequests());
+        response.andExpect(header().string("Retry-After", "30"));
+        response.andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"));
+        verifyNoInteractions(authCommandHandler);
+    }
+
+    @Test
+    void forgotPassword_ShouldReturnTooManyRequests_WhenRateLimited() throws Exception {
+        String email = "user@example.com";
+        doThrow(RateLimitException.tooManyRequests(1_000))
+                .when(authRateLimiter).check(eq(AuthRateLimiter.Endpoint.FORGOT_PASSWORD), anyString(), eq(email));
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        ResultActions response = mockMvcWithAdvice.perform(post("/api/auth/forgot-password").param("email", email));
+
+        response.andExpect(status().isTooManyRequests());
+        verifyNoInteractions(authService);
+    }
 }
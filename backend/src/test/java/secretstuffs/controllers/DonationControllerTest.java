@@ -8,22 +8,23 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.http.HttpStatus;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import secretstuffs.application.exception.GlobalExceptionHandler;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.application.helpers.IdempotencyKeyStore;
 import secretstuffs.application.services.DonationService;
-import secretstuffs.application.services.ItemPostService;
-import secretstuffs.application.services.UserService;
-import secretstuffs.domain.dtos.exception.BusinessException;
+import secretstuffs.domain.dtos.exception.DonationException;
 import secretstuffs.domain.entities.Donation;
 import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.entities.User;
-import org.modelmapper.ModelMapper;
-import secretstuffs.domain.models.requests.donation.DonateRequestDTO;
+import secretstuffs.domain.models.responses.donation.DonationSummaryDTO;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,17 +33,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class DonationControllerTest {
 
-    @Mock
-    private DonationService donationService;
-
-    @Mock
-    private UserService userService;
+    private static final String OWNER = "owner@example.com";
 
     @Mock
-    private ItemPostService itemPostService;
+    private DonationService donationService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private IdempotencyKeyStore idempotencyKeyStore = new IdempotencyKeyStore(3600, 1000, 5000);
 
     @InjectMocks
     private DonationController donationController;
@@ -52,7 +49,9 @@ class DonationControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(donationController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(donationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @Test
@@ -61,23 +60,7 @@ class DonationControllerTest {
         String requestBody = "{\"userId\":1,\"itemPostId\":1}";
         String expectedMessage = "Donation created successfully";
 
-        DonateRequestDTO dto = new DonateRequestDTO();
-        dto.setUserId(1L);
-        dto.setItemPostId(1L);
-
-        User user = new User();
-        user.setId(1L);
-
-        ItemPost itemPost = new ItemPost();
-        itemPost.setId(1L);
-
-        Donation donation = new Donation();
-        donation.setId(1L);
-
-        when(userService.getUserById(1L)).thenReturn(user);
-        when(itemPostService.getItemById(1L)).thenReturn(itemPost);
-        when(modelMapper.map(any(DonateRequestDTO.class), eq(Donation.class))).thenReturn(donation);
-        when(donationService.save(any(Donation.class))).thenReturn(donation);
+        when(donationService.create(1L, 1L)).thenReturn(1L);
 
         // Act
         MockHttpServletRequestBuilder requestBuilder = post("/api/donations/");
@@ -89,9 +72,12 @@ class DonationControllerTest {
         // Assert
         response.andExpect(status().isCreated());
         response.andExpect(jsonPath("$.data.id").value(1L));
+        response.andExpect(jsonPath("$.data.status").value("PENDING"));
         response.andExpect(jsonPath("$.message").value(expectedMessage));
         String responseContent = response.andReturn().getResponse().getContentAsString();
         assertNotNull(responseContent, "Response should not be null");
+        verify(donationService).create(1L, 1L);
+        verifyNoMoreInteractions(donationService);
     }
 
     @Test
@@ -100,7 +86,7 @@ class DonationControllerTest {
         String requestBody = "{\"userId\":1,\"itemPostId\":1}";
         String errorMessage = "User or item post not found";
 
-        when(userService.getUserById(1L)).thenThrow(new BusinessException("USER_NOT_FOUND", errorMessage, HttpStatus.NOT_FOUND));
+        when(donationService.create(1L, 1L)).thenThrow(DonationException.userOrItemPostNotFound());
 
         // Act
         MockHttpServletRequestBuilder requestBuilder = post("/api/donations/");
@@ -116,14 +102,32 @@ class DonationControllerTest {
         assertNotNull(responseContent, "Response should not be null");
     }
 
+    @Test
+    void createDonation_ReturnConflict_WhenDonationAlreadyExists() throws Exception {
+        // Arrange
+        String requestBody = "{\"userId\":1,\"itemPostId\":1}";
+
+        when(donationService.create(1L, 1L)).thenThrow(DonationException.alreadyExists(1L, 1L));
+
+        // Act
+        MockHttpServletRequestBuilder requestBuilder = post("/api/donations/");
+        requestBuilder.contentType(MediaType.APPLICATION_JSON);
+        requestBuilder.content(requestBody);
+
+        ResultActions response = mockMvc.perform(requestBuilder);
+
+        // Assert
+        response.andExpect(status().isConflict());
+        response.andExpect(jsonPath("$.errorCode").value("DONATION_ALREADY_EXISTS"));
+    }
+
     @Test
     void getDonation_ReturnDonation_WhenIdIsValid() throws Exception {
         // Arrange
         Long donationId = 1L;
         String expectedMessage = "Donate";
 
-        Donation donation = new Donation();
-        donation.setId(donationId);
+        DonationSummaryDTO donation = DonationSummaryDTO.builder().id(donationId).build();
 
         when(donationService.getDonationById(donationId)).thenReturn(Optional.of(donation));
 
@@ -166,8 +170,8 @@ class DonationControllerTest {
         Long userId = 1L;
         String expectedMessage = "Donations fetched successfully";
 
-        List<Donation> donations = List.of(new Donation(), new Donation());
-        when(donationService.getDonationsByUserId(userId)).thenReturn(donations);
+        List<DonationSummaryDTO> donations = List.of(createSummary(1L), createSummary(2L));
+        when(donationService.getDonationsByUserId(userId, 0, 100)).thenReturn(donations);
 
         // Act
         MockHttpServletRequestBuilder requestBuilder = get("/api/donations/user/{userId}", userId);
@@ -188,8 +192,8 @@ class DonationControllerTest {
         Long itemPostId = 1L;
         String expectedMessage = "Donations fetched successfully";
 
-        List<Donation> donations = List.of(new Donation(), new Donation());
-        when(donationService.getDonationsByItemPostId(itemPostId)).thenReturn(donations);
+        List<DonationSummaryDTO> donations = List.of(createSummary(1L), createSummary(2L));
+        when(donationService.getDonationsByItemPostId(itemPostId, 0, 100)).thenReturn(donations);
 
         // Act
         MockHttpServletRequestBuilder requestBuilder = get("/api/donations/item/{itemPostId}", itemPostId);
@@ -199,24 +203,45 @@ class DonationControllerTest {
         // Assert
         response.andExpect(status().isOk());
         response.andExpect(jsonPath("$.data").isArray());
+        response.andExpect(jsonPath("$.data[0].user.id").value(10L));
+        response.andExpect(jsonPath("$.data[0].user.password").doesNotExist());
+        response.andExpect(jsonPath("$.data[0].itemPost.id").value(1L));
         response.andExpect(jsonPath("$.message").value(expectedMessage));
         String responseContent = response.andReturn().getResponse().getContentAsString();
         assertNotNull(responseContent, "Response should not be null");
     }
 
+    @Test
+    void getDonationsByUserId_PassPageParameters() throws Exception {
+        // Arrange
+        when(donationService.getDonationsByUserId(1L, 2, 25)).thenReturn(List.of(createSummary(1L)));
+
+        // Act
+        MockHttpServletRequestBuilder requestBuilder = get("/api/donations/user/{userId}", 1L)
+                .param("page", "2")
+                .param("size", "25");
+
+        ResultActions response = mockMvc.perform(requestBuilder);
+
+        // Assert
+        response.andExpect(status().isOk());
+        response.andExpect(jsonPath("$.data.length()").value(1));
+        verify(donationService).getDonationsByUserId(1L, 2, 25);
+    }
+
     @Test
     void donate_UpdateDonation_WhenRequestIsValid() throws Exception {
         // Arrange
         String requestBody = "{\"userId\":1,\"itemPostId\":1}";
         String expectedMessage = "Donation updated successfully";
 
-        Donation donation = new Donation();
-        donation.setId(1L);
+        Donation donation = createDonation();
 
-        when(donationService.donate(1L, 1L)).thenReturn(donation);
+        when(donationService.donate(1L, 1L, OWNER)).thenReturn(donation);
 
         // Act
         MockHttpServletRequestBuilder requestBuilder = post("/api/donations/donate");
+        requestBuilder.requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, owner());
         requestBuilder.contentType(MediaType.APPLICATION_JSON);
         requestBuilder.content(requestBody);
 
@@ -229,4 +254,114 @@ class DonationControllerTest {
         String responseContent = response.andReturn().getResponse().getContentAsString();
         assertNotNull(responseContent, "Response should not be null");
     }
-}
\ No newline at end of file
+
+    @Test
+    void donate_ReplayResponse_WhenIdempotencyKeyIsReused() throws Exception {
+        // Arrange
+        String requestBody = "{\"userId\":1,\"itemPostId\":1}";
+
+        Donation donation = createDonation();
+
+        when(donationService.donate(1L, 1L, OWNER)).thenReturn(donation);
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequestBuilder requestBuilder = post("/api/donations/donate");
+            requestBuilder.requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, owner());
+            requestBuilder.contentType(MediaType.APPLICATION_JSON);
+            requestBuilder.header("Idempotency-Key", "retry-1");
+            requestBuilder.content(requestBody);
+
+            ResultActions response = mockMvc.perform(requestBuilder);
+
+            // Assert
+            response.andExpect(status().isOk());
+            response.andExpect(jsonPath("$.data.id").value(1L));
+        }
+        verify(donationService, times(1)).donate(1L, 1L, OWNER);
+    }
+
+    @Test
+    void createDonation_CreateOnce_WhenIdempotencyKeyIsReused() throws Exception {
+        // Arrange
+        String requestBody = "{\"userId\":1,\"itemPostId\":1}";
+
+        when(donationService.create(1L, 1L)).thenReturn(1L);
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequestBuilder requestBuilder = post("/api/donations/");
+            requestBuilder.contentType(MediaType.APPLICATION_JSON);
+            requestBuilder.header("Idempotency-Key", "create-1");
+            requestBuilder.content(requestBody);
+
+            // Assert
+            mockMvc.perform(requestBuilder).andExpect(status().isCreated());
+        }
+        verify(donationService, times(1)).create(1L, 1L);
+    }
+
+    @Test
+    void reject_RejectDonation_WhenRequestIsValid() throws Exception {
+        // Arrange
+        String requestBody = "{\"userId\":1,\"itemPostId\":1}";
+        String expectedMessage = "Donation rejected successfully";
+
+        Donation donation = createDonation();
+
+        when(donationService.reject(1L, 1L, OWNER)).thenReturn(donation);
+
+        // Act
+        MockHttpServletRequestBuilder requestBuilder = post("/api/donations/reject");
+        requestBuilder.requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, owner());
+        requestBuilder.contentType(MediaType.APPLICATION_JSON);
+        requestBuilder.content(requestBody);
+
+        ResultActions response = mockMvc.perform(requestBuilder);
+
+        // Assert
+        response.andExpect(status().isOk());
+        response.andExpect(jsonPath("$.data.id").value(1L));
+        response.andExpect(jsonPath("$.message").value(expectedMessage));
+    }
+
+    @Test
+    void donate_Unauthorized_WhenCallerIsAnonymous() throws Exception {
+        // Act
+        MockHttpServletRequestBuilder requestBuilder = post("/api/donations/donate");
+        requestBuilder.contentType(MediaType.APPLICATION_JSON);
+        requestBuilder.content("{\"userId\":1,\"itemPostId\":1}");
+
+        // Assert
+        mockMvc.perform(requestBuilder).andExpect(status().isUnauthorized());
+        verifyNoInteractions(donationService);
+    }
+
+    private static AuthenticatedUser owner() {
+        return new AuthenticatedUser(OWNER, 3L, true, null, Instant.now(), Instant.now().plusSeconds(60));
+    }
+
+    private DonationSummaryDTO createSummary(Long id) {
+        return DonationSummaryDTO.from(createDonation(id));
+    }
+
+    private Donation createDonation() {
+        return createDonation(1L);
+    }
+
+    private Donation createDonation(Long id) {
+        User user = new User();
+        user.setId(10L);
+        user.setEmail("requester@example.com");
+        user.setPassword("hashed-password");
+
+        ItemPost itemPost = new ItemPost();
+        itemPost.setId(1L);
+
+        Donation donation = new Donation();
+        donation.setId(id);
+        donation.setUser(user);
+        donation.setItemPost(itemPost);
+        return donation;
+    }
+}
@@ -14,19 +14,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import secretstuffs.application.mappers.ItemPostMapper;
 import secretstuffs.application.useCases.itemPost.ItemPostCommandHandler;
 import secretstuffs.domain.dtos.commands.itemPost.CreateItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.DeleteItemPostCommand;
 import secretstuffs.domain.dtos.commands.itemPost.FetchPostsByUserCommand;
 import secretstuffs.domain.dtos.commands.itemPost.UpdateItemPostCommand;
-import secretstuffs.domain.entities.ItemPost;
 import secretstuffs.domain.enums.CategoryEnum;
 import secretstuffs.domain.enums.ConditionEnum;
+import secretstuffs.domain.enums.ItemPostStatusEnum;
 import secretstuffs.domain.models.requests.itempost.CreateItemPostRequestDTO;
 import secretstuffs.domain.models.requests.itempost.UpdateItemPostRequestDTO;
 import secretstuffs.domain.models.responses.itemPost.CreateItemPostResponseDTO;
 import secretstuffs.domain.models.responses.itemPost.FetchItemPostResponseDTO;
-import org.modelmapper.ModelMapper;
+import secretstuffs.domain.models.responses.itemPost.ItemPostDetailsDTO;
 
 import java.util.Arrays;
 import java.util.List;
@@ -39,7 +40,7 @@ class ItemPostControllerTest {
     private ItemPostCommandHandler itemPostCommandHandler;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ItemPostMapper itemPostMapper;
 
     @InjectMocks
     private ItemPostController itemPostController;
@@ -56,8 +57,8 @@ class ItemPostControllerTest {
     void getItemById_ShouldReturnItemPost_WhenIdIsValid() throws Exception {
         // Arrange
         Long id = 1L;
-        ItemPost itemPost = new ItemPost();
-        itemPost.setId(id);
+        ItemPostDetailsDTO itemPost = new ItemPostDetailsDTO(id, "donor@example.com", "Chair", "Street 1",
+                "Wooden chair", CategoryEnum.FURNITURE, null, ConditionEnum.GOOD, ItemPostStatusEnum.ACTIVE);
 
         when(itemPostCommandHandler.getItemPost(id)).thenReturn(itemPost);
 
@@ -68,6 +69,7 @@ class ItemPostControllerTest {
         // Assert
         response.andExpect(status().isOk());
         response.andExpect(jsonPath("$.data.id").value(id));
+        response.andExpect(jsonPath("$.data.status").value("ACTIVE"));
         response.andExpect(jsonPath("$.message").value("Item Fetched successfully"));
         String responseContent = response.andReturn().getResponse().getContentAsString();
         assertNotNull(responseContent, "Response should not be null");
@@ -85,7 +87,7 @@ class ItemPostControllerTest {
         CreateItemPostCommand command = new CreateItemPostCommand();
         CreateItemPostResponseDTO responseDTO = new CreateItemPostResponseDTO();
 
-        when(modelMapper.map(any(CreateItemPostRequestDTO.class), eq(CreateItemPostCommand.class))).thenReturn(command);
+        when(itemPostMapper.toCommand(any(CreateItemPostRequestDTO.class))).thenReturn(command);
         when(itemPostCommandHandler.createPost(command)).thenReturn(responseDTO);
 
         // Act
@@ -223,7 +225,7 @@ class ItemPostControllerTest {
         command.setId(id);
         command.setTitle("Updated Title");
 
-        when(modelMapper.map(any(UpdateItemPostRequestDTO.class), eq(UpdateItemPostCommand.class)))
+        when(itemPostMapper.toCommand(any(UpdateItemPostRequestDTO.class), eq(id)))
                 .thenReturn(command);
         when(itemPostCommandHandler.updatePost(command)).thenReturn(command);
 
@@ -1,6 +1,10 @@
 package secretstuffs.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -9,29 +13,43 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import secretstuffs.application.helpers.AuthenticatedUser;
+import secretstuffs.application.mappers.UserMapper;
 import secretstuffs.application.useCases.user.UserCommandHandler;
 import secretstuffs.domain.dtos.commands.user.ChangePasswordCommand;
 import secretstuffs.domain.dtos.commands.user.DeleteUserCommand;
 import secretstuffs.domain.dtos.commands.user.FetchUserDetailsCommand;
+import secretstuffs.domain.dtos.commands.user.FetchUsersCommand;
 import secretstuffs.domain.dtos.commands.user.UpdateUserDetailsCommand;
+import secretstuffs.domain.dtos.exception.UserException;
 import secretstuffs.domain.models.requests.user.UpdateUserRequestDTO;
 import secretstuffs.domain.models.responses.user.FetchUserProfileResponseDTO;
+import secretstuffs.domain.enums.JobStatusEnum;
+import secretstuffs.domain.models.responses.user.UserDeletionStatusResponseDTO;
+import secretstuffs.domain.models.responses.user.UserImportStatusResponseDTO;
+import secretstuffs.domain.models.responses.user.UserPageResponseDTO;
+import secretstuffs.domain.models.responses.user.UserStatsResponseDTO;
 import secretstuffs.domain.models.responses.user.UpdateUserResponseDTO;
 
+import java.io.InputStream;
+import java.io.Writer;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 class UserControllerTest {
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
 
     @Mock
     private UserCommandHandler userCommandHandler;
@@ -69,11 +87,12 @@ class UserControllerTest {
         responseDTO.setFirstName(firstName);
         responseDTO.setLastName(lastName);
 
-        when(modelMapper.map(any(UpdateUserRequestDTO.class), eq(UpdateUserDetailsCommand.class))).thenReturn(command);
+        when(userMapper.toCommand(any(UpdateUserRequestDTO.class), eq(email))).thenReturn(command);
         when(userCommandHandler.updateUser(command)).thenReturn(responseDTO);
 
         MockHttpServletRequestBuilder mockHttpServletRequestBuilder = put("/api/users/update");
         mockHttpServletRequestBuilder.param("email", email);
+        mockHttpServletRequestBuilder.requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, caller(email));
         mockHttpServletRequestBuilder.contentType(MediaType.APPLICATION_JSON);
         mockHttpServletRequestBuilder.content(requestBody);
         // Act & Assert
@@ -122,22 +141,83 @@ class UserControllerTest {
     }
 
     @Test
-    void deleteUserProfile_ShouldReturnSuccessMessage_WhenEmailIsValid() throws Exception {
+    void getUserStats_ShouldReturnCounters_WhenEmailIsValid() throws Exception {
         // Arrange
         String email = "user@example.com";
-        String expectedMessage = "User deleted successfully";
+        String expectedMessage = "User stats fetched successfully";
+
+        UserStatsResponseDTO responseDTO = UserStatsResponseDTO.builder()
+                .email(email)
+                .activePosts(3)
+                .donationsRequested(5)
+                .build();
 
-        doNothing().when(userCommandHandler).deleteUser(new DeleteUserCommand(email));
+        when(userCommandHandler.fetchUserStats(any(FetchUserDetailsCommand.class))).thenReturn(responseDTO);
 
         // Act & Assert
-        ResultActions resultActions = mockMvc.perform(delete("/api/users/delete/{email}", email));
+        ResultActions resultActions = mockMvc.perform(get("/api/users/{email}/stats", email)
+                .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, caller(email)));
         resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.activePosts").value(3));
+        resultActions.andExpect(jsonPath("$.data.donationsRequested").value(5));
+        resultActions.andExpect(jsonPath("$.message").value(expectedMessage));
+    }
+
+    @Test
+    void getUserStats_ShouldRejectCallerReadingAnotherAccount() {
+        // Act & Assert
+        UserException exception = assertThrows(UserException.class,
+                () -> userController.getUserStats("user@example.com", caller("other@example.com")));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(userCommandHandler);
+    }
+
+    @Test
+    void deleteUserProfile_ShouldReturnSuccessMessage_WhenEmailIsValid() throws Exception {
+        // Arrange
+        String email = "user@example.com";
+        String expectedMessage = "User deletion started";
+        UserDeletionStatusResponseDTO status = UserDeletionStatusResponseDTO.builder()
+                .jobId("job-1")
+                .email(email)
+                .status(JobStatusEnum.QUEUED)
+                .build();
+
+        when(userCommandHandler.deleteUser(any(DeleteUserCommand.class))).thenReturn(status);
+
+        // Act & Assert
+        ResultActions resultActions = mockMvc.perform(delete("/api/users/delete/{email}", email)
+                .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, caller(email)));
+        resultActions.andExpect(status().isAccepted());
         resultActions.andExpect(jsonPath("$.message").value(expectedMessage));
+        resultActions.andExpect(jsonPath("$.data.jobId").value("job-1"));
 
         String response = resultActions.andReturn().getResponse().getContentAsString();
         assertNotNull(response, "Response should not be null");
     }
 
+    @Test
+    void deleteUserProfile_ShouldRejectCallerActingOnAnotherAccount() {
+        // Arrange
+        AuthenticatedUser caller = new AuthenticatedUser("other@example.com", USER_ID_TWO, true, null,
+                Instant.now(), Instant.now().plusSeconds(60));
+
+        // Act & Assert
+        UserException exception = assertThrows(UserException.class,
+                () -> userController.deleteUserProfile("user@example.com", caller));
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatusCode());
+        verifyNoInteractions(userCommandHandler);
+    }
+
+    @Test
+    void deleteUserProfile_ShouldRejectAnonymousCaller() {
+        // Act & Assert
+        UserException exception = assertThrows(UserException.class,
+                () -> userController.deleteUserProfile("user@example.com", null));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        verifyNoInteractions(userCommandHandler);
+    }
+
     @Test
     void changePassword_ShouldReturnSuccessResponse_WhenRequestIsValid() throws Exception {
         // Arrange
@@ -168,6 +248,7 @@ class UserControllerTest {
         // Act & Assert
         MockHttpServletRequestBuilder request = put("/api/users/change-password");
         request.param("email", email);
+        request.requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, caller(email));
         request.contentType(MediaType.APPLICATION_JSON);
         request.content(requestBody);
         ResultActions resultActions = mockMvc.perform(request);
@@ -213,7 +294,8 @@ class UserControllerTest {
 
         List<FetchUserProfileResponseDTO> users = List.of(user1, user2);
 
-        when(userCommandHandler.fetchAllUsers()).thenReturn(users);
+        when(userCommandHandler.fetchUsers(any(FetchUsersCommand.class)))
+                .thenReturn(new UserPageResponseDTO(users, null));
 
         String url = "/api/users/";
         String successMessage = "List of all users fetched successfully";
@@ -221,9 +303,78 @@ class UserControllerTest {
         // Act & Assert
         ResultActions resultActions = mockMvc.perform(get(url));
         resultActions.andExpect(status().isOk());
-        resultActions.andExpect(jsonPath("$.data").isArray());
-        resultActions.andExpect(jsonPath("$.data[0].email").value(user1Email));
-        resultActions.andExpect(jsonPath("$.data[1].email").value(user2Email));
+        resultActions.andExpect(jsonPath("$.data.users").isArray());
+        resultActions.andExpect(jsonPath("$.data.users[0].email").value(user1Email));
+        resultActions.andExpect(jsonPath("$.data.users[1].email").value(user2Email));
         resultActions.andExpect(jsonPath("$.message").value(successMessage));
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportUsers_ShouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(1);
+            writer.write("id,email\n1,user1@example.com\n");
+            return null;
+        }).when(userCommandHandler).exportUsers(any(FetchUsersCommand.class), any(Writer.class));
+
+        MvcResult started = mockMvc.perform(get("/api/users/export").param("active", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,email\n1,user1@example.com\n"));
+    }
+
+    @Test
+    void importUsers_ShouldAcceptCsvUpload() throws Exception {
+        UserImportStatusResponseDTO status = UserImportStatusResponseDTO.builder()
+                .jobId("job-1")
+                .status(JobStatusEnum.QUEUED)
+                .build();
+        when(userCommandHandler.importUsers(any(InputStream.class), eq("text/csv"))).thenReturn(status);
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email,password\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value("job-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"))
+                .andExpect(jsonPath("$.message").value("User import started"));
+    }
+
+    @Test
+    void getImportStatus_ShouldReturnJobProgress() throws Exception {
+        UserImportStatusResponseDTO status = UserImportStatusResponseDTO.builder()
+                .jobId("job-1")
+                .status(JobStatusEnum.RUNNING)
+                .processedRows(1000)
+                .build();
+        when(userCommandHandler.fetchImportStatus("job-1")).thenReturn(status);
+
+        mockMvc.perform(get("/api/users/import/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.processedRows").value(1000));
+    }
+
+    @Test
+    void getDeletionStatus_ShouldReturnProgress() throws Exception {
+        UserDeletionStatusResponseDTO status = UserDeletionStatusResponseDTO.builder()
+                .jobId("job-1")
+                .status(JobStatusEnum.RUNNING)
+                .currentStep("itemPosts")
+                .deletedRows(Map.of("itemPosts", 500L))
+                .build();
+        when(userCommandHandler.fetchDeletionStatus("job-1")).thenReturn(status);
+
+        mockMvc.perform(get("/api/users/deletions/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.currentStep").value("itemPosts"))
+                .andExpect(jsonPath("$.data.deletedRows.itemPosts").value(500));
+    }
+
+    private static AuthenticatedUser caller(String email) {
+        return new AuthenticatedUser(email, 1L, true, null, Instant.now(), Instant.now().plusSeconds(60));
+    }
+}
@@ -121,7 +121,7 @@ export default function ChatComponent({ selectedUser }: ChatComponentProps) {
       if (user?.email && selectedUser.id) {
         unsubscribeFromMessages();
 
-        const topic = `/user/${user.email}/queue/messages/${selectedUser.id}`;
+        const topic = `/user/queue/messages/${selectedUser.id}`;
         try {
           const subscription = await chatService.subscribe(topic, (msg) => {
             if (msg.senderId === selectedUser.id || msg.recipientId === selectedUser.id) {
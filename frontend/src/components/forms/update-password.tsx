@@ -12,7 +12,7 @@ export function UpdatePassword() {
   const [loading, setLoading] = useState(false);
   const { darkMode } = useTheme();
   const navigate = useNavigate();
-  const { user } = useAuth();
+  const { user, logout } = useAuth();
   const userEmail = String(user?.email);
   console.log(userEmail);
 
@@ -31,8 +31,10 @@ export function UpdatePassword() {
 
     try {
       await updatePassword(userEmail, values.oldPassword, values.newPassword);
-      message.success('Password updated successfully');
-      navigate('/profile');
+      // Changing the password ends every session, this one included
+      message.success('Password updated successfully. Please log in again.');
+      logout();
+      navigate('/auth');
     } catch (error) {
       if (error instanceof Error) {
         message.error(error.message);
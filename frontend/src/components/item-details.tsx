@@ -7,7 +7,7 @@ import { useQuery } from "@tanstack/react-query";
 import { useAuth } from "@/context/auth-context";
 import chatService from "@/services/chat/chat-service";
 import { useTheme } from "@/context/theme-context";
-import { Donation, DonationService, User } from "@/services/item/donation";
+import { Donation, DonationService, DonationUpdate, User } from "@/services/item/donation";
 
 const { Title, Text } = Typography;
 const { TextArea } = Input;
@@ -85,6 +85,18 @@ const ItemDetails: React.FC = () => {
     };
   }, []);
 
+  useEffect(() => {
+    chatService.subscribe<DonationUpdate>("/user/queue/donations", (update) => {
+      if (update.itemPostId === Number(itemId)) {
+        fetchInterestedUsers();
+      }
+    });
+
+    return () => {
+      chatService.unsubscribe("/user/queue/donations");
+    };
+  }, [itemId, fetchInterestedUsers]);
+
   useEffect(() => {
     const checkChatExistence = async () => {
       if (user?.email && item?.email && user.email !== item.email) {
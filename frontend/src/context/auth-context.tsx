@@ -10,8 +10,13 @@ import {
   login as loginUser,
   register as registerUser,
   logout as logoutUser,
+  refreshSession,
+  hasRefreshToken,
 } from "@/services/auth"; // Service layer functions
 
+// Renew the access token this long before it expires
+const REFRESH_AHEAD_MS = 60 * 1000;
+
 // Define the User interface for clarity
 export interface User {
   id: number;
@@ -54,6 +59,26 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     !!Cookies.get("token")
   );
 
+  const [expiresAt, setExpiresAt] = useState<number | null>(() => {
+    const stored = Cookies.get("expiresAt");
+    return stored ? parseInt(stored, 10) : null;
+  });
+
+  // Swap the refresh token for a new access token, or end the session if that fails
+  const renewSession = async () => {
+    try {
+      const { token, expiresAt } = await refreshSession();
+      Cookies.set("token", token, { expires: 7 });
+      Cookies.set("expiresAt", expiresAt.toString(), { expires: 7 });
+      setExpiresAt(expiresAt);
+      setIsAuthenticated(true);
+      setUser(getUser());
+    } catch (error) {
+      console.error("Session refresh failed:", error);
+      logout();
+    }
+  };
+
   // Check authentication status on initial load
   useEffect(() => {
     const token = Cookies.get("token");
@@ -63,11 +88,23 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
       setIsAuthenticated(true);
       const userFromCookies = getUser();
       setUser(userFromCookies);
+    } else if (hasRefreshToken()) {
+      renewSession(); // The access token expired but the session may still be alive
     } else {
       logout(); // Clear expired sessions
     }
   }, []);
 
+  // Access tokens are short-lived, so renew them shortly before they expire
+  useEffect(() => {
+    if (!isAuthenticated || !expiresAt || !hasRefreshToken()) {
+      return;
+    }
+    const delay = Math.max(0, expiresAt - new Date().getTime() - REFRESH_AHEAD_MS);
+    const timer = setTimeout(renewSession, delay);
+    return () => clearTimeout(timer);
+  }, [isAuthenticated, expiresAt]);
+
   // Login with email and password
   const login = async (data: {
     email: string;
@@ -82,6 +119,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
       Cookies.set("user", JSON.stringify({ email, id }), { expires: 7 });
       Cookies.set("expiresAt", expiresAt.toString(), { expires: 7 });
 
+      setExpiresAt(expiresAt);
       setIsAuthenticated(true);
       setUser({ email, id });
     } catch (error) {
@@ -124,6 +162,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     Cookies.remove("user");
     Cookies.remove("expiresAt");
 
+    setExpiresAt(null);
     setIsAuthenticated(false);
     setUser(null);
   };
@@ -15,6 +15,7 @@ interface AuthResponseData {
   lastName?: string; // Added
   expiresAt: number;
   token: string;
+  refreshToken?: string;
   address?: string | null;
   profileImageURL?: string | null;
   active?: boolean;
@@ -31,11 +32,12 @@ const apiUrl = import.meta.env.VITE_API_BASE_URL;
 const tokenKey = "__auth_token__";
 const userKey = "__auth_user__";
 const expiresAtKey = "__auth_expiresAt__";
+const refreshTokenKey = "__auth_refresh_token__";
 
 export const getToken = () => Cookies.get(tokenKey);
 
 export const handleUserResponse = (response: AuthResponseData) => {
-  const { token, expiresAt } = response;
+  const { token, expiresAt, refreshToken } = response;
 
   Cookies.set(tokenKey, token, { expires: 7 });
   Cookies.set(userKey, JSON.stringify(response), { expires: 7 });
@@ -45,9 +47,28 @@ export const handleUserResponse = (response: AuthResponseData) => {
   window.localStorage.setItem(userKey, JSON.stringify(response));
   window.localStorage.setItem(expiresAtKey, expiresAt.toString());
 
+  // Registration returns no refresh token; the account logs in once verified
+  if (refreshToken) {
+    Cookies.set(refreshTokenKey, refreshToken, { expires: 14 });
+  }
+
   return response;
 };
 
+export const hasRefreshToken = () => !!Cookies.get(refreshTokenKey);
+
+// Exchanges the refresh token for a new access token; each refresh token works only once
+export const refreshSession = async () => {
+  const refreshToken = Cookies.get(refreshTokenKey);
+  if (!refreshToken) {
+    throw new Error("No session to refresh");
+  }
+  const response = await axios.post<AuthResponse>(`${apiUrl}/auth/refresh`, {
+    refreshToken,
+  });
+  return handleUserResponse(response.data.data);
+};
+
 export const login = async (data: { email: string; password: string }) => {
   try {
     const response = await axios.post<AuthResponse>(
@@ -102,6 +123,14 @@ export const register = async (data: {
 };
 
 export const logout = async () => {
+  const refreshToken = Cookies.get(refreshTokenKey);
+  Cookies.remove(refreshTokenKey);
+  if (refreshToken) {
+    // Ends the session on the server too; the local session is cleared even if this fails
+    axios
+      .post(`${apiUrl}/auth/logout`, { refreshToken })
+      .catch((error) => console.error("Logout request failed:", error));
+  }
   try {
     Cookies.remove(tokenKey);
     Cookies.remove(userKey);
@@ -219,7 +248,7 @@ export const updatePassword = async (email: string, oldPassword: string, newPass
       },
       headers: {
         'Content-Type': 'application/json',
-        'Authorization': `Bearer ${localStorage.getItem('token')}`,
+        'Authorization': `Bearer ${getToken()}`,
       },
     });
 
@@ -1,6 +1,7 @@
 import axios from "axios";
 import SockJS from "sockjs-client";
 import Stomp, { Client, Subscription, Message } from "stompjs";
+import { getToken } from "@/services/auth";
 
 const VITE_WEBSOCKET_BASE_URL = import.meta.env.VITE_WEBSOCKET_BASE_URL;
 
@@ -17,7 +18,7 @@ class ChatService {
   private isConnected = false;
   private socket: SockJS | null = null;
   private subscriptions: Map<string, Subscription> = new Map();
-  private callbacks: Map<string, (message: ChatMessage) => void> = new Map();
+  private callbacks: Map<string, (message: never) => void> = new Map();
   private serverUrl = `${VITE_WEBSOCKET_BASE_URL}/ws`;
   private connectPromise: Promise<void> | null = null;
   private reconnectInterval = 5000;
@@ -45,8 +46,10 @@ class ChatService {
     this.stompClient = Stomp.over(this.socket);
     this.stompClient.debug = () => {}; // Override the debug function to suppress logs
 
+    // The session's user, and so its /user/queue/... destinations, comes from the bearer token
+    const token = getToken();
     this.stompClient.connect(
-      {},
+      token ? { Authorization: `Bearer ${token}` } : {},
       () => {
         this.isConnected = true;
         this.isReconnecting = false;
@@ -107,9 +110,9 @@ class ChatService {
     }
   }
 
-  async subscribe(
+  async subscribe<T = ChatMessage>(
     destination: string,
-    callback: (message: ChatMessage) => void
+    callback: (message: T) => void
   ): Promise<Subscription | undefined> {
     await this.ensureConnected();
     if (this.stompClient && this.isConnected) {
@@ -120,7 +123,7 @@ class ChatService {
       }
 
       const subscription = this.stompClient.subscribe(destination, (message: Message) => {
-        callback(JSON.parse(message.body) as ChatMessage);
+        callback(JSON.parse(message.body) as T);
       });
       this.subscriptions.set(destination, subscription);
       this.callbacks.set(destination, callback);
@@ -1,4 +1,5 @@
 import axios from "axios";
+import { getToken } from "../auth";
 
 export interface Donation {
   id: number;
@@ -11,6 +12,15 @@ export interface Donation {
 
 export type Status = "PENDING" | "ACCEPTED" | "REJECTED";
 
+// Pushed to /user/queue/donations when a donation of the signed-in user changes status
+export interface DonationUpdate {
+  donationId: number;
+  itemPostId: number;
+  previousStatus: Status;
+  status: Status;
+  itemPostClosed: boolean;
+}
+
 export interface User {
   id: number;
   firstName: string;
@@ -71,7 +81,10 @@ export class DonationService {
 
   static async donate(userId: number, itemPostId: number): Promise<ApiResponse<Donation>> {
     try {
-      const response = await axios.post(`${API_BASE_URL}/donations/donate`, { userId, itemPostId });
+      const token = getToken();
+      const response = await axios.post(`${API_BASE_URL}/donations/donate`, { userId, itemPostId }, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
       return response.data;
     }
     catch (error) {
@@ -1,4 +1,5 @@
 import axios from "axios";
+import { getToken } from "../auth";
 
 export interface Post {
   id: number;
@@ -146,14 +147,14 @@ const handleAxiosError = (error: unknown, defaultMessage: string) => {
 };
 
 export const deletePostById = async (id: number): Promise<void> => {
-  const token = localStorage.getItem("authToken");
+  const token = getToken();
   await axiosInstance.delete(`/items/${id}`, {
       headers: { Authorization: `Bearer ${token}` },
   });
 };
 
 export const updatePost = async (id: number, updatedData: Partial<Post>): Promise<void> => {
-  const token = localStorage.getItem("authToken");
+  const token = getToken();
   try {
     await axiosInstance.put(`/items/${id}`, updatedData, {
       headers: {
@@ -1,4 +1,5 @@
 import axios from "axios";
+import { getToken } from "../auth";
 
 // Interface for profile data
 export interface ProfileData {
@@ -43,6 +44,7 @@ export const updateUserProfile = async (
       profileData,
       {
         params: { email }, // Use `params` to send the email as a query parameter
+        headers: { Authorization: `Bearer ${getToken()}` },
       }
     );
     return response.data.data;